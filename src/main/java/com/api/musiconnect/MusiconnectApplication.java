@@ -4,14 +4,21 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import com.api.musiconnect.model.entity.Role;
 import com.api.musiconnect.model.entity.MusicGenre;
 import com.api.musiconnect.model.enums.MusicGenreEnum;
 import com.api.musiconnect.model.enums.RoleEnum;
+import com.api.musiconnect.repository.BandRepository;
+import com.api.musiconnect.repository.ConvocationRepository;
 import com.api.musiconnect.repository.MusicGenreRepository;
+import com.api.musiconnect.repository.PostRepository;
 import com.api.musiconnect.repository.RoleRepository;
+import com.api.musiconnect.repository.UserRepository;
+import com.api.musiconnect.service.genero.GenerosMaskBackfill;
 
 @SpringBootApplication
+@EnableScheduling
 public class MusiconnectApplication {
 
 	public static void main(String[] args) {
@@ -48,4 +55,23 @@ public class MusiconnectApplication {
 			}
 		};
 	}
+
+	// Completa los contadores desnormalizados de filas creadas antes de que existieran
+	@Bean
+	CommandLineRunner initContadores(PostRepository postRepository, ConvocationRepository convocationRepository,
+									  BandRepository bandRepository, UserRepository userRepository) {
+		return args -> {
+			postRepository.inicializarContadorComentarios();
+			convocationRepository.inicializarContadorFavoritos();
+			bandRepository.inicializarContadorMiembros();
+			bandRepository.inicializarContadorSeguidores();
+			userRepository.inicializarContadorSeguidores();
+		};
+	}
+
+	// Migra los géneros de usuarios y bandas existentes a la columna generos_mask
+	@Bean
+	CommandLineRunner initGenerosMask(GenerosMaskBackfill generosMaskBackfill) {
+		return args -> generosMaskBackfill.migrar();
+	}
 }
@@ -3,7 +3,10 @@ package com.api.musiconnect.controller;
 import com.api.musiconnect.dto.request.AddMemberRequest;
 import com.api.musiconnect.dto.request.BandRequest;
 import com.api.musiconnect.dto.request.BandUpdateRequest;
+import com.api.musiconnect.dto.response.BandMemberResponse;
 import com.api.musiconnect.dto.response.BandResponse;
+import com.api.musiconnect.dto.response.PageResponse;
+import com.api.musiconnect.dto.response.PopularBandResponse;
 import com.api.musiconnect.service.BandService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -45,10 +48,24 @@ public class BandController {
 
     /* NUEVAS FUNCIONALIDADES PARA EL ACRONIMO CRUD */
 
-    // 1. Obtener todas las bandas
+    // 1. Obtener bandas (paginado, con filtros opcionales por género y prefijo del nombre)
     @GetMapping
-    public ResponseEntity<List<BandResponse>> listarBandas() {
-        return ResponseEntity.ok(bandService.obtenerTodasLasBandas());
+    public ResponseEntity<PageResponse<BandResponse>> listarBandas(
+            @RequestParam(required = false) List<String> genero,
+            @RequestParam(required = false) String nombre,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(bandService.obtenerBandas(genero, nombre, page, size));
+    }
+
+    // Ranking de bandas con más seguidores, general o por género
+    @GetMapping("/popular")
+    public ResponseEntity<List<PopularBandResponse>> listarPopulares(
+            @RequestParam(required = false) String genero,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        return ResponseEntity.ok(bandService.obtenerBandasPopulares(genero, size));
     }
 
     // 2. Obtener una banda por ID
@@ -65,10 +82,14 @@ public class BandController {
         return ResponseEntity.ok(bandService.eliminarBanda(id, adminId));
     }
 
-    // 4. Obtener todos los miembros de una banda
+    // 4. Obtener los miembros de una banda (paginado)
     @GetMapping("/{id}/members")
-    public ResponseEntity<List<String>> listarMiembros(@PathVariable Long id) {
-        return ResponseEntity.ok(bandService.obtenerMiembrosDeBanda(id));
+    public ResponseEntity<PageResponse<BandMemberResponse>> listarMiembros(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(bandService.obtenerMiembrosDeBanda(id, page, size));
     }
 
     // 5. Obtener miembro de banda por ID
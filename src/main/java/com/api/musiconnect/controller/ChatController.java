@@ -1,14 +1,21 @@
 package com.api.musiconnect.controller;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.api.musiconnect.security.UsuarioAutenticado;
 import com.api.musiconnect.service.ai.GeminiChatService;
 
-import lombok.RequiredArgsConstructor;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 /**
  * Controlador REST para el chatbot de MusiConnect.
@@ -16,19 +23,63 @@ import lombok.RequiredArgsConstructor;
  */
 @RestController
 @RequestMapping("/ai-chat")
-@RequiredArgsConstructor
 public class ChatController {
 
     private final GeminiChatService geminiService;
+    private final long streamTimeoutMs;
+
+    public ChatController(GeminiChatService geminiService,
+                          @Value("${musiconnect.ai.stream.timeout-ms:120000}") long streamTimeoutMs) {
+        this.geminiService = geminiService;
+        this.streamTimeoutMs = streamTimeoutMs;
+    }
 
     /**
-     * Endpoint que envía la pregunta a Gemini y devuelve la respuesta.
+     * Endpoint que envía la pregunta a Gemini (con el contexto del usuario) y devuelve la respuesta.
      * @param question Texto en JSON plano ("text/plain"), o puede ser campo JSON.
      * @return Respuesta generada por IA.
      */
     @PostMapping("/chat")
-    public ResponseEntity<String> chat(@RequestBody String question) {
-        String answer = geminiService.chat(question);
+    public ResponseEntity<String> chat(@RequestBody String question,
+                                       @AuthenticationPrincipal UserDetails principal) {
+        String answer = geminiService.chat(question, UsuarioAutenticado.id(principal));
         return ResponseEntity.ok(answer);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Variante en streaming: devuelve la respuesta como Server-Sent Events a medida que el
+     * modelo la genera. Eventos: "token" (fragmento de texto), "fin" y "error".
+     * El hilo de la request se libera mientras se esperan los fragmentos.
+     */
+    @PostMapping(value = "/chat/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter chatStream(@RequestBody String question,
+                                 @AuthenticationPrincipal UserDetails principal) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+
+        geminiService.chatEnStream(question, UsuarioAutenticado.id(principal), fragmento -> enviar(emitter, "token", fragmento))
+                .whenComplete((ok, error) -> {
+                    try {
+                        if (error == null) {
+                            emitter.send(SseEmitter.event().name("fin").data(""));
+                        } else {
+                            emitter.send(SseEmitter.event().name("error").data("No se pudo generar la respuesta."));
+                        }
+                        emitter.complete();
+                    } catch (IOException | IllegalStateException e) {
+                        // El cliente cerró la conexión o el emitter ya terminó
+                        emitter.completeWithError(e);
+                    }
+                });
+
+        return emitter;
+    }
+
+    private static void enviar(SseEmitter emitter, String evento, String datos) {
+        try {
+            emitter.send(SseEmitter.event().name(evento).data(datos));
+        } catch (IOException e) {
+            // Corta la generación si el cliente se desconectó
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.api.musiconnect.dto.request.ConvocationRequest;
 import com.api.musiconnect.dto.request.ConvocationUpdateRequest;
 import com.api.musiconnect.dto.request.FavoriteConvocationRequest;
 import com.api.musiconnect.dto.response.ConvocationResponse;
+import com.api.musiconnect.dto.response.PageResponse;
 import com.api.musiconnect.service.ConvocationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -37,15 +38,30 @@ public class ConvocationController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ConvocationResponse>> listarConvocatoriasActivas() {
-        List<ConvocationResponse> response = convocationService.listarConvocatoriasActivas();
-        return ResponseEntity.ok(response);
+    public ResponseEntity<PageResponse<ConvocationResponse>> listarConvocatoriasActivas(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = ConvocationService.ORDEN_FECHA_LIMITE) String orden
+    ) {
+        return ResponseEntity.ok(convocationService.listarConvocatoriasActivas(page, size, orden));
     }
 
     @GetMapping("/users/{userId}/favorites")
-    public ResponseEntity<List<ConvocationResponse>> listarFavoritasPorUsuario(@PathVariable Long userId) {
-        List<ConvocationResponse> response = convocationService.listarConvocatoriasFavoritasPorUsuario(userId);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<PageResponse<ConvocationResponse>> listarFavoritasPorUsuario(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(convocationService.listarConvocatoriasFavoritasPorUsuario(userId, page, size));
+    }
+
+    // Ranking de convocatorias activas más marcadas como favoritas
+    @GetMapping("/most-favorited")
+    public ResponseEntity<PageResponse<ConvocationResponse>> listarMasFavoritas(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(convocationService.listarConvocatoriasActivas(page, size, ConvocationService.ORDEN_FAVORITOS));
     }
 
     @PostMapping("/favorites")
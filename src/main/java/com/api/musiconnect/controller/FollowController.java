@@ -4,6 +4,7 @@ import com.api.musiconnect.dto.request.FollowRequest;
 import com.api.musiconnect.dto.request.UnfollowRequest;
 import com.api.musiconnect.dto.response.FollowResponse;
 import com.api.musiconnect.dto.response.FollowedProfileResponse;
+import com.api.musiconnect.dto.response.PageResponse;
 import com.api.musiconnect.service.FollowService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -33,6 +34,41 @@ public class FollowController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/{userId}/followers")
+    public ResponseEntity<PageResponse<FollowedProfileResponse>> listarSeguidores(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(followService.listarSeguidores(userId, page, size));
+    }
+
+    @GetMapping("/bands/{bandId}/followers")
+    public ResponseEntity<PageResponse<FollowedProfileResponse>> listarSeguidoresDeBanda(
+            @PathVariable Long bandId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(followService.listarSeguidoresDeBanda(bandId, page, size));
+    }
+
+    @GetMapping("/{userId}/mutuals")
+    public ResponseEntity<PageResponse<FollowedProfileResponse>> listarMutuos(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(followService.listarMutuos(userId, page, size));
+    }
+
+    @GetMapping("/{userId}/suggestions")
+    public ResponseEntity<List<FollowedProfileResponse>> sugerirPerfiles(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        return ResponseEntity.ok(followService.sugerirPerfiles(userId, size));
+    }
+
     @DeleteMapping
     public ResponseEntity<Map<String, String>> eliminarFollow(
             @Valid @RequestBody UnfollowRequest request
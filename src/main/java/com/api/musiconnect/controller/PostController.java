@@ -4,6 +4,7 @@ import com.api.musiconnect.dto.request.ComentarioRequest;
 import com.api.musiconnect.dto.request.PostRequest;
 import com.api.musiconnect.dto.request.PostUpdateRequest;
 import com.api.musiconnect.dto.response.ComentarioResponse;
+import com.api.musiconnect.dto.response.CursorPageResponse;
 import com.api.musiconnect.dto.response.PostResponse;
 import com.api.musiconnect.service.PostService;
 import jakarta.validation.Valid;
@@ -11,8 +12,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/posts")
 @RequiredArgsConstructor
@@ -37,14 +36,28 @@ public class PostController {
         return ResponseEntity.ok(postService.comentarPost(postId, request));
     }
     @GetMapping("/{postId}/comments")
-    public ResponseEntity<List<ComentarioResponse>> listarComentarios(@PathVariable Long postId) {
-        return ResponseEntity.ok(postService.listarComentarios(postId));
+    public ResponseEntity<CursorPageResponse<ComentarioResponse>> listarComentarios(
+            @PathVariable Long postId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(postService.listarComentarios(postId, cursor, size));
     }
 
-    // 1. Listar todos los posts
+    // 1. Listar posts paginados por cursor
     @GetMapping
-    public ResponseEntity<List<PostResponse>> listarPosts() {
-        return ResponseEntity.ok(postService.listarTodosLosPosts());
+    public ResponseEntity<CursorPageResponse<PostResponse>> listarPosts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(postService.listarFeed(cursor, size));
+    }
+
+    // Timeline con los posts de los perfiles que sigue el usuario
+    @GetMapping("/timeline/{userId}")
+    public ResponseEntity<CursorPageResponse<PostResponse>> listarTimeline(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(postService.listarTimeline(userId, cursor, size));
     }
 
     // 2. Obtener un post por su ID
@@ -58,8 +58,12 @@ public class UserController {
 
     // 4. Obtener usuarios por género musical
     @GetMapping("/genero/{genero}")
-    public ResponseEntity<?> obtenerPorGenero(@PathVariable String genero) {
-        return ResponseEntity.ok(userService.obtenerPorGeneroMusical(genero));
+    public ResponseEntity<?> obtenerPorGenero(
+            @PathVariable String genero,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(userService.obtenerPorGeneroMusical(genero, page, size));
     }
 
     // 5. Eliminar usuario
@@ -0,0 +1,6 @@
+package com.api.musiconnect.dto.response;
+
+public record BandMemberResponse(
+    Long userId,
+    String nombreArtistico
+) {}
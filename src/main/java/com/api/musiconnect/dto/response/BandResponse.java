@@ -8,5 +8,7 @@ public record BandResponse(
     String descripcion,
     String administradorNombreArtistico,
     List<String> generosMusicales,
+    Long totalMiembros,
+    Long totalSeguidores,
     String message
 ) {}
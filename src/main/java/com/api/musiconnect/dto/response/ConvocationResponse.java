@@ -8,5 +8,6 @@ public record ConvocationResponse(
     String descripcion,
     LocalDate fechaLimite,
     String creadorNombreArtistico,
+    Long totalFavoritos,
     String message
 ) {}
@@ -0,0 +1,9 @@
+package com.api.musiconnect.dto.response;
+
+import java.util.List;
+
+public record CursorPageResponse<T>(
+    List<T> contenido,
+    String siguienteCursor, // null cuando no hay más resultados
+    boolean hayMas
+) {}
@@ -0,0 +1,16 @@
+package com.api.musiconnect.dto.response;
+
+import java.util.List;
+
+public record PageResponse<T>(
+    List<T> contenido,
+    int pagina,
+    int tamanio,
+    long totalElementos,
+    int totalPaginas
+) {
+    public static <T> PageResponse<T> of(List<T> contenido, int pagina, int tamanio, long totalElementos) {
+        int totalPaginas = (int) ((totalElementos + tamanio - 1) / tamanio);
+        return new PageResponse<>(contenido, pagina, tamanio, totalElementos, totalPaginas);
+    }
+}
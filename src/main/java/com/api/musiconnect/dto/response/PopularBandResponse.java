@@ -0,0 +1,10 @@
+package com.api.musiconnect.dto.response;
+
+import java.util.List;
+
+public record PopularBandResponse(
+    Long bandId,
+    String nombre,
+    Long totalSeguidores,
+    List<String> generosMusicales
+) {}
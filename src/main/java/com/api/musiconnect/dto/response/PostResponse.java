@@ -9,6 +9,8 @@ public record PostResponse(
     String tipo,
     LocalDateTime fechaPublicacion,
     String autor,
-    List<ComentarioResponse> comentarios,
+    List<ComentarioResponse> comentarios, // primeros comentarios del post
+    Long totalComentarios,
+    String siguienteCursorComentarios, // null cuando no hay más comentarios
     String message
 ) {}
@@ -12,5 +12,6 @@ public record UserResponse(
     Boolean disponibilidad,
     String role,
     List<String> generosMusicales,
+    Long totalSeguidores,
     String message
 ) {}
@@ -4,9 +4,13 @@ import java.util.List;
 
 import com.api.musiconnect.dto.request.BandRequest;
 import com.api.musiconnect.dto.response.BandResponse;
+import com.api.musiconnect.dto.response.PopularBandResponse;
+import com.api.musiconnect.model.converter.GenerosMaskConverter;
 import com.api.musiconnect.model.entity.Band;
 import com.api.musiconnect.model.entity.MusicGenre;
 import com.api.musiconnect.model.entity.User;
+import com.api.musiconnect.repository.projection.BandaListado;
+import com.api.musiconnect.repository.projection.BandaPopular;
 
 public class BandMapper {
 
@@ -16,13 +20,12 @@ public class BandMapper {
                 .descripcion(dto.descripcion())
                 .administrador(admin)
                 .generosMusicales(generos)
+                .generosMask(GenerosMaskConverter.fromGeneros(generos))
                 .build();
     }
 
     public static BandResponse toResponse(Band band) {
-        List<String> generos = band.getGenerosMusicales().stream()
-            .map(g -> g.getNombre().name())
-            .toList();
+        List<String> generos = UserMapper.nombresGeneros(band.getGenerosMask(), band.getGenerosMusicales());
 
         return new BandResponse(
             band.getBandId(),
@@ -30,8 +33,38 @@ public class BandMapper {
             band.getDescripcion(),
             band.getAdministrador().getNombreArtistico(),
             generos,
+            band.getMiembrosCount() == null ? 0L : band.getMiembrosCount(),
+            band.getSeguidoresCount() == null ? 0L : band.getSeguidoresCount(),
             "Banda creada exitosamente."
         );
     }
 
+    public static BandResponse toResponse(BandaListado banda) {
+        return new BandResponse(
+            banda.getBandId(),
+            banda.getNombre(),
+            banda.getDescripcion(),
+            banda.getAdministradorNombreArtistico(),
+            nombresGeneros(banda.getGenerosMask()),
+            banda.getMiembrosCount() == null ? 0L : banda.getMiembrosCount(),
+            banda.getSeguidoresCount() == null ? 0L : banda.getSeguidoresCount(),
+            null
+        );
+    }
+
+    public static PopularBandResponse toResponse(BandaPopular banda) {
+        return new PopularBandResponse(
+            banda.getBandId(),
+            banda.getNombre(),
+            banda.getSeguidoresCount() == null ? 0L : banda.getSeguidoresCount(),
+            nombresGeneros(banda.getGenerosMask())
+        );
+    }
+
+    private static List<String> nombresGeneros(Integer mask) {
+        return mask == null
+                ? List.of()
+                : GenerosMaskConverter.fromMask(mask).stream().map(Enum::name).toList();
+    }
+
 }
@@ -2,6 +2,7 @@ package com.api.musiconnect.mapper;
 
 import com.api.musiconnect.dto.response.ComentarioResponse;
 import com.api.musiconnect.model.entity.Comentario;
+import com.api.musiconnect.repository.projection.ComentarioResumen;
 
 public class ComentarioMapper {
 
@@ -13,4 +14,13 @@ public class ComentarioMapper {
                 comentario.getUsuario().getNombreArtistico()
         );
     }
+
+    public static ComentarioResponse toResponse(ComentarioResumen resumen) {
+        return new ComentarioResponse(
+                resumen.getComentarioId(),
+                resumen.getContenido(),
+                resumen.getFechaComentario(),
+                resumen.getAutor()
+        );
+    }
 }
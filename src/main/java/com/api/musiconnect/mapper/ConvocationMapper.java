@@ -24,6 +24,7 @@ public class ConvocationMapper {
                 convocatoria.getDescripcion(),
                 convocatoria.getFechaLimite(),
                 convocatoria.getUsuario().getNombreArtistico(),
+                convocatoria.getFavoritosCount() == null ? 0L : convocatoria.getFavoritosCount(),
                 "Convocatoria creada exitosamente."
         );
     }
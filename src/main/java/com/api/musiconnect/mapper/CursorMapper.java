@@ -0,0 +1,41 @@
+package com.api.musiconnect.mapper;
+
+import com.api.musiconnect.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Codifica y decodifica los cursores de paginación por keyset (fecha, id).
+ * El cursor es opaco para el cliente: solo debe reenviarlo tal como lo recibió.
+ */
+public class CursorMapper {
+
+    private static final String SEPARADOR = "|";
+
+    public record Cursor(LocalDateTime fecha, Long id) {}
+
+    public static String encode(LocalDateTime fecha, Long id) {
+        String raw = fecha.toString() + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int idx = raw.lastIndexOf(SEPARADOR);
+            return new Cursor(
+                    LocalDateTime.parse(raw.substring(0, idx)),
+                    Long.parseLong(raw.substring(idx + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestException("Cursor de paginación inválido.");
+        }
+    }
+}
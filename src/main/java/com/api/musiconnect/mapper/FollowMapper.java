@@ -1,7 +1,9 @@
 package com.api.musiconnect.mapper;
 
 import com.api.musiconnect.dto.response.FollowResponse;
+import com.api.musiconnect.dto.response.FollowedProfileResponse;
 import com.api.musiconnect.model.entity.Follow;
+import com.api.musiconnect.model.entity.User;
 
 public class FollowMapper {
 
@@ -21,4 +23,15 @@ public class FollowMapper {
             "Ahora sigues a " + seguidoNombre + "."
         );
     }
+
+    public static FollowedProfileResponse toProfileResponse(User usuario) {
+        return new FollowedProfileResponse(
+            usuario.getUserId(),
+            usuario.getNombreArtistico(),
+            "Usuario",
+            usuario.getDisponibilidad(),
+            usuario.getUbicacion(),
+            null // Aquí puedes mapear imagen si la implementas
+        );
+    }
 }
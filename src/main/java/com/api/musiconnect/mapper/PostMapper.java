@@ -1,6 +1,8 @@
 package com.api.musiconnect.mapper;
 
 import com.api.musiconnect.dto.request.PostRequest;
+import com.api.musiconnect.dto.response.ComentarioResponse;
+import com.api.musiconnect.dto.response.CursorPageResponse;
 import com.api.musiconnect.dto.response.PostResponse;
 import com.api.musiconnect.model.entity.Post;
 import com.api.musiconnect.model.entity.User;
@@ -22,15 +24,25 @@ public class PostMapper {
                 .build();
     }
 
-    public static PostResponse toResponse(Post post, List<com.api.musiconnect.dto.response.ComentarioResponse> comentarios) {
+    public static PostResponse toResponse(Post post, List<ComentarioResponse> comentarios) {
+        return toResponse(post, new CursorPageResponse<>(comentarios, null, false));
+    }
+
+    public static PostResponse toResponse(Post post, CursorPageResponse<ComentarioResponse> comentarios) {
+        return toResponse(post, comentarios, "Publicación creada exitosamente.");
+    }
+
+    public static PostResponse toResponse(Post post, CursorPageResponse<ComentarioResponse> comentarios, String message) {
         return new PostResponse(
                 post.getPostId(),
                 post.getContenido(),
                 post.getTipo().name(),
                 post.getFechaPublicacion(),
                 post.getUsuario().getNombreArtistico(),
-                comentarios,
-                "Publicación creada exitosamente."
+                comentarios.contenido(),
+                post.getComentariosCount() != null ? post.getComentariosCount() : 0L,
+                comentarios.siguienteCursor(),
+                message
         );
     }
 }
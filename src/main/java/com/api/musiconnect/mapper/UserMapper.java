@@ -2,13 +2,14 @@ package com.api.musiconnect.mapper;
 
 import com.api.musiconnect.dto.request.UserRequest;
 import com.api.musiconnect.dto.response.UserResponse;
+import com.api.musiconnect.model.converter.GenerosMaskConverter;
 import com.api.musiconnect.model.entity.MusicGenre;
 import com.api.musiconnect.model.entity.Role;
 import com.api.musiconnect.model.entity.User;
 import com.api.musiconnect.model.enums.MusicGenreEnum;
 
+import java.util.EnumSet;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class UserMapper {
 
@@ -23,13 +24,12 @@ public class UserMapper {
             .disponibilidad(dto.disponibilidad())
             .role(role)
             .generosMusicales(generos)
+            .generosMask(GenerosMaskConverter.fromGeneros(generos))
             .build();
     }
 
     public static UserResponse toResponse(User user) {
-        List<String> generos = user.getGenerosMusicales().stream()
-            .map(g -> g.getNombre().name())
-            .collect(Collectors.toList());
+        List<String> generos = nombresGeneros(user.getGenerosMask(), user.getGenerosMusicales());
 
         return new UserResponse(
             user.getUserId(),
@@ -41,7 +41,18 @@ public class UserMapper {
             user.getDisponibilidad(),
             user.getRole().getName().name(),  // si `name` es `RoleEnum`, sino solo `.getName()`
             generos,
+            user.getSeguidoresCount() == null ? 0L : user.getSeguidoresCount(),
             "Perfil creado exitosamente."
         );
     }
+
+    // Usa la máscara si la fila ya fue migrada; si no, recorre la colección (carga perezosa)
+    static List<String> nombresGeneros(EnumSet<MusicGenreEnum> mask, List<MusicGenre> generos) {
+        if (mask != null) {
+            return mask.stream().map(Enum::name).toList();
+        }
+        return generos.stream()
+            .map(g -> g.getNombre().name())
+            .toList();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.api.musiconnect.model.converter;
+
+import com.api.musiconnect.model.entity.MusicGenre;
+import com.api.musiconnect.model.enums.MusicGenreEnum;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Collection;
+import java.util.EnumSet;
+
+/**
+ * Persiste un {@code EnumSet<MusicGenreEnum>} como máscara de bits de 32 bits
+ * (bit {@code ordinal()} encendido por cada género). {@code null} indica una fila
+ * aún no migrada: en ese caso se sigue leyendo la tabla de unión.
+ */
+@Converter
+public class GenerosMaskConverter implements AttributeConverter<EnumSet<MusicGenreEnum>, Integer> {
+
+    private static final MusicGenreEnum[] GENEROS = MusicGenreEnum.values();
+
+    static {
+        if (GENEROS.length > Integer.SIZE) {
+            throw new IllegalStateException("MusicGenreEnum no cabe en una máscara de 32 bits.");
+        }
+    }
+
+    @Override
+    public Integer convertToDatabaseColumn(EnumSet<MusicGenreEnum> generos) {
+        return generos == null ? null : toMask(generos);
+    }
+
+    @Override
+    public EnumSet<MusicGenreEnum> convertToEntityAttribute(Integer mask) {
+        return mask == null ? null : fromMask(mask);
+    }
+
+    public static int bit(MusicGenreEnum genero) {
+        return 1 << genero.ordinal();
+    }
+
+    public static int toMask(Collection<MusicGenreEnum> generos) {
+        int mask = 0;
+        for (MusicGenreEnum genero : generos) {
+            mask |= bit(genero);
+        }
+        return mask;
+    }
+
+    public static EnumSet<MusicGenreEnum> fromMask(int mask) {
+        EnumSet<MusicGenreEnum> generos = EnumSet.noneOf(MusicGenreEnum.class);
+        for (int restante = mask; restante != 0; restante &= restante - 1) {
+            generos.add(GENEROS[Integer.numberOfTrailingZeros(restante)]);
+        }
+        return generos;
+    }
+
+    public static EnumSet<MusicGenreEnum> fromGeneros(Collection<MusicGenre> generos) {
+        EnumSet<MusicGenreEnum> resultado = EnumSet.noneOf(MusicGenreEnum.class);
+        if (generos != null) {
+            generos.forEach(g -> resultado.add(g.getNombre()));
+        }
+        return resultado;
+    }
+}
@@ -1,13 +1,17 @@
 package com.api.musiconnect.model.entity;
 
+import com.api.musiconnect.model.converter.GenerosMaskConverter;
+import com.api.musiconnect.model.enums.MusicGenreEnum;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
 
+import java.util.EnumSet;
 import java.util.List;
 
 @Entity
-@Table(name = "bands")
+@Table(name = "bands",
+        indexes = @Index(name = "idx_bands_seguidores", columnList = "seguidores_count, band_id"))
 @Getter
 @Setter
 @Builder
@@ -40,14 +44,29 @@ public class Band {
     )
     private List<MusicGenre> generosMusicales;
 
+    // Copia de generosMusicales como máscara de bits; la tabla de unión se mantiene por compatibilidad
+    @Convert(converter = GenerosMaskConverter.class)
+    @Column(name = "generos_mask")
+    private EnumSet<MusicGenreEnum> generosMask;
+
     @ManyToMany
     @JoinTable(
         name = "user_band",
         joinColumns = @JoinColumn(name = "band_id"),
-        inverseJoinColumns = @JoinColumn(name = "user_id")
+        inverseJoinColumns = @JoinColumn(name = "user_id"),
+        indexes = @Index(name = "uk_user_band_band_user", columnList = "band_id, user_id", unique = true)
     )
     private List<User> miembros;
 
+    // Contador desnormalizado; se mantiene con UPDATE atómicos en BandRepository
+    @Builder.Default
+    @Column(name = "miembros_count", updatable = false)
+    private Long miembrosCount = 0L;
+
+    @Builder.Default
+    @Column(name = "seguidores_count", updatable = false)
+    private Long seguidoresCount = 0L;
+
     @OneToMany(mappedBy = "followedBand", cascade = CascadeType.REMOVE, orphanRemoval = true)
     private java.util.List<Follow> followers;
 }
@@ -11,7 +11,8 @@ import java.util.List;
 
 
 @Entity
-@Table(name = "collaborations")
+@Table(name = "collaborations",
+        indexes = @Index(name = "idx_collaborations_estado_fecha_fin", columnList = "estado, fecha_fin"))
 @Getter
 @Setter
 @Builder
@@ -48,7 +49,8 @@ public class Collaboration {
     @JoinTable(
         name = "collaboration_members",
         joinColumns = @JoinColumn(name = "collaboration_id"),
-        inverseJoinColumns = @JoinColumn(name = "user_id")
+        inverseJoinColumns = @JoinColumn(name = "user_id"),
+        indexes = @Index(name = "uk_collaboration_members_collab_user", columnList = "collaboration_id, user_id", unique = true)
     )
     private List<User> colaboradores = new ArrayList<>();
 }
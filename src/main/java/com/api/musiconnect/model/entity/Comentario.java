@@ -6,7 +6,9 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "comentarios")
+@Table(name = "comentarios", indexes = {
+    @Index(name = "idx_comentarios_post_fecha", columnList = "post_id, fecha_comentario")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -6,7 +6,11 @@ import lombok.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "convocations")
+@Table(name = "convocations",
+        indexes = {
+                @Index(name = "idx_convocations_activa_fecha_limite", columnList = "activa, fecha_limite"),
+                @Index(name = "idx_convocations_activa_favoritos", columnList = "activa, favoritos_count")
+        })
 @Getter
 @Setter
 @NoArgsConstructor
@@ -34,6 +38,11 @@ public class Convocation {
     @Column(nullable = false)
     private Boolean activa;
 
+    // Contador desnormalizado; se mantiene con UPDATE atómicos en ConvocationRepository
+    @Builder.Default
+    @Column(name = "favoritos_count", updatable = false)
+    private Long favoritosCount = 0L;
+
     @OneToMany(mappedBy = "convocatoria", cascade = CascadeType.REMOVE, orphanRemoval = true)
     private java.util.List<ConvocationFavorite> favorites;
 }
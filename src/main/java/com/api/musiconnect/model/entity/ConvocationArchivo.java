@@ -0,0 +1,36 @@
+package com.api.musiconnect.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Copia fría de una convocatoria vencida, movida fuera de la tabla convocations por el barrido
+@Entity
+@Table(name = "convocations_archivo")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConvocationArchivo {
+
+    @Id
+    private Long convocationId;
+
+    @Column(name = "usuario_id", nullable = false)
+    private Long usuarioId;
+
+    @Column(nullable = false, length = 50)
+    private String titulo;
+
+    @Column(length = 300)
+    private String descripcion;
+
+    @Column(nullable = false)
+    private LocalDate fechaLimite;
+
+    @Column(nullable = false)
+    private LocalDateTime fechaArchivado;
+}
@@ -10,7 +10,14 @@ import com.api.musiconnect.model.entity.Band;
 
 
 @Entity
-@Table(name = "follows")
+@Table(name = "follows", uniqueConstraints = {
+    // Un seguimiento por par; en cada fila la otra columna es NULL y no entra en conflicto
+    @UniqueConstraint(name = "uk_follows_follower_user", columnNames = {"follower_id", "followed_user_id"}),
+    @UniqueConstraint(name = "uk_follows_follower_band", columnNames = {"follower_id", "band_id"})
+}, indexes = {
+    @Index(name = "idx_follows_followed_user", columnList = "followed_user_id"),
+    @Index(name = "idx_follows_band", columnList = "band_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
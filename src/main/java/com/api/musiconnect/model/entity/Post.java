@@ -9,7 +9,10 @@ import java.util.List;
 import com.api.musiconnect.model.enums.PostTipo;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+    @Index(name = "idx_posts_fecha_id", columnList = "fecha_publicacion, post_id"),
+    @Index(name = "idx_posts_usuario_fecha_id", columnList = "usuario_id, fecha_publicacion, post_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -35,6 +38,11 @@ public class Post {
     @Column(nullable = false)
     private PostTipo tipo;
 
+    // Contador desnormalizado; solo se modifica con UPDATE atómicos desde PostRepository
+    @Builder.Default
+    @Column(name = "comentarios_count", updatable = false)
+    private Long comentariosCount = 0L;
+
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Comentario> comentarios;
 }
@@ -1,9 +1,12 @@
 package com.api.musiconnect.model.entity;
 
+import com.api.musiconnect.model.converter.GenerosMaskConverter;
+import com.api.musiconnect.model.enums.MusicGenreEnum;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
 
+import java.util.EnumSet;
 import java.util.List;
 
 @Entity
@@ -49,11 +52,22 @@ public class User {
     @JoinTable(
         name = "user_music_genre",
         joinColumns = @JoinColumn(name = "user_id"),
-        inverseJoinColumns = @JoinColumn(name = "genero_id")
+        inverseJoinColumns = @JoinColumn(name = "genero_id"),
+        indexes = @Index(name = "idx_user_music_genre_genero_user", columnList = "genero_id, user_id")
     )
     private List<MusicGenre> generosMusicales;
 
+    // Copia de generosMusicales como máscara de bits; la tabla de unión se mantiene por compatibilidad
+    @Convert(converter = GenerosMaskConverter.class)
+    @Column(name = "generos_mask")
+    private EnumSet<MusicGenreEnum> generosMask;
+
     @ManyToMany(mappedBy = "miembros")
     private List<Band> bandas;
 
+    // Contador desnormalizado; se mantiene con UPDATE atómicos en UserRepository
+    @Builder.Default
+    @Column(name = "seguidores_count", updatable = false)
+    private Long seguidoresCount = 0L;
+
 }
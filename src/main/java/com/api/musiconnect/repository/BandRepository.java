@@ -1,10 +1,134 @@
 package com.api.musiconnect.repository;
 
 import com.api.musiconnect.model.entity.Band;
+import com.api.musiconnect.model.enums.MusicGenreEnum;
+import com.api.musiconnect.repository.projection.BandaGenero;
+import com.api.musiconnect.repository.projection.BandaListado;
+import com.api.musiconnect.repository.projection.BandaPopular;
+import com.api.musiconnect.repository.projection.BandaResumen;
+import com.api.musiconnect.repository.projection.MiembroBanda;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
 
 public interface BandRepository extends JpaRepository<Band, Long> {
 
     boolean existsByNombreIgnoreCase(String nombre);
     boolean existsByMiembrosUserIdAndBandId(Long userId, Long bandId);
+
+    // Alta directa en la tabla de unión, sin cargar ni reescribir la colección de miembros.
+    // Devuelve 0 si el usuario ya era miembro (índice único (band_id, user_id)).
+    @Modifying
+    @Query(value = "INSERT INTO user_band (band_id, user_id) VALUES (:bandId, :userId) ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int agregarMiembro(@Param("bandId") Long bandId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE Band b SET b.miembrosCount = COALESCE(b.miembrosCount, 0) + 1 WHERE b.bandId = :bandId")
+    int incrementarMiembros(@Param("bandId") Long bandId);
+
+    // Contador de seguidores: actualizaciones atómicas en la base de datos
+    @Modifying
+    @Query("UPDATE Band b SET b.seguidoresCount = COALESCE(b.seguidoresCount, 0) + 1 WHERE b.bandId = :bandId")
+    int incrementarSeguidores(@Param("bandId") Long bandId);
+
+    @Modifying
+    @Query("""
+            UPDATE Band b SET b.seguidoresCount = CASE WHEN COALESCE(b.seguidoresCount, 0) > 0
+                                                       THEN b.seguidoresCount - 1 ELSE 0 END
+            WHERE b.bandId = :bandId
+            """)
+    int decrementarSeguidores(@Param("bandId") Long bandId);
+
+    // Bandas con más seguidores (mask 0 no filtra por género); recorre idx_bands_seguidores en orden
+    @Query(value = "SELECT b.band_id AS \"bandId\", b.nombre AS nombre, b.seguidores_count AS \"seguidoresCount\", " +
+            "b.generos_mask AS \"generosMask\" FROM bands b " +
+            "WHERE (:mask = 0 OR (b.generos_mask & :mask) <> 0) " +
+            "ORDER BY b.seguidores_count DESC, b.band_id DESC",
+            nativeQuery = true)
+    List<BandaPopular> findMasSeguidas(@Param("mask") int mask, Pageable pageable);
+
+    // Siguiente tramo del mismo orden a partir de la última fila leída (keyset sobre idx_bands_seguidores)
+    @Query(value = "SELECT b.band_id AS \"bandId\", b.nombre AS nombre, b.seguidores_count AS \"seguidoresCount\", " +
+            "b.generos_mask AS \"generosMask\" FROM bands b " +
+            "WHERE (b.seguidores_count, b.band_id) < (:seguidores, :bandId) " +
+            "ORDER BY b.seguidores_count DESC, b.band_id DESC",
+            nativeQuery = true)
+    List<BandaPopular> findMasSeguidasDespuesDe(@Param("seguidores") long seguidores, @Param("bandId") long bandId,
+                                                Pageable pageable);
+
+    // Integrantes paginados directamente desde la tabla de unión, sin cargar la colección
+    @Query(value = "SELECT u.user_id AS \"userId\", u.nombre_artistico AS \"nombreArtistico\" " +
+            "FROM user_band ub JOIN users u ON u.user_id = ub.user_id " +
+            "WHERE ub.band_id = :bandId ORDER BY u.user_id",
+            countQuery = "SELECT COUNT(*) FROM user_band ub WHERE ub.band_id = :bandId",
+            nativeQuery = true)
+    Page<MiembroBanda> findMiembros(@Param("bandId") Long bandId, Pageable pageable);
+
+    @Query(value = "SELECT u.nombre_artistico FROM user_band ub JOIN users u ON u.user_id = ub.user_id " +
+            "WHERE ub.band_id = :bandId AND ub.user_id = :userId",
+            nativeQuery = true)
+    Optional<String> findNombreMiembro(@Param("bandId") Long bandId, @Param("userId") Long userId);
+
+    // Bandas que comparten al menos un género con la máscara indicada, las más recientes primero
+    @Query(value = "SELECT b.nombre AS nombre, b.generos_mask AS \"generosMask\" FROM bands b " +
+            "WHERE (b.generos_mask & :mask) <> 0 ORDER BY b.band_id DESC",
+            nativeQuery = true)
+    List<BandaResumen> findResumenByGenerosMask(@Param("mask") int mask, Pageable pageable);
+
+    // Listado paginado en una sola consulta; mask 0 no filtra por género y el patrón es un prefijo LIKE en minúsculas
+    @Query(value = "SELECT b.band_id AS \"bandId\", b.nombre AS nombre, b.descripcion AS descripcion, " +
+            "u.nombre_artistico AS \"administradorNombreArtistico\", b.generos_mask AS \"generosMask\", " +
+            "b.miembros_count AS \"miembrosCount\", b.seguidores_count AS \"seguidoresCount\" " +
+            "FROM bands b JOIN users u ON u.user_id = b.admin_id " +
+            "WHERE (:mask = 0 OR (b.generos_mask & :mask) <> 0) AND LOWER(b.nombre) LIKE :patron " +
+            "ORDER BY b.nombre, b.band_id",
+            countQuery = "SELECT COUNT(*) FROM bands b " +
+                    "WHERE (:mask = 0 OR (b.generos_mask & :mask) <> 0) AND LOWER(b.nombre) LIKE :patron",
+            nativeQuery = true)
+    Page<BandaListado> findListado(@Param("mask") int mask, @Param("patron") String patron, Pageable pageable);
+
+    // Filas pendientes de migrar a la máscara de géneros (genero es null si la banda no tiene géneros)
+    @Query("SELECT b.bandId AS bandId, g.nombre AS genero FROM Band b LEFT JOIN b.generosMusicales g " +
+            "WHERE b.generosMask IS NULL")
+    List<BandaGenero> findBandaGeneroSinMascara();
+
+    @Modifying
+    @Query("UPDATE Band b SET b.generosMask = :mask WHERE b.bandId IN :ids")
+    int actualizarGenerosMask(@Param("ids") Collection<Long> ids, @Param("mask") EnumSet<MusicGenreEnum> mask);
+
+    // Inicializa el contador de las bandas creadas antes de que existiera la columna
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE bands b SET miembros_count = (SELECT COUNT(*) FROM user_band ub WHERE ub.band_id = b.band_id)
+            WHERE b.miembros_count IS NULL
+            """, nativeQuery = true)
+    int inicializarContadorMiembros();
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE bands b SET seguidores_count = (SELECT COUNT(*) FROM follows f WHERE f.band_id = b.band_id)
+            WHERE b.seguidores_count IS NULL
+            """, nativeQuery = true)
+    int inicializarContadorSeguidores();
+
+    // Corrige los contadores que se desviaron del conteo real (sólo escribe las filas distintas)
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE bands b SET seguidores_count = (SELECT COUNT(*) FROM follows f WHERE f.band_id = b.band_id)
+            WHERE b.seguidores_count IS DISTINCT FROM (SELECT COUNT(*) FROM follows f WHERE f.band_id = b.band_id)
+            """, nativeQuery = true)
+    int reconciliarContadorSeguidores();
 }
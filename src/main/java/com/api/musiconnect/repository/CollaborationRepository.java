@@ -3,15 +3,33 @@ package com.api.musiconnect.repository;
 import com.api.musiconnect.model.entity.Collaboration;
 import com.api.musiconnect.model.entity.User;
 import com.api.musiconnect.model.enums.CollaborationStatus;
+import com.api.musiconnect.repository.projection.ColaboracionResumen;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface CollaborationRepository extends JpaRepository<Collaboration, Long> {
     List<Collaboration> findByEstadoIn(List<CollaborationStatus> estados);
     List<Collaboration> findByUsuario_NombreArtisticoIgnoreCase(String nombreArtistico);
     boolean existsByTituloIgnoreCase(String titulo);
 
+    // Alta directa en la tabla de unión, sin cargar ni reescribir la colección de colaboradores.
+    // Devuelve 0 si el usuario ya colaboraba (índice único (collaboration_id, user_id)).
+    @Modifying
+    @Query(value = "INSERT INTO collaboration_members (collaboration_id, user_id) VALUES (:collaborationId, :userId) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int agregarColaborador(@Param("collaborationId") Long collaborationId, @Param("userId") Long userId);
+
+    @Query("SELECT c.titulo AS titulo, c.estado AS estado, c.fechaFin AS fechaFin FROM Collaboration c " +
+            "WHERE c.estado IN :estados ORDER BY c.fechaFin")
+    List<ColaboracionResumen> findResumenByEstadoIn(@Param("estados") Collection<CollaborationStatus> estados,
+                                                    Pageable pageable);
+
 }
@@ -2,11 +2,52 @@ package com.api.musiconnect.repository;
 
 import com.api.musiconnect.model.entity.Comentario;
 import com.api.musiconnect.model.entity.Post;
+import com.api.musiconnect.repository.projection.ComentarioResumen;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ComentarioRepository extends JpaRepository<Comentario, Long> {
 
     List<Comentario> findByPost(Post post);
+
+    // Comentarios de un post paginados por keyset (fechaComentario, comentarioId), más antiguos primero
+    @Query("""
+            SELECT c FROM Comentario c JOIN FETCH c.usuario
+            WHERE c.post.postId = :postId
+            ORDER BY c.fechaComentario, c.comentarioId
+            """)
+    List<Comentario> findPageByPostId(@Param("postId") Long postId, Pageable pageable);
+
+    @Query("""
+            SELECT c FROM Comentario c JOIN FETCH c.usuario
+            WHERE c.post.postId = :postId
+              AND (c.fechaComentario > :fecha
+                   OR (c.fechaComentario = :fecha AND c.comentarioId > :comentarioId))
+            ORDER BY c.fechaComentario, c.comentarioId
+            """)
+    List<Comentario> findPageByPostIdAfter(@Param("postId") Long postId,
+                                           @Param("fecha") LocalDateTime fecha,
+                                           @Param("comentarioId") Long comentarioId,
+                                           Pageable pageable);
+
+    // Primeros :limite comentarios de cada post (por fecha), con el autor, en una sola consulta
+    @Query(value = """
+            SELECT c.comentario_id AS "comentarioId", c.post_id AS "postId", c.contenido AS "contenido",
+                   c.fecha_comentario AS "fechaComentario", u.nombre_artistico AS "autor"
+            FROM (SELECT c.*, ROW_NUMBER() OVER (PARTITION BY c.post_id
+                                                 ORDER BY c.fecha_comentario, c.comentario_id) AS rn
+                  FROM comentarios c
+                  WHERE c.post_id IN (:postIds)) c
+            JOIN users u ON u.user_id = c.usuario_id
+            WHERE c.rn <= :limite
+            ORDER BY c.post_id, c.fecha_comentario, c.comentario_id
+            """, nativeQuery = true)
+    List<ComentarioResumen> findPrimerosPorPost(@Param("postIds") Collection<Long> postIds,
+                                                @Param("limite") int limite);
 }
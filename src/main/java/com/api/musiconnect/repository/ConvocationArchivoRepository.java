@@ -0,0 +1,20 @@
+package com.api.musiconnect.repository;
+
+import com.api.musiconnect.model.entity.ConvocationArchivo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface ConvocationArchivoRepository extends JpaRepository<ConvocationArchivo, Long> {
+
+    // Copia las convocatorias indicadas al archivo con un único INSERT ... SELECT
+    @Modifying
+    @Query("INSERT INTO ConvocationArchivo (convocationId, usuarioId, titulo, descripcion, fechaLimite, fechaArchivado) " +
+            "SELECT c.convocationId, c.usuario.userId, c.titulo, c.descripcion, c.fechaLimite, :ahora " +
+            "FROM Convocation c WHERE c.convocationId IN :ids")
+    int archivar(@Param("ids") Collection<Long> ids, @Param("ahora") LocalDateTime ahora);
+}
@@ -3,8 +3,15 @@ package com.api.musiconnect.repository;
 import com.api.musiconnect.model.entity.ConvocationFavorite;
 import com.api.musiconnect.model.entity.User;
 import com.api.musiconnect.model.entity.Convocation;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,7 +19,23 @@ public interface ConvocationFavoriteRepository extends JpaRepository<Convocation
 
     List<ConvocationFavorite> findByUsuarioUserId(Long userId);
 
+    // Favoritas activas y vigentes del usuario con su creador en una sola consulta, las últimas marcadas primero
+    @Query(value = """
+            SELECT c FROM ConvocationFavorite f JOIN f.convocatoria c JOIN FETCH c.usuario
+            WHERE f.usuario.userId = :userId AND c.activa = true AND c.fechaLimite >= :hoy
+            ORDER BY f.id DESC
+            """,
+            countQuery = """
+            SELECT COUNT(f) FROM ConvocationFavorite f JOIN f.convocatoria c
+            WHERE f.usuario.userId = :userId AND c.activa = true AND c.fechaLimite >= :hoy
+            """)
+    Page<Convocation> findFavoritasActivas(@Param("userId") Long userId, @Param("hoy") LocalDate hoy, Pageable pageable);
+
     Optional<ConvocationFavorite> findByUsuarioAndConvocatoria(User usuario, Convocation convocatoria);
 
     boolean existsByUsuarioAndConvocatoria(User usuario, Convocation convocatoria);
+
+    @Modifying
+    @Query("DELETE FROM ConvocationFavorite f WHERE f.convocatoria.convocationId IN :ids")
+    int eliminarPorConvocatorias(@Param("ids") Collection<Long> convocatoriaIds);
 }
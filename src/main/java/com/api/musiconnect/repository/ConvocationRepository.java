@@ -1,7 +1,72 @@
 package com.api.musiconnect.repository;
 
 import com.api.musiconnect.model.entity.Convocation;
+import com.api.musiconnect.repository.projection.ConvocatoriaResumen;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 
 public interface ConvocationRepository extends JpaRepository<Convocation, Long> {
+
+    // Convocatorias activas y vigentes con su creador; el orden lo define el Pageable.
+    // Filtra en SQL usando el índice (activa, fecha_limite): las vencidas no salen de la BD
+    @Query(value = "SELECT c FROM Convocation c JOIN FETCH c.usuario WHERE c.activa = true AND c.fechaLimite >= :hoy",
+            countQuery = "SELECT COUNT(c) FROM Convocation c WHERE c.activa = true AND c.fechaLimite >= :hoy")
+    Page<Convocation> findActivas(@Param("hoy") LocalDate hoy, Pageable pageable);
+
+    // Convocatorias activas y vigentes, las más próximas a vencer primero
+    @Query("SELECT c.titulo AS titulo, c.fechaLimite AS fechaLimite FROM Convocation c " +
+            "WHERE c.activa = true AND c.fechaLimite >= :hoy ORDER BY c.fechaLimite")
+    List<ConvocatoriaResumen> findResumenActivas(@Param("hoy") LocalDate hoy, Pageable pageable);
+
+    // Reclama un lote de convocatorias activas ya vencidas: recorre el índice (activa, fecha_limite)
+    // en orden y bloquea las filas hasta el fin de la transacción; SKIP LOCKED saltea las que
+    // otra instancia ya reclamó, así dos barridos concurrentes nunca procesan la misma fila
+    @Query(value = """
+            SELECT c.convocation_id FROM convocations c
+            WHERE c.activa = true AND c.fecha_limite < :hoy
+            ORDER BY c.fecha_limite
+            LIMIT :limite
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<Long> reclamarVencidas(@Param("hoy") LocalDate hoy, @Param("limite") int limite);
+
+    @Modifying
+    @Query("UPDATE Convocation c SET c.activa = false WHERE c.convocationId IN :ids")
+    int desactivar(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Convocation c WHERE c.convocationId IN :ids")
+    int eliminarPorIds(@Param("ids") Collection<Long> ids);
+
+    // Contador de favoritos: actualizaciones atómicas en la base de datos
+    @Modifying
+    @Query("UPDATE Convocation c SET c.favoritosCount = COALESCE(c.favoritosCount, 0) + 1 WHERE c.convocationId = :id")
+    int incrementarFavoritos(@Param("id") Long convocationId);
+
+    @Modifying
+    @Query("""
+            UPDATE Convocation c SET c.favoritosCount = CASE WHEN COALESCE(c.favoritosCount, 0) > 0
+                                                             THEN c.favoritosCount - 1 ELSE 0 END
+            WHERE c.convocationId = :id
+            """)
+    int decrementarFavoritos(@Param("id") Long convocationId);
+
+    // Inicializa el contador de las convocatorias creadas antes de que existiera la columna
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE convocations c SET favoritos_count =
+                (SELECT COUNT(*) FROM convocation_favorites f WHERE f.convocatoria_id = c.convocation_id)
+            WHERE c.favoritos_count IS NULL
+            """, nativeQuery = true)
+    int inicializarContadorFavoritos();
 }
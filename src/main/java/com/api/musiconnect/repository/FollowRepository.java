@@ -1,11 +1,20 @@
 package com.api.musiconnect.repository;
 
 import com.api.musiconnect.model.entity.Follow;
+import com.api.musiconnect.repository.projection.AristaSeguimiento;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface FollowRepository extends JpaRepository<Follow, Long> {
 
@@ -19,4 +28,68 @@ public interface FollowRepository extends JpaRepository<Follow, Long> {
     
     Optional<Follow> findByFollowerUserIdAndFollowedBandBandId(Long followerId, Long followedBandId);
 
+    // Seguidores del autor, directos o a través de bandas que administra o integra
+    @Query("""
+            SELECT DISTINCT f.follower.userId FROM Follow f
+            WHERE f.followedUser.userId = :autorId
+               OR f.followedBand.bandId IN (SELECT b.bandId FROM Band b LEFT JOIN b.miembros m
+                                            WHERE b.administrador.userId = :autorId OR m.userId = :autorId)
+            """)
+    List<Long> findAudienciaIds(@Param("autorId") Long autorId, Pageable pageable);
+
+    // Autores de la timeline: usuarios seguidos y administradores/miembros de bandas seguidas
+    @Query("""
+            SELECT f.followedUser.userId FROM Follow f
+            WHERE f.follower.userId = :userId AND f.followedUser IS NOT NULL
+            UNION
+            SELECT b.administrador.userId FROM Follow f JOIN f.followedBand b
+            WHERE f.follower.userId = :userId
+            UNION
+            SELECT m.userId FROM Follow f JOIN f.followedBand b JOIN b.miembros m
+            WHERE f.follower.userId = :userId
+            """)
+    List<Long> findAutoresSeguidosIds(@Param("userId") Long userId);
+
+    // Recorre la tabla completa sin materializarla (carga del índice GrafoSeguimientos)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(value = "SELECT f.follower_id AS \"followerId\", f.followed_user_id AS \"usuarioId\", " +
+            "f.band_id AS \"bandaId\" FROM follows f",
+            nativeQuery = true)
+    Stream<AristaSeguimiento> streamAristas();
+
+    // Consultas de relaciones para cuando el índice en memoria no está disponible
+
+    @Query(value = "SELECT f.follower.userId FROM Follow f WHERE f.followedUser.userId = :userId ORDER BY f.follower.userId",
+            countQuery = "SELECT COUNT(f) FROM Follow f WHERE f.followedUser.userId = :userId")
+    Page<Long> findFollowerIdsByFollowedUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(value = "SELECT f.follower.userId FROM Follow f WHERE f.followedBand.bandId = :bandId ORDER BY f.follower.userId",
+            countQuery = "SELECT COUNT(f) FROM Follow f WHERE f.followedBand.bandId = :bandId")
+    Page<Long> findFollowerIdsByFollowedBandId(@Param("bandId") Long bandId, Pageable pageable);
+
+    @Query(value = """
+            SELECT f.followedUser.userId FROM Follow f
+            WHERE f.follower.userId = :userId
+              AND EXISTS (SELECT 1 FROM Follow g WHERE g.follower.userId = f.followedUser.userId AND g.followedUser.userId = :userId)
+            ORDER BY f.followedUser.userId
+            """,
+            countQuery = """
+            SELECT COUNT(f) FROM Follow f
+            WHERE f.follower.userId = :userId
+              AND EXISTS (SELECT 1 FROM Follow g WHERE g.follower.userId = f.followedUser.userId AND g.followedUser.userId = :userId)
+            """)
+    Page<Long> findMutuosIds(@Param("userId") Long userId, Pageable pageable);
+
+    // Amigos de amigos: seguidos por quienes sigue el usuario, sin él ni quienes ya sigue
+    @Query("""
+            SELECT g.followedUser.userId FROM Follow f, Follow g
+            WHERE f.follower.userId = :userId
+              AND g.follower.userId = f.followedUser.userId
+              AND g.followedUser.userId <> :userId
+              AND NOT EXISTS (SELECT 1 FROM Follow h WHERE h.follower.userId = :userId AND h.followedUser.userId = g.followedUser.userId)
+            GROUP BY g.followedUser.userId
+            ORDER BY COUNT(g) DESC, g.followedUser.userId
+            """)
+    List<Long> findSugerenciasIds(@Param("userId") Long userId, Pageable pageable);
+
 }
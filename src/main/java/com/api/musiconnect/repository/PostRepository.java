@@ -1,7 +1,80 @@
 package com.api.musiconnect.repository;
 
 import com.api.musiconnect.model.entity.Post;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 public interface PostRepository extends JpaRepository<Post, Long> {
+
+    // Primera página del feed (más recientes primero)
+    @Query("""
+            SELECT p FROM Post p JOIN FETCH p.usuario
+            ORDER BY p.fechaPublicacion DESC, p.postId DESC
+            """)
+    List<Post> findFeed(Pageable pageable);
+
+    // Páginas siguientes: keyset sobre (fechaPublicacion, postId)
+    @Query("""
+            SELECT p FROM Post p JOIN FETCH p.usuario
+            WHERE p.fechaPublicacion < :fecha
+               OR (p.fechaPublicacion = :fecha AND p.postId < :postId)
+            ORDER BY p.fechaPublicacion DESC, p.postId DESC
+            """)
+    List<Post> findFeedBefore(@Param("fecha") LocalDateTime fecha,
+                              @Param("postId") Long postId,
+                              Pageable pageable);
+
+    // Timeline: posts de los autores seguidos, resueltos antes desde follows
+    // (FollowRepository.findAutoresSeguidosIds) para recorrer idx_posts_usuario_fecha_id
+    @Query("""
+            SELECT p FROM Post p JOIN FETCH p.usuario u
+            WHERE u.userId IN :autorIds
+            ORDER BY p.fechaPublicacion DESC, p.postId DESC
+            """)
+    List<Post> findTimeline(@Param("autorIds") Collection<Long> autorIds, Pageable pageable);
+
+    @Query("""
+            SELECT p FROM Post p JOIN FETCH p.usuario u
+            WHERE u.userId IN :autorIds
+              AND (p.fechaPublicacion < :fecha
+                   OR (p.fechaPublicacion = :fecha AND p.postId < :postId))
+            ORDER BY p.fechaPublicacion DESC, p.postId DESC
+            """)
+    List<Post> findTimelineBefore(@Param("autorIds") Collection<Long> autorIds,
+                                  @Param("fecha") LocalDateTime fecha,
+                                  @Param("postId") Long postId,
+                                  Pageable pageable);
+
+    @Query("SELECT p FROM Post p JOIN FETCH p.usuario WHERE p.postId IN :postIds")
+    List<Post> findAllWithUsuarioByPostIdIn(@Param("postIds") Collection<Long> postIds);
+
+    // Contador de comentarios: actualizaciones atómicas en la base de datos
+    @Modifying
+    @Query("UPDATE Post p SET p.comentariosCount = COALESCE(p.comentariosCount, 0) + 1 WHERE p.postId = :postId")
+    int incrementarComentarios(@Param("postId") Long postId);
+
+    @Modifying
+    @Query("""
+            UPDATE Post p SET p.comentariosCount = CASE WHEN COALESCE(p.comentariosCount, 0) > 0
+                                                        THEN p.comentariosCount - 1 ELSE 0 END
+            WHERE p.postId = :postId
+            """)
+    int decrementarComentarios(@Param("postId") Long postId);
+
+    // Inicializa el contador de los posts creados antes de que existiera la columna
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE posts p SET comentarios_count = (SELECT COUNT(*) FROM comentarios c WHERE c.post_id = p.post_id)
+            WHERE p.comentarios_count IS NULL
+            """, nativeQuery = true)
+    int inicializarContadorComentarios();
 }
@@ -1,8 +1,19 @@
 package com.api.musiconnect.repository;
 
 import com.api.musiconnect.model.entity.User;
+import com.api.musiconnect.model.enums.MusicGenreEnum;
+import com.api.musiconnect.repository.projection.UsuarioGenero;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -10,4 +21,61 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmailAndUserIdNot(String email, Long userId);
     Optional<User> findByNombreArtisticoIgnoreCase(String nombreArtistico);
+
+    // Ids de usuarios con el género indicado, resuelto con join sobre user_music_genre: el índice
+    // (genero_id, user_id) acota la página y el conteo (la máscara sólo se usa para decodificar)
+    @Query(value = "SELECT u.userId FROM User u JOIN u.generosMusicales g " +
+            "WHERE g.nombre = :genero ORDER BY u.userId",
+            countQuery = "SELECT COUNT(u) FROM User u JOIN u.generosMusicales g WHERE g.nombre = :genero")
+    Page<Long> findIdsByGenero(@Param("genero") MusicGenreEnum genero, Pageable pageable);
+
+    @Query(value = "SELECT u.generos_mask FROM users u WHERE u.user_id = :userId", nativeQuery = true)
+    Optional<Integer> findGenerosMaskByUserId(@Param("userId") Long userId);
+
+    // Carga una página de usuarios con su rol en una sola consulta (los géneros salen de la máscara)
+    @Query("SELECT u FROM User u JOIN FETCH u.role WHERE u.userId IN :ids")
+    List<User> findAllWithRoleByUserIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT u.userId AS userId, g.nombre AS genero FROM User u JOIN u.generosMusicales g")
+    List<UsuarioGenero> findAllUsuarioGenero();
+
+    // Filas pendientes de migrar a la máscara de géneros (genero es null si el usuario no tiene géneros)
+    @Query("SELECT u.userId AS userId, g.nombre AS genero FROM User u LEFT JOIN u.generosMusicales g " +
+            "WHERE u.generosMask IS NULL")
+    List<UsuarioGenero> findUsuarioGeneroSinMascara();
+
+    @Modifying
+    @Query("UPDATE User u SET u.generosMask = :mask WHERE u.userId IN :ids")
+    int actualizarGenerosMask(@Param("ids") Collection<Long> ids, @Param("mask") EnumSet<MusicGenreEnum> mask);
+
+    // Contador de seguidores: actualizaciones atómicas en la base de datos
+    @Modifying
+    @Query("UPDATE User u SET u.seguidoresCount = COALESCE(u.seguidoresCount, 0) + 1 WHERE u.userId = :userId")
+    int incrementarSeguidores(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("""
+            UPDATE User u SET u.seguidoresCount = CASE WHEN COALESCE(u.seguidoresCount, 0) > 0
+                                                       THEN u.seguidoresCount - 1 ELSE 0 END
+            WHERE u.userId = :userId
+            """)
+    int decrementarSeguidores(@Param("userId") Long userId);
+
+    // Inicializa el contador de los usuarios creados antes de que existiera la columna
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE users u SET seguidores_count = (SELECT COUNT(*) FROM follows f WHERE f.followed_user_id = u.user_id)
+            WHERE u.seguidores_count IS NULL
+            """, nativeQuery = true)
+    int inicializarContadorSeguidores();
+
+    // Corrige los contadores que se desviaron del conteo real (sólo escribe las filas distintas)
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE users u SET seguidores_count = (SELECT COUNT(*) FROM follows f WHERE f.followed_user_id = u.user_id)
+            WHERE u.seguidores_count IS DISTINCT FROM (SELECT COUNT(*) FROM follows f WHERE f.followed_user_id = u.user_id)
+            """, nativeQuery = true)
+    int reconciliarContadorSeguidores();
 }
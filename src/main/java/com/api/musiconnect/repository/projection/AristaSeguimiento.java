@@ -0,0 +1,8 @@
+package com.api.musiconnect.repository.projection;
+
+// Fila de follows reducida a sus ids; usuarioId o bandaId es null según el tipo de perfil seguido
+public interface AristaSeguimiento {
+    Long getFollowerId();
+    Long getUsuarioId();
+    Long getBandaId();
+}
@@ -0,0 +1,9 @@
+package com.api.musiconnect.repository.projection;
+
+import com.api.musiconnect.model.enums.MusicGenreEnum;
+
+// Fila (banda, género) de la tabla band_music_genre
+public interface BandaGenero {
+    Long getBandId();
+    MusicGenreEnum getGenero();
+}
@@ -0,0 +1,12 @@
+package com.api.musiconnect.repository.projection;
+
+// Fila del listado de bandas: datos básicos, nombre del administrador, máscara de géneros y totales
+public interface BandaListado {
+    Long getBandId();
+    String getNombre();
+    String getDescripcion();
+    String getAdministradorNombreArtistico();
+    Integer getGenerosMask();
+    Long getMiembrosCount();
+    Long getSeguidoresCount();
+}
@@ -0,0 +1,9 @@
+package com.api.musiconnect.repository.projection;
+
+// Banda con su total de seguidores y máscara de géneros, para el ranking de populares
+public interface BandaPopular {
+    Long getBandId();
+    String getNombre();
+    Long getSeguidoresCount();
+    Integer getGenerosMask();
+}
@@ -0,0 +1,7 @@
+package com.api.musiconnect.repository.projection;
+
+// Nombre de una banda y su máscara de géneros (ver GenerosMaskConverter)
+public interface BandaResumen {
+    String getNombre();
+    Integer getGenerosMask();
+}
@@ -0,0 +1,12 @@
+package com.api.musiconnect.repository.projection;
+
+import com.api.musiconnect.model.enums.CollaborationStatus;
+
+import java.time.LocalDate;
+
+// Datos mínimos de una colaboración abierta para el contexto del chat
+public interface ColaboracionResumen {
+    String getTitulo();
+    CollaborationStatus getEstado();
+    LocalDate getFechaFin();
+}
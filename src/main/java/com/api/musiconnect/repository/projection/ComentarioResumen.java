@@ -0,0 +1,14 @@
+package com.api.musiconnect.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección de un comentario con el nombre de su autor, sin cargar entidades.
+ */
+public interface ComentarioResumen {
+    Long getComentarioId();
+    Long getPostId();
+    String getContenido();
+    LocalDateTime getFechaComentario();
+    String getAutor();
+}
@@ -0,0 +1,9 @@
+package com.api.musiconnect.repository.projection;
+
+import java.time.LocalDate;
+
+// Datos mínimos de una convocatoria activa para el contexto del chat
+public interface ConvocatoriaResumen {
+    String getTitulo();
+    LocalDate getFechaLimite();
+}
@@ -0,0 +1,7 @@
+package com.api.musiconnect.repository.projection;
+
+// Integrante de una banda leído desde la tabla de unión user_band
+public interface MiembroBanda {
+    Long getUserId();
+    String getNombreArtistico();
+}
@@ -0,0 +1,9 @@
+package com.api.musiconnect.repository.projection;
+
+import com.api.musiconnect.model.enums.MusicGenreEnum;
+
+// Fila (usuario, género) de la tabla user_music_genre, usada para construir el índice invertido
+public interface UsuarioGenero {
+    Long getUserId();
+    MusicGenreEnum getGenero();
+}
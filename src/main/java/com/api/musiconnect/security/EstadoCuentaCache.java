@@ -0,0 +1,39 @@
+package com.api.musiconnect.security;
+
+import com.api.musiconnect.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Caché con TTL del estado de cada cuenta (activa o eliminada) para el modo de autenticación
+ * stateless. Mientras la entrada esté vigente la request no consulta la BD; al eliminar un
+ * usuario se revoca de inmediato y sus tokens dejan de aceptarse.
+ */
+@Component
+public class EstadoCuentaCache {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Boolean> activas;
+
+    public EstadoCuentaCache(UserRepository userRepository,
+                             @Value("${musiconnect.security.estado-cuenta.ttl-seconds:60}") long ttlSegundos,
+                             @Value("${musiconnect.security.estado-cuenta.max-size:100000}") long maxEntradas) {
+        this.userRepository = userRepository;
+        this.activas = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSegundos))
+                .maximumSize(maxEntradas)
+                .build();
+    }
+
+    public boolean estaActiva(Long userId) {
+        return activas.get(userId, userRepository::existsById);
+    }
+
+    public void revocar(Long userId) {
+        activas.put(userId, false);
+    }
+}
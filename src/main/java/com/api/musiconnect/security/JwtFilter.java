@@ -1,10 +1,12 @@
 package com.api.musiconnect.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -23,6 +25,14 @@ public class JwtFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private EstadoCuentaCache estadoCuentaCache;
+
+    // "database" (por defecto): carga el usuario en cada request; "stateless" (opcional): principal
+    // desde los claims del JWT, con el email y el rol vigentes al emitir el token
+    @Value("${musiconnect.security.auth-mode:database}")
+    private String authMode = "database";
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
@@ -33,12 +43,14 @@ public class JwtFilter extends OncePerRequestFilter {
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
-            String email = jwtUtil.getEmailFromToken(token);
+            // Una sola verificación por request (y ninguna si el token ya está en caché)
+            Claims claims = jwtUtil.verificar(token).orElse(null);
 
-            if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+            if (claims != null && claims.getSubject() != null
+                    && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = cargarPrincipal(claims);
 
-                if (jwtUtil.validateToken(token)) {
+                if (userDetails != null) {
                     UsernamePasswordAuthenticationToken authToken =
                             new UsernamePasswordAuthenticationToken(
                                     userDetails,
@@ -55,4 +67,18 @@ public class JwtFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private UserDetails cargarPrincipal(Claims claims) {
+        Long userId = claims.get(JwtUtil.CLAIM_USER_ID, Long.class);
+
+        // Los tokens emitidos antes del claim "uid" siguen autenticándose contra la BD
+        if ("stateless".equalsIgnoreCase(authMode) && userId != null) {
+            if (!estadoCuentaCache.estaActiva(userId)) {
+                return null;
+            }
+            return new JwtPrincipal(userId, claims.getSubject(), claims.get(JwtUtil.CLAIM_ROLE, String.class));
+        }
+
+        return userDetailsService.loadUserByUsername(claims.getSubject());
+    }
 }
@@ -0,0 +1,30 @@
+package com.api.musiconnect.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Principal liviano construido sólo con los claims verificados del JWT (uid, subject y role),
+ * usado en el modo de autenticación stateless en lugar de {@link UserDetailsImpl}.
+ */
+public record JwtPrincipal(Long userId, String email, String role) implements UserDetails {
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.singleton(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
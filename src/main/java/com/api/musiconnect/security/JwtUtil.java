@@ -1,35 +1,84 @@
 package com.api.musiconnect.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtil {
 
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_USER_ID = "uid";
+
     private final String jwtSecret = "musiconnect_super_seguro_secreto_1234567890"; // mínimo 32 caracteres
-    private final long jwtExpirationMs = 86400000; // 24 horas
+    private final long jwtExpirationMs;
+
+    // La clave y el parser se construyen una sola vez; JwtParser es inmutable y thread-safe
+    private final Key signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+
+    // Tokens ya verificados (clave: SHA-256 del token); cada entrada vence junto con el token
+    private final Cache<String, Claims> tokensVerificados;
+
+    public JwtUtil(@Value("${musiconnect.security.jwt-cache.max-size:10000}") long maxTokensEnCache,
+                   @Value("${musiconnect.security.jwt-expiration-ms:86400000}") long jwtExpirationMs) {
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.tokensVerificados = Caffeine.newBuilder()
+                .maximumSize(maxTokensEnCache)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        long restanteMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, restanteMs));
+                    }
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
     /**
-     * Genera un JWT con el correo como subject y un claim adicional "role".
+     * Genera un JWT con el correo como subject y los claims "role" y "uid".
      */
-    public String generateToken(String email, String role) {
+    public String generateToken(String email, String role, Long userId) {
         return Jwts.builder()
                 .setSubject(email)
-                .claim("role", role)
+                .claim(CLAIM_ROLE, role)
+                .claim(CLAIM_USER_ID, userId)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Genera un JWT sin claim "uid" (se autentica siempre contra la BD).
+     */
+    public String generateToken(String email, String role) {
+        return generateToken(email, role, null);
+    }
+
     /**
      * Método legacy (tests): genera token sin claim de rol.
      */
@@ -37,22 +86,49 @@ public class JwtUtil {
         return generateToken(email, "");
     }
 
+    /**
+     * Verifica firma y vigencia del token una sola vez y devuelve sus claims.
+     * Las verificaciones siguientes del mismo token se resuelven desde la caché.
+     * Devuelve vacío si el token es inválido o está vencido.
+     */
+    public Optional<Claims> verificar(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+
+        String clave = hash(token);
+        Claims claims = tokensVerificados.getIfPresent(clave);
+        if (claims != null) {
+            return Optional.of(claims);
+        }
+
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        // Tokens sin expiración no se guardan: la caché sólo admite entradas con vencimiento
+        if (claims.getExpiration() != null) {
+            tokensVerificados.put(clave, claims);
+        }
+        return Optional.of(claims);
+    }
+
     public String getEmailFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return verificar(token).map(Claims::getSubject).orElse(null);
     }
 
     public boolean validateToken(String token) {
+        return verificar(token).isPresent();
+    }
+
+    private static String hash(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token);
-            return true;
-        } catch (JwtException e) {
-            // Puedes loguear el error si deseas
-            return false;
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible.", e);
         }
     }
 }
@@ -0,0 +1,292 @@
+package com.api.musiconnect.security;
+
+import com.api.musiconnect.service.ai.limite.ChatUsoStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Límite de uso de /ai-chat por usuario autenticado: un token bucket de solicitudes y un tope
+ * de bytes (prompt + respuesta) en una ventana deslizante, ambos en {@link ChatUsoStore}. Se
+ * cuentan los bytes que realmente se leen del cuerpo y se escriben en la respuesta, así que no
+ * depende de Content-Length (ausente con Transfer-Encoding: chunked). Al superarse responde
+ * 429 con Retry-After. Corre después de la cadena de Spring Security, así que el usuario ya
+ * está autenticado.
+ */
+@Component
+public class LimiteChatFilter extends OncePerRequestFilter {
+
+    private static final String RUTA = "/ai-chat";
+
+    private final ChatUsoStore store;
+    private final boolean habilitado;
+    private final long maxBytes;
+    private final long ventanaSegundos;
+
+    private final Counter rechazosSolicitudes;
+    private final Counter rechazosBytes;
+    private final DistributionSummary tamanioPrompt;
+    private final DistributionSummary tamanioRespuesta;
+
+    public LimiteChatFilter(ChatUsoStore store, MeterRegistry meterRegistry,
+                            @Value("${musiconnect.ai.rate-limit.enabled:true}") boolean habilitado,
+                            @Value("${musiconnect.ai.rate-limit.max-bytes-per-window:200000}") long maxBytes,
+                            @Value("${musiconnect.ai.rate-limit.window-seconds:3600}") long ventanaSegundos) {
+        this.store = store;
+        this.habilitado = habilitado;
+        this.maxBytes = maxBytes;
+        this.ventanaSegundos = ventanaSegundos;
+        this.rechazosSolicitudes = rechazos(meterRegistry, "solicitudes");
+        this.rechazosBytes = rechazos(meterRegistry, "bytes");
+        this.tamanioPrompt = tamanio(meterRegistry, "prompt");
+        this.tamanioRespuesta = tamanio(meterRegistry, "respuesta");
+    }
+
+    private static Counter rechazos(MeterRegistry registry, String motivo) {
+        return Counter.builder("musiconnect.ai.rate-limit.rejected")
+                .description("Solicitudes al chat rechazadas con 429")
+                .tag("motivo", motivo)
+                .register(registry);
+    }
+
+    private static DistributionSummary tamanio(MeterRegistry registry, String tipo) {
+        return DistributionSummary.builder("musiconnect.ai.chat.size")
+                .description("Tamaño de prompts y respuestas del chat")
+                .baseUnit("bytes")
+                .tag("tipo", tipo)
+                .register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !habilitado || !request.getRequestURI().startsWith(request.getContextPath() + RUTA);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Long userId = UsuarioAutenticado.actual();
+        if (userId == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (store.bytesEnVentana(userId) >= maxBytes) {
+            rechazosBytes.increment();
+            rechazar(response, ventanaSegundos,
+                    "Alcanzaste el límite de uso del asistente. Intenta nuevamente más tarde.");
+            return;
+        }
+        long esperaMs = store.reservar(userId);
+        if (esperaMs > 0) {
+            rechazosSolicitudes.increment();
+            rechazar(response, (esperaMs + 999) / 1000,
+                    "Demasiadas solicitudes al asistente. Intenta nuevamente en unos segundos.");
+            return;
+        }
+
+        PeticionContada peticion = new PeticionContada(request);
+        RespuestaContada contada = new RespuestaContada(response);
+        try {
+            filterChain.doFilter(peticion, contada);
+        } finally {
+            // El controlador ya leyó el cuerpo, también cuando la respuesta sigue en streaming
+            long prompt = peticion.getBytes();
+            tamanioPrompt.record(prompt);
+            store.registrarBytes(userId, prompt);
+            if (request.isAsyncStarted()) {
+                // Streaming (SSE): la respuesta se completa después de salir del filtro
+                request.getAsyncContext().addListener(new AlTerminar(() -> registrarRespuesta(userId, contada)));
+            } else {
+                registrarRespuesta(userId, contada);
+            }
+        }
+    }
+
+    private void registrarRespuesta(Long userId, RespuestaContada contada) {
+        long bytes = contada.getBytes();
+        tamanioRespuesta.record(bytes);
+        store.registrarBytes(userId, bytes);
+    }
+
+    private static void rechazar(HttpServletResponse response, long reintentarEnSegundos, String mensaje)
+            throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, reintentarEnSegundos)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"error\":\"" + mensaje + "\"}");
+    }
+
+    // Cuenta los bytes leídos del cuerpo de la solicitud
+    private static final class PeticionContada extends HttpServletRequestWrapper {
+
+        private final AtomicLong bytes = new AtomicLong();
+        private ServletInputStream entrada;
+        private BufferedReader lector;
+
+        PeticionContada(HttpServletRequest request) {
+            super(request);
+        }
+
+        long getBytes() {
+            return bytes.get();
+        }
+
+        @Override
+        public synchronized ServletInputStream getInputStream() throws IOException {
+            if (entrada == null) {
+                ServletInputStream original = super.getInputStream();
+                entrada = new ServletInputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        int b = original.read();
+                        if (b != -1) {
+                            bytes.incrementAndGet();
+                        }
+                        return b;
+                    }
+
+                    @Override
+                    public int read(byte[] b, int off, int len) throws IOException {
+                        int leidos = original.read(b, off, len);
+                        if (leidos > 0) {
+                            bytes.addAndGet(leidos);
+                        }
+                        return leidos;
+                    }
+
+                    @Override
+                    public boolean isFinished() {
+                        return original.isFinished();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return original.isReady();
+                    }
+
+                    @Override
+                    public void setReadListener(ReadListener readListener) {
+                        original.setReadListener(readListener);
+                    }
+                };
+            }
+            return entrada;
+        }
+
+        @Override
+        public synchronized BufferedReader getReader() throws IOException {
+            if (lector == null) {
+                String codificacion = getCharacterEncoding();
+                lector = new BufferedReader(new InputStreamReader(getInputStream(),
+                        codificacion != null ? Charset.forName(codificacion) : StandardCharsets.ISO_8859_1));
+            }
+            return lector;
+        }
+    }
+
+    // Cuenta los bytes escritos en el cuerpo de la respuesta (también desde hilos asíncronos)
+    private static final class RespuestaContada extends HttpServletResponseWrapper {
+
+        private final AtomicLong bytes = new AtomicLong();
+        private ServletOutputStream salida;
+
+        RespuestaContada(HttpServletResponse response) {
+            super(response);
+        }
+
+        long getBytes() {
+            return bytes.get();
+        }
+
+        @Override
+        public synchronized ServletOutputStream getOutputStream() throws IOException {
+            if (salida == null) {
+                ServletOutputStream original = super.getOutputStream();
+                salida = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        original.write(b);
+                        bytes.incrementAndGet();
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        original.write(b, off, len);
+                        bytes.addAndGet(len);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        original.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        original.close();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return original.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        original.setWriteListener(writeListener);
+                    }
+                };
+            }
+            return salida;
+        }
+    }
+
+    private record AlTerminar(Runnable accion) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            accion.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
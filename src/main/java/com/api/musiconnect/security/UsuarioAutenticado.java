@@ -0,0 +1,30 @@
+package com.api.musiconnect.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Obtiene el id del usuario autenticado con cualquiera de los dos modos de autenticación
+ * ({@link JwtPrincipal} en stateless, {@link UserDetailsImpl} en database).
+ */
+public final class UsuarioAutenticado {
+
+    private UsuarioAutenticado() {
+    }
+
+    // null si el principal no identifica a un usuario (p. ej. token sin claim "uid" en modo stateless)
+    public static Long id(Object principal) {
+        if (principal instanceof JwtPrincipal jwt) {
+            return jwt.userId();
+        }
+        if (principal instanceof UserDetailsImpl detalles) {
+            return detalles.getUser().getUserId();
+        }
+        return null;
+    }
+
+    public static Long actual() {
+        Authentication autenticacion = SecurityContextHolder.getContext().getAuthentication();
+        return autenticacion == null ? null : id(autenticacion.getPrincipal());
+    }
+}
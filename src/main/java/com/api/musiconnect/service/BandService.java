@@ -3,33 +3,49 @@ package com.api.musiconnect.service;
 import com.api.musiconnect.dto.request.AddMemberRequest;
 import com.api.musiconnect.dto.request.BandRequest;
 import com.api.musiconnect.dto.request.BandUpdateRequest;
+import com.api.musiconnect.dto.response.BandMemberResponse;
 import com.api.musiconnect.dto.response.BandResponse;
+import com.api.musiconnect.dto.response.PageResponse;
+import com.api.musiconnect.dto.response.PopularBandResponse;
+import com.api.musiconnect.exception.BadRequestException;
 import com.api.musiconnect.exception.BusinessRuleException;
 import com.api.musiconnect.exception.ResourceNotFoundException;
 import com.api.musiconnect.mapper.BandMapper;
+import com.api.musiconnect.model.converter.GenerosMaskConverter;
 import com.api.musiconnect.model.entity.Band;
 import com.api.musiconnect.model.entity.MusicGenre;
 import com.api.musiconnect.model.entity.User;
 import com.api.musiconnect.model.enums.MusicGenreEnum;
 import com.api.musiconnect.model.enums.RoleEnum;
 import com.api.musiconnect.repository.BandRepository;
-import com.api.musiconnect.repository.MusicGenreRepository;
 import com.api.musiconnect.repository.UserRepository;
+import com.api.musiconnect.repository.projection.BandaListado;
+import com.api.musiconnect.repository.projection.MiembroBanda;
+import com.api.musiconnect.service.banda.RankingBandas;
+import com.api.musiconnect.service.referencia.ReferenceDataCache;
+import com.api.musiconnect.service.seguimiento.GrafoSeguimientos;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
 public class BandService {
 
+    private static final int TAMANIO_PAGINA_MAXIMO = 100;
+
     private final BandRepository bandRepository;
     private final UserRepository userRepository;
-    private final MusicGenreRepository musicGenreRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final RankingBandas rankingBandas;
+    private final GrafoSeguimientos grafoSeguimientos;
 
     @Transactional
     public BandResponse crearBanda(BandRequest request) {
@@ -59,7 +75,7 @@ public class BandService {
             throw new BusinessRuleException("Género musical inválido.");
         }
 
-        List<MusicGenre> generos = musicGenreRepository.findAllByNombreIn(generosEnum);
+        List<MusicGenre> generos = referenceDataCache.getGeneros(generosEnum);
         if (generos.size() != generosEnum.size()) {
             throw new BusinessRuleException("Género musical inválido.");
         }
@@ -89,12 +105,11 @@ public class BandService {
         if (!Boolean.TRUE.equals(user.getDisponibilidad())) {
             throw new BusinessRuleException("Este usuario no está disponible para unirse a una banda.");
         }
-        if (banda.getMiembros().contains(user)) {
+        // El índice único resuelve altas concurrentes: sólo una inserta y suma al contador
+        if (bandRepository.agregarMiembro(bandId, user.getUserId()) == 0) {
             throw new BusinessRuleException("Este usuario ya es miembro de la banda.");
         }
-
-        banda.getMiembros().add(user);
-        bandRepository.save(banda);
+        bandRepository.incrementarMiembros(bandId);
 
         return Map.of("message", "Integrante añadido correctamente");
     }
@@ -122,7 +137,7 @@ public class BandService {
             throw new BusinessRuleException("Género musical inválido.");
         }
 
-        List<MusicGenre> generos = musicGenreRepository.findAllByNombreIn(generosEnum);
+        List<MusicGenre> generos = referenceDataCache.getGeneros(generosEnum);
         if (generos.size() != generosEnum.size()) {
             throw new BusinessRuleException("Género musical inválido.");
         }
@@ -130,6 +145,7 @@ public class BandService {
         banda.setNombre(request.nombre());
         banda.setDescripcion(request.descripcion());
         banda.setGenerosMusicales(generos);
+        banda.setGenerosMask(GenerosMaskConverter.fromGeneros(generos));
 
         bandRepository.save(banda);
 
@@ -138,13 +154,69 @@ public class BandService {
 
     /* NUEVAS FUNCIONALIDADES PARA EL ACRONIMO CRUD */
 
-    // 1. Obtener todas las bandas
-    public List<BandResponse> obtenerTodasLasBandas() {
-        return bandRepository.findAll().stream()
+    // 1. Obtener bandas (paginado), opcionalmente filtradas por géneros y prefijo del nombre
+    public PageResponse<BandResponse> obtenerBandas(List<String> generos, String nombre, int page, int size) {
+        validarPagina(page, size);
+
+        int mask;
+        try {
+            mask = generos == null ? 0 : GenerosMaskConverter.toMask(generos.stream()
+                    .map(genero -> MusicGenreEnum.valueOf(genero.trim().toUpperCase()))
+                    .toList());
+        } catch (IllegalArgumentException e) {
+            throw new BusinessRuleException("Género musical inválido.");
+        }
+
+        // Nombre, descripción, administrador y géneros salen de la misma consulta
+        Page<BandaListado> pagina = bandRepository.findListado(mask, patronPrefijo(nombre), PageRequest.of(page, size));
+
+        List<BandResponse> contenido = pagina.getContent().stream()
+                .map(BandMapper::toResponse)
+                .toList();
+
+        return PageResponse.of(contenido, page, size, pagina.getTotalElements());
+    }
+
+    // Bandas con más seguidores, general o de un género; se sirve del ranking en memoria si está cargado
+    public List<PopularBandResponse> obtenerBandasPopulares(String genero, int size) {
+        int maximo = rankingBandas.getTamanio();
+        if (size < 1 || size > maximo) {
+            throw new BadRequestException("El tamaño debe estar entre 1 y " + maximo + ".");
+        }
+
+        MusicGenreEnum generoEnum;
+        try {
+            generoEnum = genero == null ? null : MusicGenreEnum.valueOf(genero.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BusinessRuleException("Género musical inválido.");
+        }
+
+        if (rankingBandas.isDisponible()) {
+            return rankingBandas.top(generoEnum, size);
+        }
+        int mask = generoEnum == null ? 0 : GenerosMaskConverter.bit(generoEnum);
+        return bandRepository.findMasSeguidas(mask, PageRequest.of(0, size)).stream()
                 .map(BandMapper::toResponse)
                 .toList();
     }
 
+    private static void validarPagina(int page, int size) {
+        if (page < 0 || size < 1 || size > TAMANIO_PAGINA_MAXIMO) {
+            throw new BadRequestException("La página debe ser mayor o igual a 0 y el tamaño estar entre 1 y " + TAMANIO_PAGINA_MAXIMO + ".");
+        }
+    }
+
+    // Prefijo para LIKE: en minúsculas y con los comodines escapados
+    private static String patronPrefijo(String nombre) {
+        if (nombre == null || nombre.isBlank()) {
+            return "%";
+        }
+        return nombre.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+    }
+
     // 2. Obtener banda por ID
     public BandResponse obtenerBandaPorId(Long id) {
         Band banda = bandRepository.findById(id)
@@ -163,28 +235,33 @@ public class BandService {
         }
 
         bandRepository.delete(banda);
+        Transacciones.alConfirmar(() -> grafoSeguimientos.quitarBandaCompleta(id));
         return Map.of("message", "Banda eliminada exitosamente.");
     }
 
-    // 4. Obtener todos los miembros de una banda
-    public List<String> obtenerMiembrosDeBanda(Long id) {
-        Band banda = bandRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Banda no encontrada."));
+    // 4. Obtener los miembros de una banda (paginado)
+    public PageResponse<BandMemberResponse> obtenerMiembrosDeBanda(Long id, int page, int size) {
+        validarPagina(page, size);
+
+        Page<MiembroBanda> miembros = bandRepository.findMiembros(id, PageRequest.of(page, size));
+
+        // La banda sólo se consulta cuando no hay resultados, para distinguir el 404
+        if (miembros.isEmpty() && !bandRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Banda no encontrada.");
+        }
 
-        return banda.getMiembros().stream()
-                .map(User::getNombreArtistico)
+        List<BandMemberResponse> contenido = miembros.getContent().stream()
+                .map(m -> new BandMemberResponse(m.getUserId(), m.getNombreArtistico()))
                 .toList();
+
+        return PageResponse.of(contenido, page, size, miembros.getTotalElements());
     }
 
     // 5. Obtener miembro específico por ID dentro de una banda
     public String obtenerMiembroDeBandaPorId(Long bandId, Long miembroId) {
-        Band banda = bandRepository.findById(bandId)
-                .orElseThrow(() -> new ResourceNotFoundException("Banda no encontrada."));
-
-        return banda.getMiembros().stream()
-                .filter(u -> u.getUserId().equals(miembroId))
-                .findFirst()
-                .map(User::getNombreArtistico)
-                .orElseThrow(() -> new ResourceNotFoundException("Miembro no pertenece a la banda."));
+        return bandRepository.findNombreMiembro(bandId, miembroId)
+                .orElseThrow(() -> bandRepository.existsById(bandId)
+                        ? new ResourceNotFoundException("Miembro no pertenece a la banda.")
+                        : new ResourceNotFoundException("Banda no encontrada."));
     }
 }
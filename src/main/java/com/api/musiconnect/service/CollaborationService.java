@@ -121,6 +121,7 @@ public class CollaborationService {
                 .toList();
     }
 
+    @Transactional
     public Map<String, String> addColaborador(Long collaborationId, String nombreArtistico) {
         Collaboration colaboracion = collaborationRepository.findById(collaborationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Colaboración no encontrada."));
@@ -140,13 +141,10 @@ public class CollaborationService {
             throw new BusinessRuleException("El creador no puede agregarse como colaborador.");
         }
 
-        if (colaboracion.getColaboradores().contains(user)) {
+        if (collaborationRepository.agregarColaborador(collaborationId, user.getUserId()) == 0) {
             throw new BusinessRuleException("El usuario ya forma parte de la colaboración.");
         }
 
-        colaboracion.getColaboradores().add(user);
-        collaborationRepository.save(colaboracion);
-
         return Map.of("message", "Colaborador añadido correctamente");
     }
 
@@ -0,0 +1,61 @@
+package com.api.musiconnect.service;
+
+import com.api.musiconnect.dto.response.ComentarioResponse;
+import com.api.musiconnect.dto.response.CursorPageResponse;
+import com.api.musiconnect.mapper.ComentarioMapper;
+import com.api.musiconnect.mapper.CursorMapper;
+import com.api.musiconnect.repository.ComentarioRepository;
+import com.api.musiconnect.repository.projection.ComentarioResumen;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Carga los primeros comentarios (con su autor) de un conjunto de posts con una sola consulta,
+ * agrupados por postId, para que el número de consultas por respuesta sea constante.
+ */
+@Service
+@RequiredArgsConstructor
+public class ComentarioHydrationService {
+
+    private final ComentarioRepository comentarioRepository;
+
+    /**
+     * Primeros {@code maxPorPost} comentarios de cada post. Cuando un post tiene más,
+     * la página incluye el cursor para cargar los siguientes.
+     */
+    public Map<Long, CursorPageResponse<ComentarioResponse>> cargarPorPosts(Collection<Long> postIds, int maxPorPost) {
+        if (postIds.isEmpty()) {
+            return Map.of();
+        }
+
+        // Se pide un comentario extra por post para saber si hay más
+        Map<Long, List<ComentarioResponse>> agrupados = new HashMap<>();
+        for (ComentarioResumen resumen : comentarioRepository.findPrimerosPorPost(postIds, maxPorPost + 1)) {
+            agrupados.computeIfAbsent(resumen.getPostId(), id -> new ArrayList<>())
+                    .add(ComentarioMapper.toResponse(resumen));
+        }
+
+        Map<Long, CursorPageResponse<ComentarioResponse>> resultado = new HashMap<>();
+        agrupados.forEach((postId, comentarios) -> resultado.put(postId, paginar(comentarios, maxPorPost)));
+        return resultado;
+    }
+
+    private CursorPageResponse<ComentarioResponse> paginar(List<ComentarioResponse> comentarios, int limite) {
+        if (comentarios.size() <= limite) {
+            return new CursorPageResponse<>(comentarios, null, false);
+        }
+        List<ComentarioResponse> pagina = comentarios.subList(0, limite);
+        ComentarioResponse ultimo = pagina.get(pagina.size() - 1);
+        return new CursorPageResponse<>(
+                List.copyOf(pagina),
+                CursorMapper.encode(ultimo.fechaComentario(), ultimo.comentarioId()),
+                true
+        );
+    }
+}
@@ -4,6 +4,8 @@ import com.api.musiconnect.dto.request.ConvocationRequest;
 import com.api.musiconnect.dto.request.ConvocationUpdateRequest;
 import com.api.musiconnect.dto.request.FavoriteConvocationRequest;
 import com.api.musiconnect.dto.response.ConvocationResponse;
+import com.api.musiconnect.dto.response.PageResponse;
+import com.api.musiconnect.exception.BadRequestException;
 import com.api.musiconnect.exception.BusinessRuleException;
 import com.api.musiconnect.exception.ResourceNotFoundException;
 import com.api.musiconnect.mapper.ConvocationMapper;
@@ -15,6 +17,9 @@ import com.api.musiconnect.repository.ConvocationRepository;
 import com.api.musiconnect.repository.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -25,6 +30,11 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class ConvocationService {
 
+    public static final String ORDEN_FECHA_LIMITE = "fecha_limite";
+    public static final String ORDEN_RECIENTES = "recientes";
+    public static final String ORDEN_FAVORITOS = "favoritos";
+    private static final int TAMANIO_PAGINA_MAXIMO = 100;
+
     private final ConvocationRepository convocationRepository;
     private final UserRepository userRepository;
     private final ConvocationFavoriteRepository convocationFavoriteRepository;
@@ -68,41 +78,61 @@ public class ConvocationService {
         return Map.of("message", "Convocatoria actualizada correctamente.");
     }
 
+    /**
+     * Página de convocatorias activas y vigentes. Orden: "fecha_limite" (las que vencen antes
+     * primero), "recientes" (las últimas creadas primero) o "favoritos" (las más marcadas como
+     * favoritas primero, según el contador desnormalizado).
+     */
     @Transactional
-    public List<ConvocationResponse> listarConvocatoriasActivas() {
-        List<Convocation> convocatorias = convocationRepository.findAll()
-                .stream()
-                .filter(c -> c.getActiva() && !c.getFechaLimite().isBefore(LocalDate.now()))
-                .toList();
+    public PageResponse<ConvocationResponse> listarConvocatoriasActivas(int page, int size, String orden) {
+        validarPagina(page, size);
 
-        if (convocatorias.isEmpty()) {
+        Page<Convocation> pagina = convocationRepository.findActivas(LocalDate.now(), PageRequest.of(page, size, ordenar(orden)));
+
+        if (pagina.getTotalElements() == 0) {
             throw new BusinessRuleException("Actualmente no hay convocatorias disponibles.");
         }
 
-        return convocatorias.stream()
+        List<ConvocationResponse> contenido = pagina.getContent().stream()
                 .map(ConvocationMapper::toResponse)
                 .toList();
+        return PageResponse.of(contenido, page, size, pagina.getTotalElements());
     }
 
-    @Transactional
-    public List<ConvocationResponse> listarConvocatoriasFavoritasPorUsuario(Long userId) {
-        User usuario = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado."));
+    private static Sort ordenar(String orden) {
+        return switch (orden == null ? ORDEN_FECHA_LIMITE : orden.toLowerCase()) {
+            case ORDEN_FECHA_LIMITE -> Sort.by(Sort.Order.asc("fechaLimite"), Sort.Order.asc("convocationId"));
+            case ORDEN_RECIENTES -> Sort.by(Sort.Order.desc("convocationId"));
+            case ORDEN_FAVORITOS -> Sort.by(Sort.Order.desc("favoritosCount"), Sort.Order.desc("convocationId"));
+            default -> throw new BadRequestException("Orden no válido. Use '" + ORDEN_FECHA_LIMITE + "', '"
+                    + ORDEN_RECIENTES + "' o '" + ORDEN_FAVORITOS + "'.");
+        };
+    }
+
+    private static void validarPagina(int page, int size) {
+        if (page < 0 || size < 1 || size > TAMANIO_PAGINA_MAXIMO) {
+            throw new BadRequestException("La página debe ser mayor o igual a 0 y el tamaño estar entre 1 y " + TAMANIO_PAGINA_MAXIMO + ".");
+        }
+    }
 
-        List<ConvocationFavorite> favoritos = convocationFavoriteRepository.findByUsuarioUserId(userId);
+    @Transactional
+    public PageResponse<ConvocationResponse> listarConvocatoriasFavoritasPorUsuario(Long userId, int page, int size) {
+        validarPagina(page, size);
 
-        List<Convocation> convocatoriasActivas = favoritos.stream()
-                .map(ConvocationFavorite::getConvocatoria)
-                .filter(c -> c.getActiva() && !c.getFechaLimite().isBefore(LocalDate.now()))
-                .toList();
+        Page<Convocation> favoritas = convocationFavoriteRepository.findFavoritasActivas(userId, LocalDate.now(), PageRequest.of(page, size));
 
-        if (convocatoriasActivas.isEmpty()) {
+        if (favoritas.getTotalElements() == 0) {
+            // El usuario sólo se consulta cuando no hay resultados, para distinguir el error
+            if (!userRepository.existsById(userId)) {
+                throw new ResourceNotFoundException("Usuario no encontrado.");
+            }
             throw new BusinessRuleException("No tienes convocatorias favoritas activas.");
         }
 
-        return convocatoriasActivas.stream()
+        List<ConvocationResponse> contenido = favoritas.getContent().stream()
                 .map(ConvocationMapper::toResponse)
                 .toList();
+        return PageResponse.of(contenido, page, size, favoritas.getTotalElements());
     }
 
     @Transactional
@@ -127,6 +157,7 @@ public class ConvocationService {
                 .build();
 
         convocationFavoriteRepository.save(favorita);
+        convocationRepository.incrementarFavoritos(convocatoria.getConvocationId());
 
         return Map.of("message", "Convocatoria marcada como favorita.");
     }
@@ -144,6 +175,7 @@ public class ConvocationService {
                 .orElseThrow(() -> new BusinessRuleException("Esta convocatoria no está marcada como favorita."));
 
         convocationFavoriteRepository.delete(favorita);
+        convocationRepository.decrementarFavoritos(convocatoria.getConvocationId());
 
         return Map.of("message", "Convocatoria removida de favoritas.");
     }
@@ -4,6 +4,8 @@ import com.api.musiconnect.dto.request.FollowRequest;
 import com.api.musiconnect.dto.request.UnfollowRequest;
 import com.api.musiconnect.dto.response.FollowResponse;
 import com.api.musiconnect.dto.response.FollowedProfileResponse;
+import com.api.musiconnect.dto.response.PageResponse;
+import com.api.musiconnect.exception.BadRequestException;
 import com.api.musiconnect.exception.BusinessRuleException;
 import com.api.musiconnect.exception.ResourceNotFoundException;
 import com.api.musiconnect.mapper.FollowMapper;
@@ -13,21 +15,35 @@ import com.api.musiconnect.model.entity.User;
 import com.api.musiconnect.repository.BandRepository;
 import com.api.musiconnect.repository.FollowRepository;
 import com.api.musiconnect.repository.UserRepository;
+import com.api.musiconnect.service.seguimiento.GrafoSeguimientos;
+import com.api.musiconnect.service.timeline.TimelineFanOutService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class FollowService {
 
+    private static final int TAMANIO_PAGINA_MAXIMO = 100;
+
     private final FollowRepository followRepository;
     private final UserRepository userRepository;
     private final BandRepository bandRepository;
+    private final GrafoSeguimientos grafoSeguimientos;
+    private final TimelineFanOutService timelineFanOutService;
 
     @Transactional
     public FollowResponse crearFollow(FollowRequest request) {
@@ -62,7 +78,13 @@ public class FollowService {
                     .fechaSeguimiento(LocalDateTime.now())
                     .build();
 
-            return FollowMapper.toResponse(followRepository.save(follow));
+            Follow guardado = guardarUnico(follow);
+            userRepository.incrementarSeguidores(request.followedUserId());
+            Transacciones.alConfirmar(() -> {
+                grafoSeguimientos.agregarUsuario(request.followerId(), request.followedUserId());
+                timelineFanOutService.invalidarBandeja(request.followerId());
+            });
+            return FollowMapper.toResponse(guardado);
         }
 
         if (followRepository.existsByFollowerUserIdAndFollowedBandBandId(request.followerId(), request.followedBandId())) {
@@ -78,7 +100,13 @@ public class FollowService {
                 .fechaSeguimiento(LocalDateTime.now())
                 .build();
 
-        return FollowMapper.toResponse(followRepository.save(follow));
+        Follow guardado = guardarUnico(follow);
+        bandRepository.incrementarSeguidores(request.followedBandId());
+        Transacciones.alConfirmar(() -> {
+            grafoSeguimientos.agregarBanda(request.followerId(), request.followedBandId());
+            timelineFanOutService.invalidarBandeja(request.followerId());
+        });
+        return FollowMapper.toResponse(guardado);
     }
 
     @Transactional
@@ -94,15 +122,7 @@ public class FollowService {
 
         return seguidos.stream().map(follow -> {
             if (follow.getFollowedUser() != null) {
-                User seguido = follow.getFollowedUser();
-                return new FollowedProfileResponse(
-                    seguido.getUserId(),
-                    seguido.getNombreArtistico(),
-                    "Usuario",
-                    seguido.getDisponibilidad(),
-                    seguido.getUbicacion(),
-                    null // Aquí puedes mapear imagen si la implementas
-                );
+                return FollowMapper.toProfileResponse(follow.getFollowedUser());
             } else {
                 Band banda = follow.getFollowedBand();
                 return new FollowedProfileResponse(
@@ -133,6 +153,8 @@ public class FollowService {
 
             nombrePerfil = follow.getFollowedUser().getNombreArtistico();
             followRepository.delete(follow);
+            userRepository.decrementarSeguidores(request.followedUserId());
+            Transacciones.alConfirmar(() -> grafoSeguimientos.quitarUsuario(request.followerId(), request.followedUserId()));
         } else {
             Follow follow = followRepository.findByFollowerUserIdAndFollowedBandBandId(
                     request.followerId(), request.followedBandId()
@@ -140,8 +162,96 @@ public class FollowService {
 
             nombrePerfil = follow.getFollowedBand().getNombre();
             followRepository.delete(follow);
+            bandRepository.decrementarSeguidores(request.followedBandId());
+            Transacciones.alConfirmar(() -> grafoSeguimientos.quitarBanda(request.followerId(), request.followedBandId()));
         }
+        Transacciones.alConfirmar(() -> timelineFanOutService.invalidarBandeja(request.followerId()));
 
         return Map.of("message", "Has dejado de seguir a " + nombrePerfil + ".");
     }
+
+    // Relaciones: se resuelven en el índice en memoria si está cargado, si no con consultas paginadas
+
+    public PageResponse<FollowedProfileResponse> listarSeguidores(Long userId, int page, int size) {
+        validarPagina(page, size);
+        Page<Long> ids = grafoSeguimientos.isDisponible()
+                ? pagina(grafoSeguimientos.seguidoresDeUsuario(userId), page, size)
+                : followRepository.findFollowerIdsByFollowedUserId(userId, PageRequest.of(page, size));
+        if (ids.getTotalElements() == 0 && !userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("Usuario no encontrado.");
+        }
+        return PageResponse.of(perfiles(ids.getContent()), page, size, ids.getTotalElements());
+    }
+
+    public PageResponse<FollowedProfileResponse> listarSeguidoresDeBanda(Long bandId, int page, int size) {
+        validarPagina(page, size);
+        Page<Long> ids = grafoSeguimientos.isDisponible()
+                ? pagina(grafoSeguimientos.seguidoresDeBanda(bandId), page, size)
+                : followRepository.findFollowerIdsByFollowedBandId(bandId, PageRequest.of(page, size));
+        if (ids.getTotalElements() == 0 && !bandRepository.existsById(bandId)) {
+            throw new ResourceNotFoundException("Banda no encontrada.");
+        }
+        return PageResponse.of(perfiles(ids.getContent()), page, size, ids.getTotalElements());
+    }
+
+    // Usuarios que el usuario sigue y que también lo siguen
+    public PageResponse<FollowedProfileResponse> listarMutuos(Long userId, int page, int size) {
+        validarPagina(page, size);
+        Page<Long> ids = grafoSeguimientos.isDisponible()
+                ? pagina(grafoSeguimientos.mutuos(userId), page, size)
+                : followRepository.findMutuosIds(userId, PageRequest.of(page, size));
+        if (ids.getTotalElements() == 0 && !userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("Usuario no encontrado.");
+        }
+        return PageResponse.of(perfiles(ids.getContent()), page, size, ids.getTotalElements());
+    }
+
+    // Personas seguidas por quienes sigue el usuario, de más a menos coincidencias
+    public List<FollowedProfileResponse> sugerirPerfiles(Long userId, int size) {
+        validarPagina(0, size);
+        List<Long> ids = grafoSeguimientos.isDisponible()
+                ? Arrays.stream(grafoSeguimientos.sugerencias(userId, size)).boxed().toList()
+                : followRepository.findSugerenciasIds(userId, PageRequest.of(0, size));
+        if (ids.isEmpty() && !userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("Usuario no encontrado.");
+        }
+        return perfiles(ids);
+    }
+
+    // La restricción única resuelve seguimientos concurrentes: sólo uno se inserta y suma al contador
+    private Follow guardarUnico(Follow follow) {
+        try {
+            return followRepository.saveAndFlush(follow);
+        } catch (DataIntegrityViolationException e) {
+            throw new BusinessRuleException("Ya sigues a este perfil.");
+        }
+    }
+
+    private static void validarPagina(int page, int size) {
+        if (page < 0 || size < 1 || size > TAMANIO_PAGINA_MAXIMO) {
+            throw new BadRequestException("La página debe ser mayor o igual a 0 y el tamaño estar entre 1 y " + TAMANIO_PAGINA_MAXIMO + ".");
+        }
+    }
+
+    private static Page<Long> pagina(long[] ids, int page, int size) {
+        long desde = (long) page * size;
+        List<Long> contenido = desde >= ids.length
+                ? List.of()
+                : Arrays.stream(ids, (int) desde, (int) Math.min(ids.length, desde + size)).boxed().toList();
+        return new PageImpl<>(contenido, PageRequest.of(page, size), ids.length);
+    }
+
+    // Carga los perfiles en una sola consulta y respeta el orden de los ids
+    private List<FollowedProfileResponse> perfiles(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, User> usuarios = userRepository.findAllWithRoleByUserIdIn(ids).stream()
+                .collect(Collectors.toMap(User::getUserId, Function.identity()));
+        return ids.stream()
+                .map(usuarios::get)
+                .filter(Objects::nonNull)
+                .map(FollowMapper::toProfileResponse)
+                .toList();
+    }
 }
@@ -4,23 +4,32 @@ import com.api.musiconnect.dto.request.ComentarioRequest;
 import com.api.musiconnect.dto.request.PostRequest;
 import com.api.musiconnect.dto.request.PostUpdateRequest;
 import com.api.musiconnect.dto.response.ComentarioResponse;
+import com.api.musiconnect.dto.response.CursorPageResponse;
 import com.api.musiconnect.dto.response.PostResponse;
+import com.api.musiconnect.exception.BadRequestException;
 import com.api.musiconnect.exception.BusinessRuleException;
 import com.api.musiconnect.exception.ResourceNotFoundException;
 import com.api.musiconnect.mapper.ComentarioMapper;
+import com.api.musiconnect.mapper.CursorMapper;
 import com.api.musiconnect.mapper.PostMapper;
 import com.api.musiconnect.model.entity.Comentario;
 import com.api.musiconnect.model.entity.Post;
 import com.api.musiconnect.model.entity.User;
 import com.api.musiconnect.repository.ComentarioRepository;
+import com.api.musiconnect.repository.FollowRepository;
 import com.api.musiconnect.repository.PostRepository;
 import com.api.musiconnect.repository.UserRepository;
+import com.api.musiconnect.service.timeline.TimelineFanOutService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -28,7 +37,24 @@ public class PostService {
 
     private final PostRepository postRepository;
     private final UserRepository userRepository;
+    private final FollowRepository followRepository;
     private final ComentarioRepository comentarioRepository;
+    private final TimelineFanOutService timelineFanOutService;
+    private final ComentarioHydrationService comentarioHydrationService;
+
+    private static final int TAMANIO_PAGINA_POR_DEFECTO = 20;
+    private static final int TAMANIO_PAGINA_MAXIMO = 100;
+
+    private static final CursorPageResponse<ComentarioResponse> SIN_COMENTARIOS =
+            new CursorPageResponse<>(List.of(), null, false);
+
+    // Cantidad de comentarios incluidos en cada PostResponse; el resto se pagina aparte
+    @Value("${musiconnect.posts.comentarios-por-post:3}")
+    private int comentariosPorPostEnRespuesta = 3;
+
+    // Límite de fan-in de la timeline: máximo de posts devueltos por solicitud
+    @Value("${musiconnect.timeline.max-size:50}")
+    private int timelineMaxSize = 50;
 
     @Transactional
     public PostResponse crearPost(PostRequest request) {
@@ -45,6 +71,7 @@ public class PostService {
 
         Post post = PostMapper.toEntity(request, usuario);
         postRepository.save(post);
+        Transacciones.alConfirmar(() -> timelineFanOutService.distribuir(post));
 
         return PostMapper.toResponse(post, List.of());
     }
@@ -61,19 +88,7 @@ public class PostService {
         post.setContenido(request.contenido());
         postRepository.save(post);
 
-        List<ComentarioResponse> comentarios = comentarioRepository.findByPost(post).stream()
-                .map(ComentarioMapper::toResponse)
-                .toList();
-
-        return new PostResponse(
-                post.getPostId(),
-                post.getContenido(),
-                post.getTipo().name(),
-                post.getFechaPublicacion(),
-                post.getUsuario().getNombreArtistico(),
-                comentarios,
-                "Publicación actualizada correctamente."
-        );
+        return PostMapper.toResponse(post, cargarComentarios(post), "Publicación actualizada correctamente.");
     }
 
     @Transactional
@@ -97,31 +112,81 @@ public class PostService {
                 .post(post)
                 .build();
 
-        return ComentarioMapper.toResponse(comentarioRepository.save(comentario));
+        ComentarioResponse response = ComentarioMapper.toResponse(comentarioRepository.save(comentario));
+        postRepository.incrementarComentarios(postId);
+        return response;
     }
     
-    public List<ComentarioResponse> listarComentarios(Long postId) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new ResourceNotFoundException("Publicación no encontrada."));
+    @Transactional
+    public CursorPageResponse<ComentarioResponse> listarComentarios(Long postId, String cursor, Integer size) {
+        if (!postRepository.existsById(postId)) {
+                throw new ResourceNotFoundException("Publicación no encontrada.");
+        }
+
+        int limite = normalizarTamanio(size);
+        CursorMapper.Cursor desde = CursorMapper.decode(cursor);
+
+        Pageable pageable = PageRequest.of(0, limite + 1);
+        List<Comentario> comentarios = desde == null
+                ? comentarioRepository.findPageByPostId(postId, pageable)
+                : comentarioRepository.findPageByPostIdAfter(postId, desde.fecha(), desde.id(), pageable);
 
-        return comentarioRepository.findByPost(post).stream()
+        boolean hayMas = comentarios.size() > limite;
+        List<ComentarioResponse> pagina = (hayMas ? comentarios.subList(0, limite) : comentarios).stream()
                 .map(ComentarioMapper::toResponse)
                 .toList();
+
+        String siguienteCursor = null;
+        if (hayMas) {
+                ComentarioResponse ultimo = pagina.get(pagina.size() - 1);
+                siguienteCursor = CursorMapper.encode(ultimo.fechaComentario(), ultimo.comentarioId());
+        }
+
+        return new CursorPageResponse<>(pagina, siguienteCursor, hayMas);
     }
 
 
         /* NUEVAS FUNCIONALIDADES PARA EL ACRONIMO CRUD */
 
-        // 1. Listar todos los posts
-        public List<PostResponse> listarTodosLosPosts() {
-        return postRepository.findAll().stream()
-                .map(post -> {
-                        List<ComentarioResponse> comentarios = comentarioRepository.findByPost(post).stream()
-                                .map(ComentarioMapper::toResponse)
-                                .toList();
-                        return PostMapper.toResponse(post, comentarios);
-                })
-                .toList();
+        // 1. Listar posts paginados por cursor (más recientes primero)
+        @Transactional
+        public CursorPageResponse<PostResponse> listarFeed(String cursor, Integer size) {
+        int limite = normalizarTamanio(size);
+        CursorMapper.Cursor desde = CursorMapper.decode(cursor);
+
+        // Se pide un elemento extra para saber si existe una página siguiente
+        Pageable pageable = PageRequest.of(0, limite + 1);
+        List<Post> posts = desde == null
+                ? postRepository.findFeed(pageable)
+                : postRepository.findFeedBefore(desde.fecha(), desde.id(), pageable);
+
+        return construirPagina(posts, limite);
+        }
+
+        // Timeline personalizada: posts de los perfiles (usuarios y bandas) que sigue el usuario
+        @Transactional
+        public CursorPageResponse<PostResponse> listarTimeline(Long userId, String cursor, Integer size) {
+        if (!userRepository.existsById(userId)) {
+                throw new ResourceNotFoundException("Usuario no encontrado.");
+        }
+
+        int limite = Math.min(normalizarTamanio(size), timelineMaxSize);
+        CursorMapper.Cursor desde = CursorMapper.decode(cursor);
+
+        // Modo fan-out: lectura desde la bandeja en memoria; si no aplica, consulta pull
+        Pageable pageable = PageRequest.of(0, limite + 1);
+        List<Post> posts = timelineFanOutService.leer(userId, desde, limite + 1)
+                .orElseGet(() -> {
+                        List<Long> autores = followRepository.findAutoresSeguidosIds(userId);
+                        if (autores.isEmpty()) {
+                                return List.of();
+                        }
+                        return desde == null
+                                ? postRepository.findTimeline(autores, pageable)
+                                : postRepository.findTimelineBefore(autores, desde.fecha(), desde.id(), pageable);
+                });
+
+        return construirPagina(posts, limite);
         }
 
         // 2. Obtener un post por ID
@@ -129,11 +194,7 @@ public class PostService {
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new ResourceNotFoundException("Publicación no encontrada."));
 
-        List<ComentarioResponse> comentarios = comentarioRepository.findByPost(post).stream()
-                .map(ComentarioMapper::toResponse)
-                .toList();
-
-        return PostMapper.toResponse(post, comentarios);
+        return PostMapper.toResponse(post, cargarComentarios(post));
         }
 
         // 3. Eliminar publicación
@@ -175,5 +236,43 @@ public class PostService {
         }
 
         comentarioRepository.delete(comentario);
+        postRepository.decrementarComentarios(comentario.getPost().getPostId());
+        }
+
+        // Recorta la página (se consultó limite + 1) y calcula el cursor siguiente
+        private CursorPageResponse<PostResponse> construirPagina(List<Post> posts, int limite) {
+        boolean hayMas = posts.size() > limite;
+        List<Post> pagina = hayMas ? posts.subList(0, limite) : posts;
+
+        Map<Long, CursorPageResponse<ComentarioResponse>> comentariosPorPost = comentarioHydrationService.cargarPorPosts(
+                pagina.stream().map(Post::getPostId).toList(), comentariosPorPostEnRespuesta);
+
+        List<PostResponse> contenido = pagina.stream()
+                .map(post -> PostMapper.toResponse(post,
+                        comentariosPorPost.getOrDefault(post.getPostId(), SIN_COMENTARIOS)))
+                .toList();
+
+        String siguienteCursor = null;
+        if (hayMas) {
+                Post ultimo = pagina.get(pagina.size() - 1);
+                siguienteCursor = CursorMapper.encode(ultimo.getFechaPublicacion(), ultimo.getPostId());
+        }
+
+        return new CursorPageResponse<>(contenido, siguienteCursor, hayMas);
+        }
+
+        private int normalizarTamanio(Integer size) {
+        if (size == null) {
+                return TAMANIO_PAGINA_POR_DEFECTO;
+        }
+        if (size < 1 || size > TAMANIO_PAGINA_MAXIMO) {
+                throw new BadRequestException("El tamaño de página debe estar entre 1 y " + TAMANIO_PAGINA_MAXIMO + ".");
+        }
+        return size;
+        }
+
+        private CursorPageResponse<ComentarioResponse> cargarComentarios(Post post) {
+        return comentarioHydrationService.cargarPorPosts(List.of(post.getPostId()), comentariosPorPostEnRespuesta)
+                .getOrDefault(post.getPostId(), SIN_COMENTARIOS);
         }
 }
@@ -0,0 +1,28 @@
+package com.api.musiconnect.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Efectos fuera de la base de datos (bandejas, índices en memoria) que sólo deben aplicarse si
+ * la transacción en curso se confirma: un rollback no debe dejarlos a medio aplicar.
+ */
+public final class Transacciones {
+
+    private Transacciones() {
+    }
+
+    // Ejecuta la acción después del commit, o de inmediato si no hay una transacción activa
+    public static void alConfirmar(Runnable accion) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accion.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accion.run();
+            }
+        });
+    }
+}
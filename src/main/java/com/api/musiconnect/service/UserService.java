@@ -2,29 +2,43 @@ package com.api.musiconnect.service;
 
 import com.api.musiconnect.dto.request.UserAvailabilityRequest;
 import com.api.musiconnect.dto.request.UserUpdateRequest;
+import com.api.musiconnect.dto.response.PageResponse;
+import com.api.musiconnect.exception.BadRequestException;
 import com.api.musiconnect.exception.BusinessRuleException;
 import com.api.musiconnect.exception.ResourceNotFoundException;
+import com.api.musiconnect.model.converter.GenerosMaskConverter;
 import com.api.musiconnect.model.entity.MusicGenre;
 import com.api.musiconnect.model.entity.User;
 import com.api.musiconnect.model.enums.MusicGenreEnum;
-import com.api.musiconnect.repository.MusicGenreRepository;
 import com.api.musiconnect.repository.UserRepository;
 import com.api.musiconnect.dto.response.UserResponse;
 import com.api.musiconnect.mapper.UserMapper;
+import com.api.musiconnect.security.EstadoCuentaCache;
+import com.api.musiconnect.service.genero.UsuariosPorGeneroIndex;
+import com.api.musiconnect.service.referencia.ReferenceDataCache;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
     private final UserRepository userRepository;
-    private final MusicGenreRepository musicGenreRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final EstadoCuentaCache estadoCuentaCache;
+    private final UsuariosPorGeneroIndex usuariosPorGeneroIndex;
 
+    private static final int TAMANIO_PAGINA_MAXIMO = 100;
 
     @Transactional
     public Map<String, String> updateUser(Long userId, UserUpdateRequest request) {
@@ -70,12 +84,14 @@ public class UserService {
                 throw new BusinessRuleException("Género musical inválido.");
             }
 
-            List<MusicGenre> generos = musicGenreRepository.findAllByNombreIn(generosEnum);
+            List<MusicGenre> generos = referenceDataCache.getGeneros(generosEnum);
             if (generos.size() != generosEnum.size()) {
                 throw new BusinessRuleException("Género musical inválido.");
             }
 
             usuario.setGenerosMusicales(generos);
+            usuario.setGenerosMask(GenerosMaskConverter.fromGeneros(generos));
+            Transacciones.alConfirmar(() -> usuariosPorGeneroIndex.actualizar(userId, generosEnum));
         }
 
         userRepository.save(usuario);
@@ -119,20 +135,44 @@ public class UserService {
         return UserMapper.toResponse(usuario);
     }
 
-    // 4. Obtener usuarios por género musical
-    public List<UserResponse> obtenerPorGeneroMusical(String genero) {
+    // 4. Obtener usuarios por género musical (paginado)
+    public PageResponse<UserResponse> obtenerPorGeneroMusical(String genero, int page, int size) {
         MusicGenreEnum generoEnum;
         try {
             generoEnum = MusicGenreEnum.valueOf(genero.toUpperCase());
         } catch (IllegalArgumentException e) {
             throw new BusinessRuleException("Género musical inválido.");
         }
+        if (page < 0 || size < 1 || size > TAMANIO_PAGINA_MAXIMO) {
+            throw new BadRequestException("La página debe ser mayor o igual a 0 y el tamaño estar entre 1 y " + TAMANIO_PAGINA_MAXIMO + ".");
+        }
+
+        // Con el índice en memoria no se consulta la BD; si no, join paginado sobre user_music_genre
+        List<Long> ids;
+        long total;
+        if (usuariosPorGeneroIndex.isDisponible()) {
+            ids = Arrays.stream(usuariosPorGeneroIndex.pagina(generoEnum, page, size)).boxed().toList();
+            total = usuariosPorGeneroIndex.contar(generoEnum);
+        } else {
+            Page<Long> pagina = userRepository.findIdsByGenero(generoEnum, PageRequest.of(page, size));
+            ids = pagina.getContent();
+            total = pagina.getTotalElements();
+        }
 
-        return userRepository.findAll().stream()
-                .filter(user -> user.getGenerosMusicales().stream()
-                        .anyMatch(g -> g.getNombre().equals(generoEnum)))
+        if (ids.isEmpty()) {
+            return PageResponse.of(List.of(), page, size, total);
+        }
+
+        Map<Long, User> usuarios = userRepository.findAllWithRoleByUserIdIn(ids).stream()
+                .collect(Collectors.toMap(User::getUserId, Function.identity()));
+
+        List<UserResponse> contenido = ids.stream()
+                .map(usuarios::get)
+                .filter(Objects::nonNull)
                 .map(UserMapper::toResponse)
                 .toList();
+
+        return PageResponse.of(contenido, page, size, total);
     }
 
     // 5. Eliminar usuario
@@ -142,6 +182,8 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado."));
 
         userRepository.delete(usuario);
+        Transacciones.alConfirmar(() -> usuariosPorGeneroIndex.eliminar(id));
+        estadoCuentaCache.revocar(id);
 
         return Map.of("message", "Usuario eliminado exitosamente.");
     }
@@ -0,0 +1,199 @@
+package com.api.musiconnect.service.ai;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Caché de respuestas del chat. La clave es la pregunta normalizada más el bloque de contexto
+ * con el que se responde (coincidencia exacta): el bloque sólo varía con los datos de la
+ * plataforma y los géneros de quien pregunta, así que una misma pregunta se comparte entre
+ * todos los usuarios con los mismos géneros mientras esos datos no cambian. Caffeine acota el
+ * tamaño (W-TinyLFU) y la vigencia de cada respuesta. Opcionalmente agrupa las llamadas
+ * concurrentes con la misma clave: sólo la primera va al modelo y las demás esperan su
+ * resultado. Los errores no se guardan.
+ */
+@Component
+public class ChatRespuestaCache {
+
+    private static final Pattern ESPACIOS = Pattern.compile("\\s+");
+    private static final Pattern PUNTUACION_BORDES = Pattern.compile("^[¿¡\\p{Punct}\\s]+|[?!.\\s]+$");
+
+    private record RespuestaCacheada(String respuesta, long latenciaNanos) {
+    }
+
+    private final boolean habilitada;
+    private final boolean agruparEnCurso;
+    private final Cache<String, RespuestaCacheada> respuestas;
+    private final ConcurrentMap<String, CompletableFuture<RespuestaCacheada>> enCurso = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter agrupadas;
+    private final Timer latenciaAhorrada;
+
+    public ChatRespuestaCache(MeterRegistry meterRegistry,
+                              @Value("${musiconnect.ai.cache.enabled:true}") boolean habilitada,
+                              @Value("${musiconnect.ai.cache.max-size:1000}") long maxEntradas,
+                              @Value("${musiconnect.ai.cache.ttl-seconds:3600}") long ttlSegundos,
+                              @Value("${musiconnect.ai.cache.coalescing:true}") boolean agruparEnCurso) {
+        this.habilitada = habilitada;
+        this.agruparEnCurso = agruparEnCurso;
+        this.respuestas = Caffeine.newBuilder()
+                .maximumSize(maxEntradas)
+                .expireAfterWrite(Duration.ofSeconds(ttlSegundos))
+                .build();
+
+        this.hits = contador(meterRegistry, "hit");
+        this.misses = contador(meterRegistry, "miss");
+        this.agrupadas = contador(meterRegistry, "agrupada");
+        this.latenciaAhorrada = Timer.builder("musiconnect.ai.cache.saved-latency")
+                .description("Latencia del modelo evitada por cada respuesta servida desde la caché")
+                .register(meterRegistry);
+        Gauge.builder("musiconnect.ai.cache.size", respuestas, Cache::estimatedSize)
+                .register(meterRegistry);
+    }
+
+    private static Counter contador(MeterRegistry registry, String resultado) {
+        return Counter.builder("musiconnect.ai.cache")
+                .description("Consultas a la caché de respuestas del chat")
+                .tag("resultado", resultado)
+                .register(registry);
+    }
+
+    private record Resuelta(String respuesta, boolean generadaAqui) {
+    }
+
+    /**
+     * Devuelve la respuesta guardada para la pregunta con ese contexto o la genera con
+     * {@code generador} y la guarda.
+     */
+    public String obtener(String pregunta, String contexto, Supplier<String> generador) {
+        return resolver(pregunta, contexto, generador).respuesta();
+    }
+
+    /**
+     * Variante en streaming de {@link #obtener}: si la respuesta está guardada (o la genera en
+     * ese momento otra llamada con la misma clave) se entrega completa como un único fragmento;
+     * si no, {@code generador} envía los fragmentos del modelo a {@code alRecibir} y la
+     * respuesta completa se guarda al terminar.
+     */
+    public void obtenerEnStream(String pregunta, String contexto,
+                                Consumer<Consumer<String>> generador, Consumer<String> alRecibir) {
+        Resuelta resuelta = resolver(pregunta, contexto, () -> {
+            StringBuilder completa = new StringBuilder();
+            generador.accept(fragmento -> {
+                completa.append(fragmento);
+                alRecibir.accept(fragmento);
+            });
+            return completa.toString();
+        });
+        if (!resuelta.generadaAqui()) {
+            alRecibir.accept(resuelta.respuesta());
+        }
+    }
+
+    private Resuelta resolver(String pregunta, String contexto, Supplier<String> generador) {
+        if (!habilitada) {
+            return new Resuelta(generador.get(), true);
+        }
+
+        String clave = clave(pregunta, contexto);
+        RespuestaCacheada cacheada = respuestas.getIfPresent(clave);
+        if (cacheada != null) {
+            return new Resuelta(servirDesdeCache(cacheada), false);
+        }
+
+        if (!agruparEnCurso) {
+            misses.increment();
+            return new Resuelta(generarYGuardar(clave, generador).respuesta(), true);
+        }
+
+        CompletableFuture<RespuestaCacheada> propio = new CompletableFuture<>();
+        CompletableFuture<RespuestaCacheada> existente = enCurso.putIfAbsent(clave, propio);
+        if (existente != null) {
+            agrupadas.increment();
+            return new Resuelta(esperar(existente).respuesta(), false);
+        }
+
+        try {
+            // Otra llamada pudo terminar entre la primera búsqueda y el registro en curso
+            cacheada = respuestas.getIfPresent(clave);
+            if (cacheada != null) {
+                propio.complete(cacheada);
+                return new Resuelta(servirDesdeCache(cacheada), false);
+            }
+            misses.increment();
+            RespuestaCacheada generada = generarYGuardar(clave, generador);
+            propio.complete(generada);
+            return new Resuelta(generada.respuesta(), true);
+        } catch (RuntimeException e) {
+            propio.completeExceptionally(e);
+            throw e;
+        } finally {
+            enCurso.remove(clave, propio);
+        }
+    }
+
+    public void invalidar() {
+        respuestas.invalidateAll();
+    }
+
+    /**
+     * Clave de la caché: Unicode NFKC, minúsculas, espacios colapsados y sin signos de
+     * puntuación al inicio o al final ("¿Cómo creo una banda?" == "cómo creo una banda").
+     */
+    public static String normalizar(String prompt) {
+        String texto = Normalizer.normalize(prompt, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        texto = ESPACIOS.matcher(texto).replaceAll(" ");
+        return PUNTUACION_BORDES.matcher(texto).replaceAll("");
+    }
+
+    private static String clave(String pregunta, String contexto) {
+        return normalizar(pregunta) + '\u0000' + contexto;
+    }
+
+    private String servirDesdeCache(RespuestaCacheada cacheada) {
+        hits.increment();
+        latenciaAhorrada.record(cacheada.latenciaNanos(), TimeUnit.NANOSECONDS);
+        return cacheada.respuesta();
+    }
+
+    private RespuestaCacheada generarYGuardar(String clave, Supplier<String> generador) {
+        long inicio = System.nanoTime();
+        String respuesta = generador.get();
+        RespuestaCacheada generada = new RespuestaCacheada(respuesta, System.nanoTime() - inicio);
+        if (respuesta != null) {
+            respuestas.put(clave, generada);
+        }
+        return generada;
+    }
+
+    private static RespuestaCacheada esperar(CompletableFuture<RespuestaCacheada> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+}
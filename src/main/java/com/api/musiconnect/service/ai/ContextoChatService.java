@@ -0,0 +1,197 @@
+package com.api.musiconnect.service.ai;
+
+import com.api.musiconnect.model.converter.GenerosMaskConverter;
+import com.api.musiconnect.model.enums.CollaborationStatus;
+import com.api.musiconnect.repository.BandRepository;
+import com.api.musiconnect.repository.CollaborationRepository;
+import com.api.musiconnect.repository.ConvocationRepository;
+import com.api.musiconnect.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Etapa de recuperación del chat: arma un bloque de contexto con datos de la plataforma
+ * relevantes para quien pregunta (convocatorias activas, colaboraciones abiertas y bandas de
+ * sus géneros) para incluirlo en el prompt. Cada sección sale de una consulta indexada y
+ * acotada; el bloque se recorta a un presupuesto de tokens. Como sólo depende de los géneros
+ * de quien pregunta, se guarda con TTL por máscara de géneros (no por usuario): los usuarios
+ * con los mismos géneros reciben el mismo bloque y, con él, comparten las respuestas de
+ * {@link ChatRespuestaCache}.
+ */
+@Service
+public class ContextoChatService {
+
+    // Aproximación habitual para texto en lenguaje natural
+    private static final int CARACTERES_POR_TOKEN = 4;
+    private static final int SIN_GENEROS = 0;
+    private static final List<CollaborationStatus> COLABORACIONES_ABIERTAS =
+            List.of(CollaborationStatus.PENDIENTE, CollaborationStatus.EN_PROGRESO);
+    private static final String ENCABEZADO = "Contexto de MusiConnect (datos actuales de la plataforma):\n";
+
+    private final ConvocationRepository convocationRepository;
+    private final CollaborationRepository collaborationRepository;
+    private final BandRepository bandRepository;
+    private final UserRepository userRepository;
+
+    private final boolean habilitado;
+    private final int maxTokens;
+    private final int maxPorSeccion;
+    private final Cache<Long, Integer> generosPorUsuario;
+    private final Cache<Integer, String> contextos;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer convocatoriasTimer;
+    private final Timer colaboracionesTimer;
+    private final Timer bandasTimer;
+    private final Timer compactacionTimer;
+
+    public ContextoChatService(ConvocationRepository convocationRepository,
+                               CollaborationRepository collaborationRepository,
+                               BandRepository bandRepository,
+                               UserRepository userRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${musiconnect.ai.context.enabled:true}") boolean habilitado,
+                               @Value("${musiconnect.ai.context.max-tokens:400}") int maxTokens,
+                               @Value("${musiconnect.ai.context.max-items:5}") int maxPorSeccion,
+                               @Value("${musiconnect.ai.context.ttl-seconds:60}") long ttlSegundos) {
+        this.convocationRepository = convocationRepository;
+        this.collaborationRepository = collaborationRepository;
+        this.bandRepository = bandRepository;
+        this.userRepository = userRepository;
+        this.habilitado = habilitado;
+        this.maxTokens = maxTokens;
+        this.maxPorSeccion = maxPorSeccion;
+        this.generosPorUsuario = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofSeconds(ttlSegundos))
+                .build();
+        this.contextos = Caffeine.newBuilder()
+                .maximumSize(1_000)
+                .expireAfterWrite(Duration.ofSeconds(ttlSegundos))
+                .build();
+
+        this.hits = contador(meterRegistry, "hit");
+        this.misses = contador(meterRegistry, "miss");
+        this.convocatoriasTimer = etapa(meterRegistry, "convocatorias");
+        this.colaboracionesTimer = etapa(meterRegistry, "colaboraciones");
+        this.bandasTimer = etapa(meterRegistry, "bandas");
+        this.compactacionTimer = etapa(meterRegistry, "compactacion");
+    }
+
+    private static Counter contador(MeterRegistry registry, String resultado) {
+        return Counter.builder("musiconnect.ai.context.cache")
+                .description("Consultas a la caché de contexto del chat")
+                .tag("resultado", resultado)
+                .register(registry);
+    }
+
+    private static Timer etapa(MeterRegistry registry, String etapa) {
+        return Timer.builder("musiconnect.ai.context.stage")
+                .description("Duración de cada etapa del armado de contexto del chat")
+                .tag("etapa", etapa)
+                .register(registry);
+    }
+
+    /**
+     * Devuelve el bloque de contexto para el usuario (vacío si no hay datos o si la etapa
+     * está deshabilitada). Sin usuario se omite la sección de bandas por género.
+     */
+    public String construir(Long userId) {
+        if (!habilitado) {
+            return "";
+        }
+
+        int mask = userId == null ? SIN_GENEROS : generosPorUsuario.get(userId,
+                id -> userRepository.findGenerosMaskByUserId(id).orElse(SIN_GENEROS));
+        String contexto = contextos.getIfPresent(mask);
+        if (contexto != null) {
+            hits.increment();
+            return contexto;
+        }
+
+        misses.increment();
+        contexto = armar(mask);
+        contextos.put(mask, contexto);
+        return contexto;
+    }
+
+    private String armar(int mask) {
+        Pageable limite = PageRequest.of(0, maxPorSeccion);
+
+        List<String> convocatorias = convocatoriasTimer.record(() ->
+                convocationRepository.findResumenActivas(LocalDate.now(), limite).stream()
+                        .map(c -> c.getTitulo() + " (cierra el " + c.getFechaLimite() + ")")
+                        .toList());
+        List<String> colaboraciones = colaboracionesTimer.record(() ->
+                collaborationRepository.findResumenByEstadoIn(COLABORACIONES_ABIERTAS, limite).stream()
+                        .map(c -> c.getTitulo() + " (" + c.getEstado() + ", termina el " + c.getFechaFin() + ")")
+                        .toList());
+        List<String> bandas = bandasTimer.record(() -> bandasDeGeneros(mask, limite));
+
+        return compactacionTimer.record(() -> compactar(List.of(
+                new Seccion("Convocatorias activas", convocatorias),
+                new Seccion("Colaboraciones abiertas", colaboraciones),
+                new Seccion("Bandas de tus géneros", bandas))));
+    }
+
+    private List<String> bandasDeGeneros(int mask, Pageable limite) {
+        if (mask == SIN_GENEROS) {
+            return List.of();
+        }
+        return bandRepository.findResumenByGenerosMask(mask, limite).stream()
+                .map(b -> b.getNombre() + " (" + GenerosMaskConverter.fromMask(b.getGenerosMask()).stream()
+                        .map(Enum::name)
+                        .collect(Collectors.joining(", ")) + ")")
+                .toList();
+    }
+
+    private record Seccion(String titulo, List<String> lineas) {
+    }
+
+    /**
+     * Une las secciones sin superar el presupuesto, tomando las filas por turnos (la primera
+     * de cada sección, luego la segunda...) para que ninguna sección acapare el bloque.
+     */
+    private String compactar(List<Seccion> secciones) {
+        int restante = maxTokens * CARACTERES_POR_TOKEN - ENCABEZADO.length();
+        List<StringBuilder> partes = new ArrayList<>();
+        secciones.forEach(s -> partes.add(new StringBuilder()));
+
+        boolean agrego = true;
+        for (int fila = 0; agrego; fila++) {
+            agrego = false;
+            for (int i = 0; i < secciones.size(); i++) {
+                Seccion seccion = secciones.get(i);
+                if (fila >= seccion.lineas().size()) {
+                    continue;
+                }
+                StringBuilder parte = partes.get(i);
+                String titulo = parte.isEmpty() ? seccion.titulo() + ":\n" : "";
+                String linea = "- " + seccion.lineas().get(fila) + "\n";
+                if (titulo.length() + linea.length() <= restante) {
+                    parte.append(titulo).append(linea);
+                    restante -= titulo.length() + linea.length();
+                    agrego = true;
+                }
+            }
+        }
+
+        StringBuilder bloque = new StringBuilder();
+        partes.forEach(bloque::append);
+        return bloque.isEmpty() ? "" : ENCABEZADO + bloque;
+    }
+}
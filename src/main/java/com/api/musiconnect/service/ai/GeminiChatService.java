@@ -1,42 +1,108 @@
 package com.api.musiconnect.service.ai;
 
+import com.api.musiconnect.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
 
-import com.google.genai.Client;
-import com.google.genai.types.GenerateContentResponse;
-
-import lombok.NonNull;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
- * Servicio de envoltura para invocar la Gemini API mediante API-Key.
- * <p>
- * Nota: la clave se inyecta desde application.properties como variable de entorno
- * {@code GEMINI_API_KEY}. Nunca debe ser comiteada en el repositorio.
+ * Servicio del chatbot de MusiConnect sobre el modelo Gemini.
+ * Ofrece la respuesta completa ({@link #chat}) o en fragmentos ({@link #chatEnStream}),
+ * midiendo el tiempo hasta el primer fragmento. Toda llamada al modelo pasa por
+ * {@link ProteccionModelo} (bulkhead, deadline y circuit breaker).
  */
 @Service
 public class GeminiChatService {
 
-    /**
-     * Cliente reutilizable y thread-safe para invocaciones a Gemini.
-     */
-    private final Client client;
+    private final GeminiClient client;
+    private final ChatRespuestaCache cache;
+    private final ContextoChatService contextoService;
+    private final ProteccionModelo proteccion;
+    private final AsyncTaskExecutor executor;
+    private final long streamTimeoutMs;
+    private final Timer primerFragmentoTimer;
+    private final Timer streamTimer;
 
-    public GeminiChatService(@Value("${gemini.api-key}") @NonNull String apiKey) {
-        this.client = Client.builder()
-                .apiKey(apiKey)
-                .build();
+    public GeminiChatService(GeminiClient client,
+                             ChatRespuestaCache cache,
+                             ContextoChatService contextoService,
+                             ProteccionModelo proteccion,
+                             @Qualifier("applicationTaskExecutor") AsyncTaskExecutor executor,
+                             MeterRegistry meterRegistry,
+                             @Value("${musiconnect.ai.stream.timeout-ms:120000}") long streamTimeoutMs) {
+        this.client = client;
+        this.cache = cache;
+        this.contextoService = contextoService;
+        this.proteccion = proteccion;
+        this.executor = executor;
+        this.streamTimeoutMs = streamTimeoutMs;
+        this.primerFragmentoTimer = Timer.builder("musiconnect.ai.time-to-first-token")
+                .description("Tiempo desde la solicitud hasta el primer fragmento de la respuesta")
+                .register(meterRegistry);
+        this.streamTimer = Timer.builder("musiconnect.ai.stream.duration")
+                .description("Duración total de una respuesta en streaming")
+                .register(meterRegistry);
     }
 
     /**
-     * Envía un mensaje al modelo Gemini y devuelve la respuesta de texto.
+     * Envía un mensaje al modelo Gemini, junto con el contexto de la plataforma para el
+     * usuario, y devuelve la respuesta de texto. Las preguntas repetidas con el mismo contexto
+     * se responden desde {@link ChatRespuestaCache}.
      *
      * @param prompt Consulta del usuario.
+     * @param userId Usuario que pregunta (puede ser null).
      * @return Respuesta generada por el modelo.
      */
-    public String chat(@NonNull String prompt) {
-        GenerateContentResponse rsp = client.models
-                .generateContent("gemini-2.5-flash", prompt, null);
-        return rsp.text();
+    public String chat(@NonNull String prompt, Long userId) {
+        String contexto = contextoService.construir(userId);
+        String completo = conContexto(prompt, contexto);
+        return cache.obtener(prompt, contexto, () -> proteccion.ejecutar(() -> client.generar(completo)));
+    }
+
+    /**
+     * Genera la respuesta en segundo plano y entrega cada fragmento a {@code alRecibir}
+     * a medida que llega; el hilo que llama queda libre de inmediato. Comparte la caché y la
+     * agrupación de llamadas en curso con {@link #chat}: una respuesta ya conocida llega
+     * completa en un solo fragmento.
+     *
+     * @param prompt    Consulta del usuario.
+     * @param userId    Usuario que pregunta (puede ser null).
+     * @param alRecibir Destino de cada fragmento (p. ej. un evento SSE).
+     * @return Futuro que se completa cuando el modelo termina (o falla).
+     */
+    public CompletableFuture<Void> chatEnStream(@NonNull String prompt, Long userId, @NonNull Consumer<String> alRecibir) {
+        long inicio = System.nanoTime();
+        try {
+            return CompletableFuture.runAsync(() -> {
+                String contexto = contextoService.construir(userId);
+                String completo = conContexto(prompt, contexto);
+                boolean[] primero = {true};
+                cache.obtenerEnStream(prompt, contexto,
+                        destino -> proteccion.ejecutarStream(() -> client.generarEnStream(completo, destino), streamTimeoutMs),
+                        fragmento -> {
+                            if (primero[0]) {
+                                primero[0] = false;
+                                primerFragmentoTimer.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+                            }
+                            alRecibir.accept(fragmento);
+                        });
+                streamTimer.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            }, executor);
+        } catch (TaskRejectedException e) {
+            throw new ServiceUnavailableException("El asistente está saturado. Intente nuevamente en unos segundos.");
+        }
+    }
+
+    private static String conContexto(String prompt, String contexto) {
+        return contexto.isEmpty() ? prompt : contexto + "\nPregunta del usuario: " + prompt;
     }
-} 
\ No newline at end of file
+}
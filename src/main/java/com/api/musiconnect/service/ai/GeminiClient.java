@@ -0,0 +1,21 @@
+package com.api.musiconnect.service.ai;
+
+import java.util.function.Consumer;
+
+/**
+ * Acceso al modelo generativo. La implementación real usa el SDK de Gemini
+ * ({@link GoogleGeminiClient}); los tests usan un cliente falso local.
+ */
+public interface GeminiClient {
+
+    /**
+     * Genera la respuesta completa para el prompt (bloqueante).
+     */
+    String generar(String prompt);
+
+    /**
+     * Genera la respuesta en fragmentos, entregando cada uno a {@code alRecibir} a medida
+     * que llegan. Bloquea hasta que el modelo termina.
+     */
+    void generarEnStream(String prompt, Consumer<String> alRecibir);
+}
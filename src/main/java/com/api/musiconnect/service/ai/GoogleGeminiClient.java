@@ -0,0 +1,52 @@
+package com.api.musiconnect.service.ai;
+
+import com.google.genai.Client;
+import com.google.genai.ResponseStream;
+import com.google.genai.types.GenerateContentResponse;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+/**
+ * Cliente de la Gemini API mediante API-Key.
+ * <p>
+ * Nota: la clave se inyecta desde application.properties como variable de entorno
+ * {@code GEMINI_API_KEY}. Nunca debe ser comiteada en el repositorio.
+ */
+@Component
+public class GoogleGeminiClient implements GeminiClient {
+
+    /**
+     * Cliente reutilizable y thread-safe para invocaciones a Gemini.
+     */
+    private final Client client;
+    private final String modelo;
+
+    public GoogleGeminiClient(@Value("${gemini.api-key}") @NonNull String apiKey,
+                              @Value("${gemini.model:gemini-2.5-flash}") String modelo) {
+        this.client = Client.builder()
+                .apiKey(apiKey)
+                .build();
+        this.modelo = modelo;
+    }
+
+    @Override
+    public String generar(String prompt) {
+        GenerateContentResponse rsp = client.models.generateContent(modelo, prompt, null);
+        return rsp.text();
+    }
+
+    @Override
+    public void generarEnStream(String prompt, Consumer<String> alRecibir) {
+        try (ResponseStream<GenerateContentResponse> stream = client.models.generateContentStream(modelo, prompt, null)) {
+            for (GenerateContentResponse fragmento : stream) {
+                String texto = fragmento.text();
+                if (texto != null && !texto.isEmpty()) {
+                    alRecibir.accept(texto);
+                }
+            }
+        }
+    }
+}
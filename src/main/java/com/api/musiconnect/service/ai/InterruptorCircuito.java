@@ -0,0 +1,146 @@
+package com.api.musiconnect.service.ai;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit breaker de las llamadas al modelo, sobre una ventana con las últimas N llamadas.
+ * Se abre cuando, con al menos {@code minimoLlamadas} en la ventana, el porcentaje de fallos
+ * o de llamadas lentas alcanza su umbral. Abierto rechaza todo durante {@code abiertoMs};
+ * luego pasa a semiabierto y deja pasar unas pocas llamadas de prueba: si todas salen bien
+ * se cierra, si alguna falla vuelve a abrirse.
+ */
+@Component
+public class InterruptorCircuito {
+
+    public enum Estado { CERRADO, ABIERTO, SEMI_ABIERTO }
+
+    private final int minimoLlamadas;
+    private final int tasaFallos;
+    private final int tasaLentas;
+    private final long lentaNanos;
+    private final long abiertoNanos;
+    private final int llamadasDePrueba;
+
+    // Ventana circular: true = fallo / lenta en esa posición
+    private final boolean[] fallos;
+    private final boolean[] lentas;
+    private int posicion;
+    private int registradas;
+    private int totalFallos;
+    private int totalLentas;
+
+    private Estado estado = Estado.CERRADO;
+    private long abiertoDesde;
+    private int pruebasEnCurso;
+    private int pruebasExitosas;
+
+    public InterruptorCircuito(@Value("${musiconnect.ai.circuit.window-size:20}") int tamanioVentana,
+                               @Value("${musiconnect.ai.circuit.min-calls:10}") int minimoLlamadas,
+                               @Value("${musiconnect.ai.circuit.failure-rate:50}") int tasaFallos,
+                               @Value("${musiconnect.ai.circuit.slow-call-ms:10000}") long lentaMs,
+                               @Value("${musiconnect.ai.circuit.slow-call-rate:80}") int tasaLentas,
+                               @Value("${musiconnect.ai.circuit.open-ms:30000}") long abiertoMs,
+                               @Value("${musiconnect.ai.circuit.half-open-calls:3}") int llamadasDePrueba) {
+        this.fallos = new boolean[tamanioVentana];
+        this.lentas = new boolean[tamanioVentana];
+        this.minimoLlamadas = Math.min(minimoLlamadas, tamanioVentana);
+        this.tasaFallos = tasaFallos;
+        this.tasaLentas = tasaLentas;
+        this.lentaNanos = TimeUnit.MILLISECONDS.toNanos(lentaMs);
+        this.abiertoNanos = TimeUnit.MILLISECONDS.toNanos(abiertoMs);
+        this.llamadasDePrueba = llamadasDePrueba;
+    }
+
+    /**
+     * Indica si la llamada puede hacerse. En semiabierto reserva un lugar de prueba, que se
+     * libera con {@link #registrarExito}, {@link #registrarFallo} o {@link #cancelar}.
+     */
+    public synchronized boolean permitir() {
+        if (estado == Estado.ABIERTO) {
+            if (System.nanoTime() - abiertoDesde < abiertoNanos) {
+                return false;
+            }
+            estado = Estado.SEMI_ABIERTO;
+            pruebasEnCurso = 0;
+            pruebasExitosas = 0;
+        }
+        if (estado == Estado.SEMI_ABIERTO) {
+            if (pruebasEnCurso >= llamadasDePrueba) {
+                return false;
+            }
+            pruebasEnCurso++;
+        }
+        return true;
+    }
+
+    /**
+     * Registra una llamada exitosa; con {@code duracionNanos} mayor al umbral cuenta como lenta.
+     * Las llamadas cuya duración no es comparable (p. ej. streaming) pasan 0.
+     */
+    public synchronized void registrarExito(long duracionNanos) {
+        registrar(false, duracionNanos >= lentaNanos);
+    }
+
+    public synchronized void registrarFallo() {
+        registrar(true, false);
+    }
+
+    // La llamada permitida no llegó a ejecutarse (p. ej. bulkhead lleno)
+    public synchronized void cancelar() {
+        if (estado == Estado.SEMI_ABIERTO && pruebasEnCurso > 0) {
+            pruebasEnCurso--;
+        }
+    }
+
+    public synchronized Estado getEstado() {
+        return estado;
+    }
+
+    private void registrar(boolean fallo, boolean lenta) {
+        if (estado == Estado.SEMI_ABIERTO) {
+            if (fallo || lenta) {
+                abrir();
+            } else if (++pruebasExitosas >= llamadasDePrueba) {
+                cerrar();
+            }
+            return;
+        }
+        if (estado == Estado.ABIERTO) {
+            return;
+        }
+
+        if (registradas == fallos.length) {
+            // Sale de la ventana la llamada más antigua
+            totalFallos -= fallos[posicion] ? 1 : 0;
+            totalLentas -= lentas[posicion] ? 1 : 0;
+        } else {
+            registradas++;
+        }
+        fallos[posicion] = fallo;
+        lentas[posicion] = lenta;
+        totalFallos += fallo ? 1 : 0;
+        totalLentas += lenta ? 1 : 0;
+        posicion = (posicion + 1) % fallos.length;
+
+        if (registradas >= minimoLlamadas
+                && (totalFallos * 100 >= tasaFallos * registradas || totalLentas * 100 >= tasaLentas * registradas)) {
+            abrir();
+        }
+    }
+
+    private void abrir() {
+        estado = Estado.ABIERTO;
+        abiertoDesde = System.nanoTime();
+    }
+
+    private void cerrar() {
+        estado = Estado.CERRADO;
+        posicion = 0;
+        registradas = 0;
+        totalFallos = 0;
+        totalLentas = 0;
+    }
+}
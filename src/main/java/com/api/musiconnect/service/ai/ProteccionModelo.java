@@ -0,0 +1,152 @@
+package com.api.musiconnect.service.ai;
+
+import com.api.musiconnect.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Protección de las llamadas al modelo remoto: bulkhead (máximo de llamadas en curso y cola
+ * de espera acotada), deadline por llamada y {@link InterruptorCircuito}. Cualquier rechazo
+ * se traduce en 503 inmediato, de modo que un upstream lento no retiene los hilos de las
+ * requests.
+ */
+@Component
+public class ProteccionModelo {
+
+    private static final String MENSAJE_SATURADO = "El asistente está saturado. Intente nuevamente en unos segundos.";
+    private static final String MENSAJE_NO_DISPONIBLE = "El asistente no está disponible en este momento. Intente nuevamente más tarde.";
+    private static final String MENSAJE_TIMEOUT = "El asistente tardó demasiado en responder. Intente nuevamente.";
+
+    private final InterruptorCircuito interruptor;
+    private final ThreadPoolExecutor executor;
+    private final long deadlineMs;
+
+    private final Counter exitos;
+    private final Counter errores;
+    private final Counter timeouts;
+    private final Counter rechazadas;
+    private final Counter cortocircuitadas;
+
+    public ProteccionModelo(InterruptorCircuito interruptor, MeterRegistry meterRegistry,
+                            @Value("${musiconnect.ai.bulkhead.max-concurrent:4}") int maxConcurrentes,
+                            @Value("${musiconnect.ai.bulkhead.queue-capacity:16}") int capacidadCola,
+                            @Value("${musiconnect.ai.timeout-ms:30000}") long deadlineMs) {
+        this.interruptor = interruptor;
+        this.deadlineMs = deadlineMs;
+
+        AtomicInteger numeroHilo = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxConcurrentes, maxConcurrentes, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadCola),
+                r -> {
+                    Thread hilo = new Thread(r, "gemini-" + numeroHilo.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.exitos = contador(meterRegistry, "exito");
+        this.errores = contador(meterRegistry, "error");
+        this.timeouts = contador(meterRegistry, "timeout");
+        this.rechazadas = contador(meterRegistry, "rechazada");
+        this.cortocircuitadas = contador(meterRegistry, "cortocircuito");
+        Gauge.builder("musiconnect.ai.circuit.state", interruptor, i -> i.getEstado().ordinal())
+                .description("Estado del circuit breaker: 0 cerrado, 1 abierto, 2 semiabierto")
+                .register(meterRegistry);
+        Gauge.builder("musiconnect.ai.bulkhead.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+        Gauge.builder("musiconnect.ai.bulkhead.queue.size", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+    }
+
+    private static Counter contador(MeterRegistry registry, String resultado) {
+        return Counter.builder("musiconnect.ai.calls")
+                .description("Llamadas al modelo por resultado")
+                .tag("resultado", resultado)
+                .register(registry);
+    }
+
+    /**
+     * Ejecuta una llamada con el deadline por defecto; su duración cuenta para el umbral de
+     * llamadas lentas del circuit breaker.
+     */
+    public <T> T ejecutar(Callable<T> llamada) {
+        return ejecutar(llamada, deadlineMs, true);
+    }
+
+    /**
+     * Ejecuta una respuesta en streaming con su propio deadline. Su duración depende del largo
+     * de la respuesta, así que no cuenta como llamada lenta.
+     */
+    public void ejecutarStream(Runnable llamada, long deadlineStreamMs) {
+        ejecutar(() -> {
+            llamada.run();
+            return null;
+        }, deadlineStreamMs, false);
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        executor.shutdownNow();
+    }
+
+    private <T> T ejecutar(Callable<T> llamada, long deadline, boolean medirLentitud) {
+        if (!interruptor.permitir()) {
+            cortocircuitadas.increment();
+            throw new ServiceUnavailableException(MENSAJE_NO_DISPONIBLE);
+        }
+
+        long inicio = System.nanoTime();
+        Future<T> futuro;
+        try {
+            futuro = executor.submit(llamada);
+        } catch (RejectedExecutionException e) {
+            interruptor.cancelar();
+            rechazadas.increment();
+            throw new ServiceUnavailableException(MENSAJE_SATURADO);
+        }
+
+        try {
+            T resultado = futuro.get(deadline, TimeUnit.MILLISECONDS);
+            interruptor.registrarExito(medirLentitud ? System.nanoTime() - inicio : 0);
+            exitos.increment();
+            return resultado;
+        } catch (TimeoutException e) {
+            futuro.cancel(true);
+            interruptor.registrarFallo();
+            timeouts.increment();
+            throw new ServiceUnavailableException(MENSAJE_TIMEOUT);
+        } catch (InterruptedException e) {
+            futuro.cancel(true);
+            interruptor.cancelar();
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException(MENSAJE_SATURADO);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException desconexion) {
+                // El cliente HTTP cortó el stream: no es un fallo del modelo
+                interruptor.cancelar();
+                throw desconexion;
+            }
+            interruptor.registrarFallo();
+            errores.increment();
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
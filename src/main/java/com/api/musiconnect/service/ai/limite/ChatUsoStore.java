@@ -0,0 +1,28 @@
+package com.api.musiconnect.service.ai.limite;
+
+/**
+ * Estado compartido del límite de uso del chat por usuario: un token bucket de solicitudes y
+ * el total de bytes (prompts y respuestas) en una ventana deslizante. La implementación
+ * por defecto vive en memoria ({@link ChatUsoStoreEnMemoria}); con varias instancias de la API
+ * se reemplaza por una sobre un almacén compartido eligiendo otro
+ * {@code musiconnect.ai.rate-limit.store}.
+ */
+public interface ChatUsoStore {
+
+    /**
+     * Intenta tomar un token del bucket del usuario.
+     *
+     * @return 0 si la solicitud se admite; si no, los milisegundos hasta el próximo token.
+     */
+    long reservar(Long userId);
+
+    /**
+     * Suma bytes al uso del usuario en la ventana actual.
+     */
+    void registrarBytes(Long userId, long bytes);
+
+    /**
+     * Bytes usados por el usuario dentro de la ventana deslizante.
+     */
+    long bytesEnVentana(Long userId);
+}
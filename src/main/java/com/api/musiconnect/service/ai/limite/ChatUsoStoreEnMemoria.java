@@ -0,0 +1,78 @@
+package com.api.musiconnect.service.ai.limite;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link ChatUsoStore} local a la instancia. El token bucket usa GCRA: un único
+ * {@link AtomicLong} por usuario guarda el instante teórico en que el bucket vuelve a estar
+ * lleno y se actualiza con CAS, sin locks. Los usuarios inactivos se descartan solos.
+ */
+@Component
+@ConditionalOnProperty(name = "musiconnect.ai.rate-limit.store", havingValue = "memoria", matchIfMissing = true)
+public class ChatUsoStoreEnMemoria implements ChatUsoStore {
+
+    private static final int FRANJAS_POR_VENTANA = 12;
+
+    private final long intervaloNanos;
+    private final long capacidadNanos;
+    private final long ventanaMs;
+    private final Cache<Long, Uso> usos;
+
+    private final class Uso {
+        // Instante (System.nanoTime) en que el bucket estaría lleno de nuevo
+        final AtomicLong llenoEn = new AtomicLong(System.nanoTime());
+        final VentanaDeslizante bytes = new VentanaDeslizante(ventanaMs, FRANJAS_POR_VENTANA);
+    }
+
+    public ChatUsoStoreEnMemoria(@Value("${musiconnect.ai.rate-limit.requests-per-minute:20}") int solicitudesPorMinuto,
+                                 @Value("${musiconnect.ai.rate-limit.burst:5}") int rafaga,
+                                 @Value("${musiconnect.ai.rate-limit.window-seconds:3600}") long ventanaSegundos) {
+        this.intervaloNanos = TimeUnit.MINUTES.toNanos(1) / solicitudesPorMinuto;
+        this.capacidadNanos = intervaloNanos * rafaga;
+        this.ventanaMs = TimeUnit.SECONDS.toMillis(ventanaSegundos);
+        this.usos = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMillis(Math.max(ventanaMs, TimeUnit.NANOSECONDS.toMillis(capacidadNanos))))
+                .maximumSize(100_000)
+                .build();
+    }
+
+    @Override
+    public long reservar(Long userId) {
+        AtomicLong llenoEn = uso(userId).llenoEn;
+        while (true) {
+            long ahora = System.nanoTime();
+            long actual = llenoEn.get();
+            long nuevo = (actual - ahora > 0 ? actual : ahora) + intervaloNanos;
+            long exceso = (nuevo - ahora) - capacidadNanos;
+            if (exceso > 0) {
+                return Math.max(1, TimeUnit.NANOSECONDS.toMillis(exceso));
+            }
+            if (llenoEn.compareAndSet(actual, nuevo)) {
+                return 0;
+            }
+        }
+    }
+
+    @Override
+    public void registrarBytes(Long userId, long bytes) {
+        uso(userId).bytes.sumar(System.currentTimeMillis(), bytes);
+    }
+
+    @Override
+    public long bytesEnVentana(Long userId) {
+        Uso uso = usos.getIfPresent(userId);
+        return uso == null ? 0 : uso.bytes.total(System.currentTimeMillis());
+    }
+
+    private Uso uso(Long userId) {
+        return usos.get(userId, id -> new Uso());
+    }
+}
@@ -0,0 +1,43 @@
+package com.api.musiconnect.service.ai.limite;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Suma sobre una ventana deslizante dividida en franjas de igual duración. Cada franja
+ * guarda su época (número de franja desde el epoch) y se reinicia al reutilizarse, sin locks.
+ * Una escritura concurrente con el reinicio de su franja puede perderse: la cuenta es
+ * aproximada, suficiente para un límite de uso.
+ */
+final class VentanaDeslizante {
+
+    private final long duracionFranjaMs;
+    private final AtomicLongArray totales;
+    private final AtomicLongArray epocas;
+
+    VentanaDeslizante(long duracionVentanaMs, int franjas) {
+        this.duracionFranjaMs = Math.max(1, duracionVentanaMs / franjas);
+        this.totales = new AtomicLongArray(franjas);
+        this.epocas = new AtomicLongArray(franjas);
+    }
+
+    void sumar(long ahoraMs, long valor) {
+        long epoca = ahoraMs / duracionFranjaMs;
+        int indice = (int) (epoca % totales.length());
+        long anterior = epocas.get(indice);
+        if (anterior != epoca && epocas.compareAndSet(indice, anterior, epoca)) {
+            totales.set(indice, 0);
+        }
+        totales.addAndGet(indice, valor);
+    }
+
+    long total(long ahoraMs) {
+        long epoca = ahoraMs / duracionFranjaMs;
+        long total = 0;
+        for (int i = 0; i < totales.length(); i++) {
+            if (epoca - epocas.get(i) < totales.length()) {
+                total += totales.get(i);
+            }
+        }
+        return total;
+    }
+}
@@ -9,10 +9,12 @@ import com.api.musiconnect.model.enums.MusicGenreEnum;
 import com.api.musiconnect.repository.*;
 import com.api.musiconnect.security.JwtUtil;
 import com.api.musiconnect.mapper.UserMapper;
+import com.api.musiconnect.service.Transacciones;
+import com.api.musiconnect.service.genero.UsuariosPorGeneroIndex;
+import com.api.musiconnect.service.referencia.ReferenceDataCache;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -22,10 +24,10 @@ import java.util.List;
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
-    private final MusicGenreRepository musicGenreRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final ReferenceDataCache referenceDataCache;
+    private final PasswordHashingService passwordHashingService;
     private final JwtUtil jwtUtil;
+    private final UsuariosPorGeneroIndex usuariosPorGeneroIndex;
 
     @Transactional
     public LoginResponse register(UserRequest request) {
@@ -33,7 +35,7 @@ public class AuthService {
             throw new BusinessRuleException("Ya existe un perfil registrado con este correo.");
         }
 
-        Role role = roleRepository.findById(request.roleId())
+        Role role = referenceDataCache.findRol(request.roleId())
                 .orElseThrow(() -> new BusinessRuleException("Rol no encontrado."));
 
         if (!role.getName().name().equals("MUSICO") && !role.getName().name().equals("PRODUCTOR")) {
@@ -52,7 +54,7 @@ public class AuthService {
                 throw new BusinessRuleException("Género musical inválido.");
             }
 
-            generos = musicGenreRepository.findAllByNombreIn(generosEnum);
+            generos = referenceDataCache.getGeneros(generosEnum);
 
             if (generos.size() != generosEnum.size()) {
                 throw new BusinessRuleException("Género musical inválido.");
@@ -60,12 +62,14 @@ public class AuthService {
         }
 
         var user = UserMapper.toEntity(request, role, generos);
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setPassword(passwordHashingService.hash(user.getPassword()));
         if (user.getDisponibilidad() == null) user.setDisponibilidad(true); // Se pone disponible por defecto
 
         userRepository.save(user);
+        List<MusicGenreEnum> generosUsuario = generos.stream().map(MusicGenre::getNombre).toList();
+        Transacciones.alConfirmar(() -> usuariosPorGeneroIndex.actualizar(user.getUserId(), generosUsuario));
 
-        String token = jwtUtil.generateToken(user.getEmail(), role.getName().name());
+        String token = jwtUtil.generateToken(user.getEmail(), role.getName().name(), user.getUserId());
         return new LoginResponse("Registro exitoso", user.getUserId(), user.getNombreArtistico(), token);
     }
 
@@ -74,11 +78,17 @@ public class AuthService {
         User user = userRepository.findByEmail(request.email())
                 .orElseThrow(() -> new BusinessRuleException("Credenciales inválidas (El email no existe)."));
 
-        if (!passwordEncoder.matches(request.password(), user.getPassword())) {
+        if (!passwordHashingService.matches(request.password(), user.getPassword())) {
             throw new BusinessRuleException("Credenciales inválidas (La contraseña es incorrecta).");
         }
 
-        String token = jwtUtil.generateToken(user.getEmail(), user.getRole().getName().name());
+        // Rehash transparente si el hash guardado usa un costo menor al configurado
+        if (passwordHashingService.necesitaRehash(user.getPassword())) {
+            user.setPassword(passwordHashingService.hash(request.password()));
+            userRepository.save(user);
+        }
+
+        String token = jwtUtil.generateToken(user.getEmail(), user.getRole().getName().name(), user.getUserId());
         return new LoginResponse("Login exitoso", user.getUserId(), user.getNombreArtistico(), token);
     }
 }
@@ -0,0 +1,172 @@
+package com.api.musiconnect.service.auth;
+
+import com.api.musiconnect.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hash y verificación de contraseñas (BCrypt) fuera del hilo de la request, en un pool
+ * acotado con cola limitada: si la cola se llena o la espera supera el timeout se responde
+ * 503 de inmediato en lugar de dejar que una ráfaga de logins consuma todo el CPU.
+ * El costo de BCrypt es fijo por configuración (igual en todos los nodos); la calibración al
+ * arrancar según un tiempo objetivo es opcional.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final String MENSAJE_SATURADO = "El servicio de autenticación está saturado. Intente nuevamente en unos segundos.";
+    private static final int COSTO_MINIMO = 10;
+    private static final int COSTO_MAXIMO = 16;
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+    private final int costo;
+    private final BCryptPasswordEncoder encoder;
+
+    private final Timer hashTimer;
+    private final Timer verificacionTimer;
+    private final Timer esperaEnColaTimer;
+    private final Counter rechazos;
+
+    public PasswordHashingService(MeterRegistry meterRegistry,
+                                  @Value("${musiconnect.security.password-hashing.threads:2}") int hilos,
+                                  @Value("${musiconnect.security.password-hashing.queue-capacity:32}") int capacidadCola,
+                                  @Value("${musiconnect.security.password-hashing.timeout-ms:5000}") long timeoutMs,
+                                  @Value("${musiconnect.security.password-hashing.cost:10}") int costoFijo,
+                                  @Value("${musiconnect.security.password-hashing.calibrate:false}") boolean calibrar,
+                                  @Value("${musiconnect.security.password-hashing.target-ms:250}") long objetivoMs) {
+        this.timeoutMs = timeoutMs;
+        // Calibrar depende del hardware y de una sola medición: cada nodo (y cada reinicio) puede
+        // obtener un costo distinto, por eso sólo se usa si se habilita explícitamente
+        this.costo = calibrar ? calibrarCosto(objetivoMs) : costoFijo;
+        this.encoder = new BCryptPasswordEncoder(costo);
+
+        AtomicInteger numeroHilo = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(hilos, hilos, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadCola),
+                r -> {
+                    Thread hilo = new Thread(r, "password-hashing-" + numeroHilo.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.hashTimer = Timer.builder("musiconnect.password.hash")
+                .description("Duración del cálculo BCrypt")
+                .tag("operacion", "hash")
+                .register(meterRegistry);
+        this.verificacionTimer = Timer.builder("musiconnect.password.hash")
+                .description("Duración del cálculo BCrypt")
+                .tag("operacion", "verificacion")
+                .register(meterRegistry);
+        this.esperaEnColaTimer = Timer.builder("musiconnect.password.queue.wait")
+                .description("Tiempo de espera en cola antes de calcular el hash")
+                .register(meterRegistry);
+        this.rechazos = Counter.builder("musiconnect.password.rejected")
+                .description("Solicitudes rechazadas con 503 por saturación")
+                .register(meterRegistry);
+        Gauge.builder("musiconnect.password.queue.size", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+    }
+
+    public String hash(String password) {
+        return ejecutar(() -> hashTimer.recordCallable(() -> encoder.encode(password)));
+    }
+
+    public boolean matches(String password, String hashGuardado) {
+        return ejecutar(() -> verificacionTimer.recordCallable(() -> encoder.matches(password, hashGuardado)));
+    }
+
+    // El hash guardado usa un costo menor al configurado: conviene recalcularlo en el login.
+    // Un costo mayor no se rebaja, así nodos con configuraciones distintas no se alternan el rehash
+    public boolean necesitaRehash(String hashGuardado) {
+        return costoDe(hashGuardado) < costo;
+    }
+
+    public int getCosto() {
+        return costo;
+    }
+
+    /**
+     * Ejecuta la tarea en el pool de hashing. Lanza {@link ServiceUnavailableException}
+     * si la cola está llena o si no termina dentro del timeout.
+     */
+    public <T> T ejecutar(Callable<T> tarea) {
+        long encolado = System.nanoTime();
+        Future<T> futuro;
+        try {
+            futuro = executor.submit(() -> {
+                esperaEnColaTimer.record(System.nanoTime() - encolado, TimeUnit.NANOSECONDS);
+                return tarea.call();
+            });
+        } catch (RejectedExecutionException e) {
+            rechazos.increment();
+            throw new ServiceUnavailableException(MENSAJE_SATURADO);
+        }
+
+        try {
+            return futuro.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            futuro.cancel(true);
+            rechazos.increment();
+            throw new ServiceUnavailableException(MENSAJE_SATURADO);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException(MENSAJE_SATURADO);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        executor.shutdownNow();
+    }
+
+    // Formato BCrypt: $2a$NN$... donde NN es el costo (log2 de las rondas)
+    private static int costoDe(String hash) {
+        if (hash == null || hash.length() < 7 || hash.charAt(0) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(hash.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // Mayor costo cuyo tiempo medido no supera el objetivo (cada +1 duplica el tiempo)
+    private static int calibrarCosto(long objetivoMs) {
+        int costo = COSTO_MINIMO;
+        BCryptPasswordEncoder referencia = new BCryptPasswordEncoder(costo);
+        referencia.encode("calentamiento"); // descarta la primera medición (JIT en frío)
+        long inicio = System.nanoTime();
+        referencia.encode("calibracion");
+        double duracionMs = (System.nanoTime() - inicio) / 1_000_000.0;
+
+        while (costo < COSTO_MAXIMO && duracionMs * 2 <= objetivoMs) {
+            costo++;
+            duracionMs *= 2;
+        }
+        return costo;
+    }
+}
@@ -0,0 +1,141 @@
+package com.api.musiconnect.service.banda;
+
+import com.api.musiconnect.dto.response.PopularBandResponse;
+import com.api.musiconnect.mapper.BandMapper;
+import com.api.musiconnect.model.converter.GenerosMaskConverter;
+import com.api.musiconnect.model.enums.MusicGenreEnum;
+import com.api.musiconnect.repository.BandRepository;
+import com.api.musiconnect.repository.projection.BandaPopular;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Ranking en memoria de las bandas con más seguidores, general y por género. Se reconstruye
+ * periódicamente recorriendo una sola vez las bandas en orden de seguidores (por tramos, sobre
+ * idx_bands_seguidores) y repartiendo cada una en los géneros de su máscara hasta que todas las
+ * listas tienen K; se publica como una instantánea inmutable, así las lecturas no bloquean ni
+ * tocan la base de datos y cuestan O(K).
+ */
+@Component
+public class RankingBandas {
+
+    private static final MusicGenreEnum[] GENEROS = MusicGenreEnum.values();
+    private static final int LOTE = 500;
+
+    private final BandRepository bandRepository;
+    private final boolean habilitado;
+    private final int tamanio;
+    private final Timer reconstruccion;
+
+    private final AtomicReference<Instantanea> instantanea = new AtomicReference<>(Instantanea.VACIA);
+    private volatile boolean listo;
+
+    public RankingBandas(BandRepository bandRepository, MeterRegistry meterRegistry,
+                         @Value("${musiconnect.bands.ranking.enabled:true}") boolean habilitado,
+                         @Value("${musiconnect.bands.ranking.size:50}") int tamanio) {
+        this.bandRepository = bandRepository;
+        this.habilitado = habilitado;
+        this.tamanio = tamanio;
+        this.reconstruccion = Timer.builder("musiconnect.bands.ranking.rebuild")
+                .description("Duración de cada reconstrucción del ranking de bandas")
+                .register(meterRegistry);
+    }
+
+    // Listas ya ordenadas por seguidores; se reemplazan completas en cada reconstrucción
+    private record Instantanea(List<PopularBandResponse> general, Map<MusicGenreEnum, List<PopularBandResponse>> porGenero) {
+        static final Instantanea VACIA = new Instantanea(List.of(), Map.of());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargarAlIniciar() {
+        if (habilitado) {
+            reconstruir();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${musiconnect.bands.ranking.refresh-ms:60000}",
+            initialDelayString = "${musiconnect.bands.ranking.refresh-ms:60000}")
+    public void programado() {
+        if (habilitado) {
+            reconstruir();
+        }
+    }
+
+    public void reconstruir() {
+        reconstruccion.record(() -> {
+            List<PopularBandResponse> general = new ArrayList<>(tamanio);
+            Map<MusicGenreEnum, List<PopularBandResponse>> porGenero = new EnumMap<>(MusicGenreEnum.class);
+            // Géneros cuya lista ya tiene K bandas; el recorrido termina cuando están todos
+            int completos = 0;
+            int todos = -1 >>> (Integer.SIZE - GENEROS.length);
+
+            List<BandaPopular> tramo = bandRepository.findMasSeguidas(0, PageRequest.of(0, LOTE));
+            while (!tramo.isEmpty()) {
+                for (BandaPopular banda : tramo) {
+                    int pendientes = banda.getGenerosMask() == null ? 0 : banda.getGenerosMask() & ~completos;
+                    if (general.size() >= tamanio && pendientes == 0) {
+                        continue;
+                    }
+                    PopularBandResponse respuesta = BandMapper.toResponse(banda);
+                    if (general.size() < tamanio) {
+                        general.add(respuesta);
+                    }
+                    for (int restante = pendientes; restante != 0; restante &= restante - 1) {
+                        MusicGenreEnum genero = GENEROS[Integer.numberOfTrailingZeros(restante)];
+                        List<PopularBandResponse> bandas = porGenero.computeIfAbsent(genero, g -> new ArrayList<>(tamanio));
+                        bandas.add(respuesta);
+                        if (bandas.size() >= tamanio) {
+                            completos |= GenerosMaskConverter.bit(genero);
+                        }
+                    }
+                }
+                if (tramo.size() < LOTE || (general.size() >= tamanio && completos == todos)) {
+                    break;
+                }
+                BandaPopular ultima = tramo.get(tramo.size() - 1);
+                if (ultima.getSeguidoresCount() == null) {
+                    // Contador aún sin inicializar: no hay cursor con el que seguir el recorrido
+                    break;
+                }
+                tramo = bandRepository.findMasSeguidasDespuesDe(ultima.getSeguidoresCount(), ultima.getBandId(),
+                        PageRequest.of(0, LOTE));
+            }
+
+            porGenero.replaceAll((genero, bandas) -> List.copyOf(bandas));
+            instantanea.set(new Instantanea(List.copyOf(general), porGenero));
+            listo = true;
+        });
+    }
+
+    public boolean isDisponible() {
+        return habilitado && listo;
+    }
+
+    public int getTamanio() {
+        return tamanio;
+    }
+
+    /**
+     * Las {@code limite} bandas con más seguidores (como máximo el tamaño del ranking); con
+     * {@code genero} null devuelve el ranking general.
+     */
+    public List<PopularBandResponse> top(MusicGenreEnum genero, int limite) {
+        Instantanea actual = instantanea.get();
+        List<PopularBandResponse> bandas = genero == null
+                ? actual.general()
+                : actual.porGenero().getOrDefault(genero, List.of());
+        return bandas.subList(0, Math.min(Math.max(limite, 0), bandas.size()));
+    }
+}
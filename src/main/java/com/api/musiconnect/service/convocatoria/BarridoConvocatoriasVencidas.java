@@ -0,0 +1,130 @@
+package com.api.musiconnect.service.convocatoria;
+
+import com.api.musiconnect.repository.ConvocationArchivoRepository;
+import com.api.musiconnect.repository.ConvocationFavoriteRepository;
+import com.api.musiconnect.repository.ConvocationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tarea programada que desactiva las convocatorias cuya fecha límite ya pasó, por lotes y con
+ * una transacción corta por lote. Con el archivo habilitado, además las copia a
+ * convocations_archivo y las quita de la tabla principal (junto con sus favoritos), de modo
+ * que las consultas de convocatorias activas recorren sólo el conjunto vigente. Cada lote se
+ * reclama con {@code FOR UPDATE SKIP LOCKED}, así que varias instancias pueden barrer a la vez
+ * sin tomar las mismas filas.
+ */
+@Component
+public class BarridoConvocatoriasVencidas {
+
+    private final ConvocationRepository convocationRepository;
+    private final ConvocationFavoriteRepository convocationFavoriteRepository;
+    private final ConvocationArchivoRepository convocationArchivoRepository;
+    private final TransactionTemplate transaccion;
+
+    private final boolean habilitado;
+    private final boolean archivar;
+    private final int tamanioLote;
+    private final int maxLotes;
+
+    private final Counter desactivadas;
+    private final Counter archivadas;
+    private final Timer duracion;
+    private final AtomicBoolean enCurso = new AtomicBoolean();
+
+    public BarridoConvocatoriasVencidas(ConvocationRepository convocationRepository,
+                                        ConvocationFavoriteRepository convocationFavoriteRepository,
+                                        ConvocationArchivoRepository convocationArchivoRepository,
+                                        TransactionTemplate transaccion,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${musiconnect.convocations.sweeper.enabled:true}") boolean habilitado,
+                                        @Value("${musiconnect.convocations.sweeper.archive:false}") boolean archivar,
+                                        @Value("${musiconnect.convocations.sweeper.batch-size:500}") int tamanioLote,
+                                        @Value("${musiconnect.convocations.sweeper.max-batches:100}") int maxLotes) {
+        this.convocationRepository = convocationRepository;
+        this.convocationFavoriteRepository = convocationFavoriteRepository;
+        this.convocationArchivoRepository = convocationArchivoRepository;
+        this.transaccion = transaccion;
+        this.habilitado = habilitado;
+        this.archivar = archivar;
+        this.tamanioLote = tamanioLote;
+        this.maxLotes = maxLotes;
+        this.desactivadas = barridas(meterRegistry, "desactivada");
+        this.archivadas = barridas(meterRegistry, "archivada");
+        this.duracion = Timer.builder("musiconnect.convocations.sweep.duration")
+                .description("Duración de cada barrido de convocatorias vencidas")
+                .register(meterRegistry);
+    }
+
+    private static Counter barridas(MeterRegistry registry, String accion) {
+        return Counter.builder("musiconnect.convocations.swept")
+                .description("Convocatorias vencidas procesadas por el barrido")
+                .tag("accion", accion)
+                .register(registry);
+    }
+
+    @Scheduled(cron = "${musiconnect.convocations.sweeper.cron:0 5 0 * * *}")
+    public void programado() {
+        if (habilitado) {
+            barrer();
+        }
+    }
+
+    /**
+     * Procesa lotes hasta que no queden vencidas o se alcance el máximo de lotes por corrida
+     * (el resto queda para la próxima). Devuelve la cantidad de convocatorias procesadas.
+     */
+    public int barrer() {
+        // Evita dos barridos simultáneos en la misma instancia (p. ej. uno manual y el programado);
+        // entre instancias los separa el bloqueo de cada lote
+        if (!enCurso.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            return duracion.record(this::procesarLotes);
+        } finally {
+            enCurso.set(false);
+        }
+    }
+
+    private int procesarLotes() {
+        LocalDate hoy = LocalDate.now();
+        int total = 0;
+        for (int lote = 0; lote < maxLotes; lote++) {
+            Integer procesadas = transaccion.execute(status -> procesarLote(hoy));
+            total += procesadas == null ? 0 : procesadas;
+            if (procesadas == null || procesadas < tamanioLote) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private int procesarLote(LocalDate hoy) {
+        List<Long> ids = convocationRepository.reclamarVencidas(hoy, tamanioLote);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        if (archivar) {
+            convocationArchivoRepository.archivar(ids, LocalDateTime.now());
+            convocationFavoriteRepository.eliminarPorConvocatorias(ids);
+            convocationRepository.eliminarPorIds(ids);
+            archivadas.increment(ids.size());
+        } else {
+            convocationRepository.desactivar(ids);
+            desactivadas.increment(ids.size());
+        }
+        return ids.size();
+    }
+}
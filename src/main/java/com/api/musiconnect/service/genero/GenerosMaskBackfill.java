@@ -0,0 +1,56 @@
+package com.api.musiconnect.service.genero;
+
+import com.api.musiconnect.model.converter.GenerosMaskConverter;
+import com.api.musiconnect.model.enums.MusicGenreEnum;
+import com.api.musiconnect.repository.BandRepository;
+import com.api.musiconnect.repository.UserRepository;
+import com.api.musiconnect.repository.projection.BandaGenero;
+import com.api.musiconnect.repository.projection.UsuarioGenero;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Completa la columna generos_mask de usuarios y bandas creados antes de que existiera,
+ * a partir de las tablas de unión. Agrupa las filas por máscara para emitir un UPDATE
+ * por combinación de géneros en lugar de uno por fila.
+ */
+@Component
+@RequiredArgsConstructor
+public class GenerosMaskBackfill {
+
+    private final UserRepository userRepository;
+    private final BandRepository bandRepository;
+
+    @Transactional
+    public void migrar() {
+        Map<Long, Integer> usuarios = new HashMap<>();
+        for (UsuarioGenero fila : userRepository.findUsuarioGeneroSinMascara()) {
+            usuarios.merge(fila.getUserId(), mascara(fila.getGenero()), (a, b) -> a | b);
+        }
+        agruparPorMascara(usuarios).forEach((mask, ids) ->
+                userRepository.actualizarGenerosMask(ids, GenerosMaskConverter.fromMask(mask)));
+
+        Map<Long, Integer> bandas = new HashMap<>();
+        for (BandaGenero fila : bandRepository.findBandaGeneroSinMascara()) {
+            bandas.merge(fila.getBandId(), mascara(fila.getGenero()), (a, b) -> a | b);
+        }
+        agruparPorMascara(bandas).forEach((mask, ids) ->
+                bandRepository.actualizarGenerosMask(ids, GenerosMaskConverter.fromMask(mask)));
+    }
+
+    private static int mascara(MusicGenreEnum genero) {
+        return genero == null ? 0 : GenerosMaskConverter.bit(genero);
+    }
+
+    private static Map<Integer, List<Long>> agruparPorMascara(Map<Long, Integer> mascaras) {
+        Map<Integer, List<Long>> porMascara = new HashMap<>();
+        mascaras.forEach((id, mask) -> porMascara.computeIfAbsent(mask, m -> new ArrayList<>()).add(id));
+        return porMascara;
+    }
+}
@@ -0,0 +1,236 @@
+package com.api.musiconnect.service.genero;
+
+import com.api.musiconnect.model.enums.MusicGenreEnum;
+import com.api.musiconnect.repository.UserRepository;
+import com.api.musiconnect.repository.projection.UsuarioGenero;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Índice invertido en memoria: ordinal del género -> ids de usuario ordenados.
+ * Cada género es una base inmutable más dos deltas pequeños (altas y bajas desde la última
+ * compactación), así una escritura copia sólo el delta y no el arreglo completo. Las lecturas
+ * no bloquean y una búsqueda por género cuesta O(página + delta) y no O(usuarios). Una tarea
+ * programada fusiona los deltas en una nueva base fuera del hilo de la solicitud.
+ */
+@Component
+public class UsuariosPorGeneroIndex {
+
+    private static final long[] VACIO = new long[0];
+    private static final MusicGenreEnum[] GENEROS = MusicGenreEnum.values();
+    private static final Genero SIN_USUARIOS = new Genero(VACIO, VACIO, VACIO);
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final AtomicReferenceArray<Genero> idsPorGenero = new AtomicReferenceArray<>(GENEROS.length);
+    private volatile boolean listo;
+
+    public UsuariosPorGeneroIndex(UserRepository userRepository,
+                                  @Value("${musiconnect.users.genero-index.enabled:false}") boolean enabled) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        for (int i = 0; i < GENEROS.length; i++) {
+            idsPorGenero.set(i, SIN_USUARIOS);
+        }
+    }
+
+    // base: ids ordenados; agregados: ordenados y ausentes de la base; quitados: subconjunto de la base
+    private record Genero(long[] base, long[] agregados, long[] quitados) {
+
+        boolean contiene(long userId) {
+            return Arrays.binarySearch(agregados, userId) >= 0
+                    || (Arrays.binarySearch(base, userId) >= 0 && Arrays.binarySearch(quitados, userId) < 0);
+        }
+
+        int tamanio() {
+            return base.length + agregados.length - quitados.length;
+        }
+
+        boolean sinDelta() {
+            return agregados.length == 0 && quitados.length == 0;
+        }
+
+        Genero con(long userId) {
+            int pos = Arrays.binarySearch(quitados, userId);
+            if (pos >= 0) {
+                return new Genero(base, agregados, quitar(quitados, pos));
+            }
+            return new Genero(base, insertar(agregados, -Arrays.binarySearch(agregados, userId) - 1, userId), quitados);
+        }
+
+        Genero sin(long userId) {
+            int pos = Arrays.binarySearch(agregados, userId);
+            if (pos >= 0) {
+                return new Genero(base, quitar(agregados, pos), quitados);
+            }
+            return new Genero(base, agregados, insertar(quitados, -Arrays.binarySearch(quitados, userId) - 1, userId));
+        }
+
+        /**
+         * Ids en las posiciones [desde, desde + cantidad) de la secuencia combinada. La búsqueda
+         * binaria sobre la base ubica el punto de partida; el recorrido posterior sólo avanza
+         * sobre elementos del delta y de la página.
+         */
+        long[] pagina(long desde, int cantidad) {
+            int total = tamanio();
+            if (desde >= total) {
+                return VACIO;
+            }
+            // Mayor índice de la base con a lo sumo "desde" elementos combinados antes que él
+            int lo = 0;
+            int hi = base.length - 1;
+            int inicio = -1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                if (anteriores(mid) <= desde) {
+                    inicio = mid;
+                    lo = mid + 1;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            // Sin ese índice (base vacía o altas antes del primero) se recorre desde el principio
+            int i = Math.max(inicio, 0);
+            int j = inicio < 0 ? 0 : menores(agregados, base[i]);
+            long posicion = inicio < 0 ? 0 : anteriores(i);
+
+            long[] resultado = new long[(int) Math.min(cantidad, total - desde)];
+            int n = 0;
+            while (n < resultado.length) {
+                long siguiente;
+                if (j < agregados.length && (i >= base.length || agregados[j] < base[i])) {
+                    siguiente = agregados[j++];
+                } else {
+                    siguiente = base[i++];
+                    if (Arrays.binarySearch(quitados, siguiente) >= 0) {
+                        continue;
+                    }
+                }
+                if (posicion++ >= desde) {
+                    resultado[n++] = siguiente;
+                }
+            }
+            return resultado;
+        }
+
+        // Elementos de la secuencia combinada menores que base[i]
+        private long anteriores(int i) {
+            return i - menores(quitados, base[i]) + menores(agregados, base[i]);
+        }
+
+        Genero compactado() {
+            long[] combinado = pagina(0, tamanio());
+            return new Genero(combinado, VACIO, VACIO);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargarAlIniciar() {
+        if (enabled) {
+            cargar();
+        }
+    }
+
+    public synchronized void cargar() {
+        long[][] ids = new long[GENEROS.length][];
+        int[] tamanios = new int[GENEROS.length];
+        for (int i = 0; i < GENEROS.length; i++) {
+            ids[i] = new long[16];
+        }
+
+        for (UsuarioGenero fila : userRepository.findAllUsuarioGenero()) {
+            int g = fila.getGenero().ordinal();
+            if (tamanios[g] == ids[g].length) {
+                ids[g] = Arrays.copyOf(ids[g], ids[g].length * 2);
+            }
+            ids[g][tamanios[g]++] = fila.getUserId();
+        }
+
+        for (int i = 0; i < GENEROS.length; i++) {
+            long[] compactado = Arrays.copyOf(ids[i], tamanios[i]);
+            Arrays.sort(compactado);
+            idsPorGenero.set(i, new Genero(compactado, VACIO, VACIO));
+        }
+        listo = true;
+    }
+
+    public boolean isDisponible() {
+        return enabled && listo;
+    }
+
+    // Reemplaza los géneros del usuario en el índice (alta, edición de perfil); O(delta)
+    public synchronized void actualizar(Long userId, Collection<MusicGenreEnum> generos) {
+        if (!enabled || userId == null) {
+            return;
+        }
+        EnumSet<MusicGenreEnum> nuevos = generos.isEmpty() ? EnumSet.noneOf(MusicGenreEnum.class) : EnumSet.copyOf(generos);
+        for (MusicGenreEnum genero : GENEROS) {
+            Genero actual = idsPorGenero.get(genero.ordinal());
+            boolean presente = actual.contiene(userId);
+            if (nuevos.contains(genero) && !presente) {
+                idsPorGenero.set(genero.ordinal(), actual.con(userId));
+            } else if (!nuevos.contains(genero) && presente) {
+                idsPorGenero.set(genero.ordinal(), actual.sin(userId));
+            }
+        }
+    }
+
+    public void eliminar(Long userId) {
+        actualizar(userId, EnumSet.noneOf(MusicGenreEnum.class));
+    }
+
+    /**
+     * Fusiona los deltas en nuevas bases. La fusión (O(usuarios del género)) se calcula sin
+     * bloquear a los escritores; si uno modificó el género mientras tanto, se reintenta en la
+     * próxima ejecución.
+     */
+    @Scheduled(fixedDelayString = "${musiconnect.users.genero-index.compaction-ms:5000}")
+    public void compactar() {
+        if (!isDisponible()) {
+            return;
+        }
+        for (int i = 0; i < GENEROS.length; i++) {
+            Genero actual = idsPorGenero.get(i);
+            if (!actual.sinDelta()) {
+                idsPorGenero.compareAndSet(i, actual, actual.compactado());
+            }
+        }
+    }
+
+    public long contar(MusicGenreEnum genero) {
+        return idsPorGenero.get(genero.ordinal()).tamanio();
+    }
+
+    // Página de ids (orden ascendente) de los usuarios con el género indicado
+    public long[] pagina(MusicGenreEnum genero, int pagina, int tamanio) {
+        return idsPorGenero.get(genero.ordinal()).pagina((long) pagina * tamanio, tamanio);
+    }
+
+    private static int menores(long[] ids, long valor) {
+        int pos = Arrays.binarySearch(ids, valor);
+        return pos >= 0 ? pos : -pos - 1;
+    }
+
+    private static long[] insertar(long[] ids, int pos, long valor) {
+        long[] resultado = new long[ids.length + 1];
+        System.arraycopy(ids, 0, resultado, 0, pos);
+        resultado[pos] = valor;
+        System.arraycopy(ids, pos, resultado, pos + 1, ids.length - pos);
+        return resultado;
+    }
+
+    private static long[] quitar(long[] ids, int pos) {
+        long[] resultado = new long[ids.length - 1];
+        System.arraycopy(ids, 0, resultado, 0, pos);
+        System.arraycopy(ids, pos + 1, resultado, pos, ids.length - pos - 1);
+        return resultado;
+    }
+}
@@ -0,0 +1,124 @@
+package com.api.musiconnect.service.referencia;
+
+import com.api.musiconnect.model.entity.MusicGenre;
+import com.api.musiconnect.model.entity.Role;
+import com.api.musiconnect.model.enums.MusicGenreEnum;
+import com.api.musiconnect.model.enums.RoleEnum;
+import com.api.musiconnect.repository.MusicGenreRepository;
+import com.api.musiconnect.repository.RoleRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Caché en memoria de las tablas de referencia music_genres y roles (sembradas por los
+ * CommandLineRunner de MusiconnectApplication). Se precarga al arrancar y cada lectura
+ * devuelve las entidades ya cargadas sin ir a la BD. Los valores que falten (p. ej. un
+ * género agregado en caliente) se consultan una vez y se incorporan al snapshot.
+ */
+@Component
+public class ReferenceDataCache {
+
+    private final MusicGenreRepository musicGenreRepository;
+    private final RoleRepository roleRepository;
+
+    private final Counter generoHit;
+    private final Counter generoMiss;
+    private final Counter rolHit;
+    private final Counter rolMiss;
+
+    // Snapshots inmutables; se reemplazan completos al recargar
+    private volatile Map<MusicGenreEnum, MusicGenre> generos = Collections.unmodifiableMap(new EnumMap<>(MusicGenreEnum.class));
+    private volatile Map<RoleEnum, Role> roles = Collections.unmodifiableMap(new EnumMap<>(RoleEnum.class));
+
+    public ReferenceDataCache(MusicGenreRepository musicGenreRepository, RoleRepository roleRepository,
+                              MeterRegistry meterRegistry) {
+        this.musicGenreRepository = musicGenreRepository;
+        this.roleRepository = roleRepository;
+        this.generoHit = contador(meterRegistry, "genero", "hit");
+        this.generoMiss = contador(meterRegistry, "genero", "miss");
+        this.rolHit = contador(meterRegistry, "rol", "hit");
+        this.rolMiss = contador(meterRegistry, "rol", "miss");
+    }
+
+    private static Counter contador(MeterRegistry registry, String tabla, String resultado) {
+        return Counter.builder("musiconnect.referencia.cache")
+                .description("Búsquedas en la caché de datos de referencia")
+                .tag("tabla", tabla)
+                .tag("resultado", resultado)
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void precargar() {
+        EnumMap<MusicGenreEnum, MusicGenre> nuevosGeneros = new EnumMap<>(MusicGenreEnum.class);
+        musicGenreRepository.findAll().forEach(g -> nuevosGeneros.put(g.getNombre(), g));
+        generos = Collections.unmodifiableMap(nuevosGeneros);
+
+        EnumMap<RoleEnum, Role> nuevosRoles = new EnumMap<>(RoleEnum.class);
+        roleRepository.findAll().forEach(r -> nuevosRoles.put(r.getName(), r));
+        roles = Collections.unmodifiableMap(nuevosRoles);
+    }
+
+    /**
+     * Resuelve los géneros indicados (sin duplicados, como un {@code IN}). Si alguno no existe
+     * en la BD, la lista devuelta es más corta que la cantidad de géneros distintos pedidos.
+     */
+    public List<MusicGenre> getGeneros(Collection<MusicGenreEnum> nombres) {
+        if (nombres.isEmpty()) {
+            return List.of();
+        }
+        EnumSet<MusicGenreEnum> pedidos = EnumSet.copyOf(nombres);
+        Map<MusicGenreEnum, MusicGenre> actuales = generos;
+        if (actuales.keySet().containsAll(pedidos)) {
+            generoHit.increment();
+            List<MusicGenre> resultado = new ArrayList<>(pedidos.size());
+            pedidos.forEach(nombre -> resultado.add(actuales.get(nombre)));
+            return resultado;
+        }
+
+        generoMiss.increment();
+        List<MusicGenre> encontrados = musicGenreRepository.findAllByNombreIn(List.copyOf(pedidos));
+        agregarGeneros(encontrados);
+        return encontrados;
+    }
+
+    public Optional<Role> findRol(Long roleId) {
+        for (Role rol : roles.values()) {
+            if (rol.getRoleId().equals(roleId)) {
+                rolHit.increment();
+                return Optional.of(rol);
+            }
+        }
+
+        rolMiss.increment();
+        Optional<Role> rol = roleRepository.findById(roleId);
+        rol.ifPresent(this::agregarRol);
+        return rol;
+    }
+
+    private synchronized void agregarGeneros(List<MusicGenre> encontrados) {
+        EnumMap<MusicGenreEnum, MusicGenre> copia = new EnumMap<>(MusicGenreEnum.class);
+        copia.putAll(generos);
+        encontrados.forEach(g -> copia.put(g.getNombre(), g));
+        generos = Collections.unmodifiableMap(copia);
+    }
+
+    private synchronized void agregarRol(Role rol) {
+        EnumMap<RoleEnum, Role> copia = new EnumMap<>(RoleEnum.class);
+        copia.putAll(roles);
+        copia.put(rol.getName(), rol);
+        roles = Collections.unmodifiableMap(copia);
+    }
+}
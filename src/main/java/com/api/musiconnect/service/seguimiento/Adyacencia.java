@@ -0,0 +1,139 @@
+package com.api.musiconnect.service.seguimiento;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Lista de adyacencia en formato CSR, inmutable: {@code nodos} ordenados, {@code inicio[i]..inicio[i+1]}
+ * delimita en {@code vecinos} la fila (ordenada y sin repetidos) del nodo {@code nodos[i]}.
+ * Sólo usa arreglos primitivos, así cada arista ocupa 8 bytes.
+ */
+final class Adyacencia {
+
+    static final long[] VACIO = new long[0];
+    static final Adyacencia VACIA = new Adyacencia(VACIO, new int[1], VACIO);
+
+    // Cabecera aproximada de un arreglo en la JVM
+    private static final int CABECERA_ARREGLO = 16;
+
+    private final long[] nodos;
+    private final int[] inicio;
+    private final long[] vecinos;
+
+    private Adyacencia(long[] nodos, int[] inicio, long[] vecinos) {
+        this.nodos = nodos;
+        this.inicio = inicio;
+        this.vecinos = vecinos;
+    }
+
+    /**
+     * Construye la estructura a partir de los primeros {@code n} pares origen -> destino, en
+     * cualquier orden y con posibles repetidos.
+     */
+    static Adyacencia construir(long[] origenes, long[] destinos, int n) {
+        if (n == 0) {
+            return VACIA;
+        }
+
+        long[] nodos = Arrays.copyOf(origenes, n);
+        Arrays.sort(nodos);
+        int total = 0;
+        for (int i = 0; i < n; i++) {
+            if (i == 0 || nodos[i] != nodos[i - 1]) {
+                nodos[total++] = nodos[i];
+            }
+        }
+        nodos = Arrays.copyOf(nodos, total);
+
+        // Conteo por nodo, suma acumulada y reparto de los destinos en su fila
+        int[] inicio = new int[total + 1];
+        int[] fila = new int[n];
+        for (int i = 0; i < n; i++) {
+            fila[i] = Arrays.binarySearch(nodos, origenes[i]);
+            inicio[fila[i] + 1]++;
+        }
+        for (int i = 0; i < total; i++) {
+            inicio[i + 1] += inicio[i];
+        }
+        int[] cursor = Arrays.copyOf(inicio, total);
+        long[] vecinos = new long[n];
+        for (int i = 0; i < n; i++) {
+            vecinos[cursor[fila[i]]++] = destinos[i];
+        }
+
+        // Ordena cada fila y descarta repetidos compactando en el mismo arreglo
+        int escritos = 0;
+        int desde = 0;
+        for (int i = 0; i < total; i++) {
+            int hasta = inicio[i + 1];
+            Arrays.sort(vecinos, desde, hasta);
+            inicio[i] = escritos;
+            for (int j = desde; j < hasta; j++) {
+                if (j == desde || vecinos[j] != vecinos[j - 1]) {
+                    vecinos[escritos++] = vecinos[j];
+                }
+            }
+            desde = hasta;
+        }
+        inicio[total] = escritos;
+
+        return new Adyacencia(nodos, inicio, escritos == n ? vecinos : Arrays.copyOf(vecinos, escritos));
+    }
+
+    /**
+     * Nueva estructura con las filas de {@code reemplazos} en lugar de las actuales (una fila
+     * vacía elimina el nodo).
+     */
+    Adyacencia fusionar(Map<Long, long[]> reemplazos) {
+        long total = 0;
+        for (int i = 0; i < nodos.length; i++) {
+            if (!reemplazos.containsKey(nodos[i])) {
+                total += inicio[i + 1] - inicio[i];
+            }
+        }
+        for (long[] fila : reemplazos.values()) {
+            total += fila.length;
+        }
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("El grafo de seguimientos supera la capacidad de un arreglo.");
+        }
+
+        int n = (int) total;
+        long[] origenes = new long[n];
+        long[] destinos = new long[n];
+        int k = 0;
+        for (int i = 0; i < nodos.length; i++) {
+            if (!reemplazos.containsKey(nodos[i])) {
+                for (int j = inicio[i]; j < inicio[i + 1]; j++) {
+                    origenes[k] = nodos[i];
+                    destinos[k++] = vecinos[j];
+                }
+            }
+        }
+        for (Map.Entry<Long, long[]> reemplazo : reemplazos.entrySet()) {
+            for (long destino : reemplazo.getValue()) {
+                origenes[k] = reemplazo.getKey();
+                destinos[k++] = destino;
+            }
+        }
+        return construir(origenes, destinos, n);
+    }
+
+    // Copia de la fila del nodo (vacía si no tiene aristas)
+    long[] fila(long nodo) {
+        int i = Arrays.binarySearch(nodos, nodo);
+        return i < 0 ? VACIO : Arrays.copyOfRange(vecinos, inicio[i], inicio[i + 1]);
+    }
+
+    int nodos() {
+        return nodos.length;
+    }
+
+    int aristas() {
+        return vecinos.length;
+    }
+
+    long bytes() {
+        return 3L * CABECERA_ARREGLO + 8L * nodos.length + 4L * inicio.length + 8L * vecinos.length;
+    }
+}
@@ -0,0 +1,362 @@
+package com.api.musiconnect.service.seguimiento;
+
+import com.api.musiconnect.repository.FollowRepository;
+import com.api.musiconnect.repository.projection.AristaSeguimiento;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Índice en memoria del grafo de seguimientos, en ambos sentidos y para usuarios y bandas
+ * seguidos. Cada sentido es una {@link Adyacencia} CSR inmutable más un delta con las filas
+ * modificadas desde la última compactación; las lecturas no bloquean y las escrituras
+ * (altas y bajas desde FollowService, ya confirmadas) copian sólo la fila afectada. Una tarea
+ * en segundo plano fusiona el delta en una nueva base cuando supera el umbral, sin bloquear a
+ * los escritores mientras calcula la fusión.
+ */
+@Component
+public class GrafoSeguimientos {
+
+    private final FollowRepository followRepository;
+    private final TransactionTemplate transaccion;
+    private final boolean habilitado;
+    private final int umbralCompactacion;
+    private final int maxSeguidosSugerencias;
+
+    private final Sentido siguiendoUsuarios = new Sentido();
+    private final Sentido siguiendoBandas = new Sentido();
+    private final Sentido seguidoresUsuario = new Sentido();
+    private final Sentido seguidoresBanda = new Sentido();
+    private final List<Sentido> sentidos =
+            List.of(siguiendoUsuarios, siguiendoBandas, seguidoresUsuario, seguidoresBanda);
+    // Serializa compactación y recarga; las escrituras sólo toman el monitor del componente
+    private final Object compactacion = new Object();
+    private volatile boolean listo;
+
+    public GrafoSeguimientos(FollowRepository followRepository, TransactionTemplate transaccion,
+                             MeterRegistry meterRegistry,
+                             @Value("${musiconnect.follows.graph.enabled:false}") boolean habilitado,
+                             @Value("${musiconnect.follows.graph.compaction-threshold:10000}") int umbralCompactacion,
+                             @Value("${musiconnect.follows.graph.suggestions.max-fan-out:200}") int maxSeguidosSugerencias) {
+        this.followRepository = followRepository;
+        this.transaccion = transaccion;
+        this.habilitado = habilitado;
+        this.umbralCompactacion = umbralCompactacion;
+        this.maxSeguidosSugerencias = maxSeguidosSugerencias;
+
+        Gauge.builder("musiconnect.follows.graph.edges", this, g -> g.reporte().aristas())
+                .description("Seguimientos en el índice en memoria (base compactada)")
+                .register(meterRegistry);
+        Gauge.builder("musiconnect.follows.graph.bytes", this, g -> g.reporte().bytesBase())
+                .description("Memoria estimada del índice de seguimientos")
+                .baseUnit("bytes")
+                .tag("parte", "base")
+                .register(meterRegistry);
+        Gauge.builder("musiconnect.follows.graph.bytes", this, g -> g.reporte().bytesDelta())
+                .description("Memoria estimada del índice de seguimientos")
+                .baseUnit("bytes")
+                .tag("parte", "delta")
+                .register(meterRegistry);
+    }
+
+    // Un sentido del grafo: base CSR + filas reemplazadas desde la última compactación. Al
+    // compactar, el delta se congela (sigue visible para las lecturas) y las escrituras pasan a
+    // un delta nuevo mientras se calcula la fusión.
+    private static final class Sentido {
+        private volatile Adyacencia base = Adyacencia.VACIA;
+        private volatile Map<Long, long[]> congelado = Map.of();
+        private volatile Map<Long, long[]> delta = new ConcurrentHashMap<>();
+
+        // Las filas del delta no se modifican (cada escritura pone una nueva), así que se comparten
+        long[] fila(long nodo) {
+            long[] fila = delta.get(nodo);
+            if (fila == null) {
+                fila = congelado.get(nodo);
+            }
+            return fila != null ? fila : base.fila(nodo);
+        }
+
+        void poner(long nodo, long vecino, boolean presente) {
+            long[] actual = fila(nodo);
+            int pos = Arrays.binarySearch(actual, vecino);
+            if (presente && pos < 0) {
+                delta.put(nodo, insertar(actual, -pos - 1, vecino));
+            } else if (!presente && pos >= 0) {
+                delta.put(nodo, quitar(actual, pos));
+            }
+        }
+
+        void vaciar(long nodo) {
+            if (fila(nodo).length > 0) {
+                delta.put(nodo, new long[0]);
+            }
+        }
+
+        int filasDelta() {
+            return delta.size() + congelado.size();
+        }
+
+        // Con el monitor de escritura tomado: se publica primero el congelado, así ninguna lectura lo pierde
+        void congelar() {
+            congelado = delta;
+            delta = new ConcurrentHashMap<>();
+        }
+
+        // Sin bloquear escritores: primero se publica la nueva base y luego se descarta el congelado
+        void fusionar() {
+            if (!congelado.isEmpty()) {
+                base = base.fusionar(congelado);
+            }
+            congelado = Map.of();
+        }
+
+        // Arreglo de la fila más una estimación del costo de la entrada en el mapa (clave, nodo)
+        long bytesDelta() {
+            return Stream.of(delta, congelado)
+                    .flatMap(m -> m.values().stream())
+                    .mapToLong(f -> 16L + 8L * f.length + 48L)
+                    .sum();
+        }
+    }
+
+    /**
+     * Resumen del tamaño del índice: nodos y aristas de la base compactada (sumando los cuatro
+     * sentidos), filas pendientes en el delta y memoria estimada de cada parte.
+     */
+    public record Reporte(long nodos, long aristas, long filasDelta, long bytesBase, long bytesDelta) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargarAlIniciar() {
+        if (habilitado) {
+            cargar();
+        }
+    }
+
+    // Recorre la tabla follows en streaming y reconstruye los cuatro sentidos
+    public void cargar() {
+        synchronized (compactacion) {
+            synchronized (this) {
+                recargar();
+            }
+        }
+    }
+
+    private void recargar() {
+        Aristas usuarios = new Aristas();
+        Aristas bandas = new Aristas();
+        transaccion.executeWithoutResult(estado -> {
+            try (Stream<AristaSeguimiento> filas = followRepository.streamAristas()) {
+                filas.forEach(f -> {
+                    if (f.getUsuarioId() != null) {
+                        usuarios.agregar(f.getFollowerId(), f.getUsuarioId());
+                    } else if (f.getBandaId() != null) {
+                        bandas.agregar(f.getFollowerId(), f.getBandaId());
+                    }
+                });
+            }
+        });
+
+        siguiendoUsuarios.base = Adyacencia.construir(usuarios.origenes, usuarios.destinos, usuarios.total);
+        seguidoresUsuario.base = Adyacencia.construir(usuarios.destinos, usuarios.origenes, usuarios.total);
+        siguiendoBandas.base = Adyacencia.construir(bandas.origenes, bandas.destinos, bandas.total);
+        seguidoresBanda.base = Adyacencia.construir(bandas.destinos, bandas.origenes, bandas.total);
+        sentidos.forEach(s -> {
+            s.delta = new ConcurrentHashMap<>();
+            s.congelado = Map.of();
+        });
+        listo = true;
+    }
+
+    public boolean isDisponible() {
+        return habilitado && listo;
+    }
+
+    public void agregarUsuario(Long followerId, Long usuarioId) {
+        actualizar(siguiendoUsuarios, seguidoresUsuario, followerId, usuarioId, true);
+    }
+
+    public void quitarUsuario(Long followerId, Long usuarioId) {
+        actualizar(siguiendoUsuarios, seguidoresUsuario, followerId, usuarioId, false);
+    }
+
+    public void agregarBanda(Long followerId, Long bandaId) {
+        actualizar(siguiendoBandas, seguidoresBanda, followerId, bandaId, true);
+    }
+
+    public void quitarBanda(Long followerId, Long bandaId) {
+        actualizar(siguiendoBandas, seguidoresBanda, followerId, bandaId, false);
+    }
+
+    // Al eliminar la banda la base borra sus follows en cascada: sale de la fila de cada seguidor y su fila queda vacía
+    public synchronized void quitarBandaCompleta(Long bandaId) {
+        if (!habilitado || bandaId == null) {
+            return;
+        }
+        for (long seguidor : seguidoresBanda.fila(bandaId)) {
+            siguiendoBandas.poner(seguidor, bandaId, false);
+        }
+        seguidoresBanda.vaciar(bandaId);
+    }
+
+    private synchronized void actualizar(Sentido directo, Sentido inverso, Long origen, Long destino, boolean presente) {
+        if (!habilitado || origen == null || destino == null) {
+            return;
+        }
+        directo.poner(origen, destino, presente);
+        inverso.poner(destino, origen, presente);
+    }
+
+    /**
+     * Fusiona el delta en nuevas bases cuando supera el umbral de filas. Sólo el congelado del
+     * delta toma el monitor de escritura; la fusión (O(nodos + aristas)) corre sin bloquear a
+     * las altas y bajas, que siguen en el delta nuevo.
+     */
+    @Scheduled(fixedDelayString = "${musiconnect.follows.graph.compaction-ms:5000}")
+    public void compactarSiSuperaUmbral() {
+        if (isDisponible() && sentidos.stream().mapToInt(Sentido::filasDelta).sum() > umbralCompactacion) {
+            compactar();
+        }
+    }
+
+    public void compactar() {
+        synchronized (compactacion) {
+            synchronized (this) {
+                sentidos.forEach(Sentido::congelar);
+            }
+            sentidos.forEach(Sentido::fusionar);
+        }
+    }
+
+    // Las consultas devuelven copias con los ids en orden ascendente
+
+    public long[] seguidoresDeUsuario(Long usuarioId) {
+        return seguidoresUsuario.fila(usuarioId).clone();
+    }
+
+    public long[] seguidoresDeBanda(Long bandaId) {
+        return seguidoresBanda.fila(bandaId).clone();
+    }
+
+    // Usuarios que el usuario sigue y que a su vez lo siguen
+    public long[] mutuos(Long usuarioId) {
+        long[] siguiendo = siguiendoUsuarios.fila(usuarioId);
+        long[] seguidores = seguidoresUsuario.fila(usuarioId);
+        long[] resultado = new long[Math.min(siguiendo.length, seguidores.length)];
+        int n = 0;
+        for (int i = 0, j = 0; i < siguiendo.length && j < seguidores.length; ) {
+            if (siguiendo[i] < seguidores[j]) {
+                i++;
+            } else if (siguiendo[i] > seguidores[j]) {
+                j++;
+            } else {
+                resultado[n++] = siguiendo[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(resultado, n);
+    }
+
+    /**
+     * Usuarios seguidos por quienes sigue el usuario (amigos de amigos), de más a menos
+     * coincidencias, sin incluirlo a él ni a quienes ya sigue. Para acotar el costo sólo se
+     * recorren los primeros {@code maxSeguidosSugerencias} seguidos.
+     */
+    public long[] sugerencias(Long usuarioId, int limite) {
+        long yo = usuarioId;
+        long[] siguiendo = siguiendoUsuarios.fila(yo);
+        LongStream.Builder candidatos = LongStream.builder();
+        for (int i = 0; i < Math.min(siguiendo.length, maxSeguidosSugerencias); i++) {
+            for (long candidato : siguiendoUsuarios.fila(siguiendo[i])) {
+                if (candidato != yo && Arrays.binarySearch(siguiendo, candidato) < 0) {
+                    candidatos.add(candidato);
+                }
+            }
+        }
+
+        // Conteo por id sobre el arreglo ordenado
+        long[] ids = candidatos.build().sorted().toArray();
+        long[] unicos = new long[ids.length];
+        int[] coincidencias = new int[ids.length];
+        int distintos = 0;
+        for (long id : ids) {
+            if (distintos > 0 && unicos[distintos - 1] == id) {
+                coincidencias[distintos - 1]++;
+            } else {
+                unicos[distintos] = id;
+                coincidencias[distintos++] = 1;
+            }
+        }
+
+        return IntStream.range(0, distintos)
+                .boxed()
+                .sorted((a, b) -> coincidencias[a] != coincidencias[b]
+                        ? Integer.compare(coincidencias[b], coincidencias[a])
+                        : Long.compare(unicos[a], unicos[b]))
+                .limit(Math.max(limite, 0))
+                .mapToLong(i -> unicos[i])
+                .toArray();
+    }
+
+    public Reporte reporte() {
+        long nodos = 0;
+        long aristas = 0;
+        long filasDelta = 0;
+        long bytesBase = 0;
+        long bytesDelta = 0;
+        for (Sentido sentido : sentidos) {
+            Adyacencia base = sentido.base;
+            nodos += base.nodos();
+            aristas += base.aristas();
+            filasDelta += sentido.filasDelta();
+            bytesBase += base.bytes();
+            bytesDelta += sentido.bytesDelta();
+        }
+        return new Reporte(nodos, aristas, filasDelta, bytesBase, bytesDelta);
+    }
+
+    private static long[] insertar(long[] ids, int pos, long valor) {
+        long[] resultado = new long[ids.length + 1];
+        System.arraycopy(ids, 0, resultado, 0, pos);
+        resultado[pos] = valor;
+        System.arraycopy(ids, pos, resultado, pos + 1, ids.length - pos);
+        return resultado;
+    }
+
+    private static long[] quitar(long[] ids, int pos) {
+        long[] resultado = new long[ids.length - 1];
+        System.arraycopy(ids, 0, resultado, 0, pos);
+        System.arraycopy(ids, pos + 1, resultado, pos, ids.length - pos - 1);
+        return resultado;
+    }
+
+    // Pares origen -> destino en arreglos primitivos que crecen al doble
+    private static final class Aristas {
+        private long[] origenes = new long[1024];
+        private long[] destinos = new long[1024];
+        private int total;
+
+        void agregar(long origen, long destino) {
+            if (total == origenes.length) {
+                origenes = Arrays.copyOf(origenes, total * 2);
+                destinos = Arrays.copyOf(destinos, total * 2);
+            }
+            origenes[total] = origen;
+            destinos[total++] = destino;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.api.musiconnect.service.seguimiento;
+
+import com.api.musiconnect.repository.BandRepository;
+import com.api.musiconnect.repository.UserRepository;
+import com.api.musiconnect.service.banda.RankingBandas;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tarea programada que recalcula seguidores_count de usuarios y bandas contra la tabla follows
+ * y corrige sólo las filas desviadas (p. ej. por un incremento que quedó fuera de una
+ * transacción revertida o por escrituras directas en la base). Si corrigió bandas, reconstruye
+ * el ranking para que no publique conteos viejos hasta la próxima actualización.
+ */
+@Component
+public class ReconciliacionSeguidores {
+
+    private final UserRepository userRepository;
+    private final BandRepository bandRepository;
+    private final RankingBandas rankingBandas;
+    private final boolean habilitado;
+
+    private final Counter usuariosCorregidos;
+    private final Counter bandasCorregidas;
+
+    public ReconciliacionSeguidores(UserRepository userRepository, BandRepository bandRepository,
+                                    RankingBandas rankingBandas, MeterRegistry meterRegistry,
+                                    @Value("${musiconnect.follows.reconcile.enabled:true}") boolean habilitado) {
+        this.userRepository = userRepository;
+        this.bandRepository = bandRepository;
+        this.rankingBandas = rankingBandas;
+        this.habilitado = habilitado;
+        this.usuariosCorregidos = corregidos(meterRegistry, "usuario");
+        this.bandasCorregidas = corregidos(meterRegistry, "banda");
+    }
+
+    private static Counter corregidos(MeterRegistry registry, String tipo) {
+        return Counter.builder("musiconnect.follows.counters.reconciled")
+                .description("Contadores de seguidores corregidos por la reconciliación")
+                .tag("tipo", tipo)
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${musiconnect.follows.reconcile.interval-ms:3600000}",
+            initialDelayString = "${musiconnect.follows.reconcile.interval-ms:3600000}")
+    public void programado() {
+        if (habilitado) {
+            reconciliar();
+        }
+    }
+
+    /**
+     * Corrige los contadores desviados y devuelve cuántas filas (usuarios + bandas) cambió.
+     */
+    public int reconciliar() {
+        int usuarios = userRepository.reconciliarContadorSeguidores();
+        int bandas = bandRepository.reconciliarContadorSeguidores();
+        usuariosCorregidos.increment(usuarios);
+        bandasCorregidas.increment(bandas);
+        if (bandas > 0 && rankingBandas.isDisponible()) {
+            rankingBandas.reconstruir();
+        }
+        return usuarios + bandas;
+    }
+}
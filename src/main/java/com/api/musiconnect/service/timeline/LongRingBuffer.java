@@ -0,0 +1,54 @@
+package com.api.musiconnect.service.timeline;
+
+import java.util.Arrays;
+
+/**
+ * Buffer circular acotado de {@code long} primitivos (sin boxing).
+ * Al llenarse sobrescribe la entrada más antigua.
+ */
+public class LongRingBuffer {
+
+    private final long[] valores;
+    private int siguiente; // posición donde se escribirá el próximo valor
+    private int tamanio;
+
+    public LongRingBuffer(int capacidad) {
+        if (capacidad < 1) {
+            throw new IllegalArgumentException("La capacidad debe ser mayor que cero.");
+        }
+        this.valores = new long[capacidad];
+    }
+
+    public synchronized void push(long valor) {
+        valores[siguiente] = valor;
+        siguiente = (siguiente + 1) % valores.length;
+        if (tamanio < valores.length) {
+            tamanio++;
+        }
+    }
+
+    /**
+     * Devuelve, del más reciente al más antiguo, hasta {@code limite} valores estrictamente
+     * menores que {@code antesDe}. Si se devuelven menos de {@code limite} valores, el buffer
+     * se agotó.
+     */
+    public synchronized long[] leerAntesDe(long antesDe, int limite) {
+        long[] resultado = new long[Math.min(limite, tamanio)];
+        int n = 0;
+        for (int i = 1; i <= tamanio && n < resultado.length; i++) {
+            long valor = valores[Math.floorMod(siguiente - i, valores.length)];
+            if (valor < antesDe) {
+                resultado[n++] = valor;
+            }
+        }
+        return n == resultado.length ? resultado : Arrays.copyOf(resultado, n);
+    }
+
+    public synchronized int size() {
+        return tamanio;
+    }
+
+    public int capacidad() {
+        return valores.length;
+    }
+}
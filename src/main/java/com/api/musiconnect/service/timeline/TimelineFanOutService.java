@@ -0,0 +1,144 @@
+package com.api.musiconnect.service.timeline;
+
+import com.api.musiconnect.mapper.CursorMapper;
+import com.api.musiconnect.model.entity.Post;
+import com.api.musiconnect.repository.FollowRepository;
+import com.api.musiconnect.repository.PostRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Modo opcional fan-out-on-write de la timeline.
+ * <p>
+ * Al publicar, el id del post se copia en la bandeja de cada seguidor del autor (directo o a
+ * través de una banda). Si la audiencia supera el umbral de celebridad, el autor pasa a modo
+ * pull y sus posts se consultan al leer; si vuelve a quedar bajo el umbral, deja el modo pull y
+ * se descartan las bandejas de su audiencia, que no tienen los posts de ese período. La lectura combina bandeja, autores pull y, cuando la
+ * bandeja se agota, la consulta pull normal para completar la página.
+ * <p>
+ * La distribución se hace después del commit del post, y cualquier cambio en los seguimientos
+ * de un usuario descarta su bandeja: hasta el próximo post la timeline se lee en modo pull, así
+ * que no quedan posts de perfiles que dejó de seguir ni faltan los de los que empezó a seguir.
+ */
+@Service
+public class TimelineFanOutService {
+
+    // Cursor usado para la primera página: posterior a cualquier publicación
+    private static final LocalDateTime SIN_CURSOR_FECHA = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private static final Comparator<Post> MAS_RECIENTE_PRIMERO = Comparator
+            .comparing(Post::getFechaPublicacion)
+            .thenComparing(Post::getPostId)
+            .reversed();
+
+    private final TimelineInboxStore inboxStore;
+    private final FollowRepository followRepository;
+    private final PostRepository postRepository;
+    private final boolean habilitado;
+    private final int umbralCelebridad;
+
+    public TimelineFanOutService(TimelineInboxStore inboxStore,
+                                 FollowRepository followRepository,
+                                 PostRepository postRepository,
+                                 @Value("${musiconnect.timeline.fanout.enabled:false}") boolean habilitado,
+                                 @Value("${musiconnect.timeline.fanout.celebrity-threshold:10000}") int umbralCelebridad) {
+        this.inboxStore = inboxStore;
+        this.followRepository = followRepository;
+        this.postRepository = postRepository;
+        this.habilitado = habilitado;
+        this.umbralCelebridad = umbralCelebridad;
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    /**
+     * Distribuye un post recién creado a las bandejas de la audiencia de su autor.
+     */
+    public void distribuir(Post post) {
+        if (!habilitado) {
+            return;
+        }
+        Long autorId = post.getUsuario().getUserId();
+        // Se piden umbral + 1 ids: basta para saber si el autor es una celebridad
+        List<Long> audiencia = followRepository.findAudienciaIds(autorId, PageRequest.of(0, umbralCelebridad + 1));
+        if (audiencia.size() > umbralCelebridad) {
+            inboxStore.marcarAutorPull(autorId);
+            return;
+        }
+        if (inboxStore.quitarAutorPull(autorId)) {
+            audiencia.forEach(inboxStore::descartar);
+        }
+        inboxStore.distribuir(audiencia, post.getPostId());
+    }
+
+    public void invalidarBandeja(Long userId) {
+        if (habilitado) {
+            inboxStore.descartar(userId);
+        }
+    }
+
+    /**
+     * Lee hasta {@code cantidad} posts de la timeline desde la bandeja del usuario.
+     * Devuelve vacío si el modo está deshabilitado o el usuario aún no tiene bandeja,
+     * en cuyo caso se debe usar la consulta pull.
+     */
+    public Optional<List<Post>> leer(Long userId, CursorMapper.Cursor desde, int cantidad) {
+        if (!habilitado || !inboxStore.tieneInbox(userId)) {
+            return Optional.empty();
+        }
+
+        LocalDateTime fecha = desde == null ? SIN_CURSOR_FECHA : desde.fecha();
+        long antesDeId = desde == null ? Long.MAX_VALUE : desde.id();
+
+        long[] ids = inboxStore.leer(userId, antesDeId, cantidad);
+        Map<Long, Post> posts = new LinkedHashMap<>();
+        if (ids.length > 0) {
+            List<Long> listaIds = Arrays.stream(ids).boxed().toList();
+            postRepository.findAllWithUsuarioByPostIdIn(listaIds).stream()
+                    .filter(p -> esAnterior(p, fecha, antesDeId))
+                    .forEach(p -> posts.put(p.getPostId(), p));
+        }
+
+        PageRequest pagina = PageRequest.of(0, cantidad);
+        Set<Long> autoresPull = inboxStore.getAutoresPull();
+        boolean bandejaAgotada = posts.size() < cantidad;
+        List<Long> autores = autoresPull.isEmpty() && !bandejaAgotada
+                ? List.of()
+                : followRepository.findAutoresSeguidosIds(userId);
+
+        List<Long> seguidosPull = autores.stream().filter(autoresPull::contains).toList();
+        if (!seguidosPull.isEmpty()) {
+            postRepository.findTimelineBefore(seguidosPull, fecha, antesDeId, pagina)
+                    .forEach(p -> posts.putIfAbsent(p.getPostId(), p));
+        }
+
+        // Bandeja agotada: se completa desde el cursor de la página (no desde el post más antiguo
+        // ya combinado), así entran los posts anteriores a la bandeja o desalojados del buffer
+        if (bandejaAgotada && !autores.isEmpty()) {
+            postRepository.findTimelineBefore(autores, fecha, antesDeId, pagina)
+                    .forEach(p -> posts.putIfAbsent(p.getPostId(), p));
+        }
+
+        List<Post> resultado = new ArrayList<>(posts.values());
+        resultado.sort(MAS_RECIENTE_PRIMERO);
+        return Optional.of(resultado.size() > cantidad ? resultado.subList(0, cantidad) : resultado);
+    }
+
+    private boolean esAnterior(Post post, LocalDateTime fecha, long postId) {
+        int cmp = post.getFechaPublicacion().compareTo(fecha);
+        return cmp < 0 || (cmp == 0 && post.getPostId() < postId);
+    }
+}
@@ -0,0 +1,80 @@
+package com.api.musiconnect.service.timeline;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bandejas de entrada en memoria para la timeline en modo fan-out-on-write.
+ * Cada usuario tiene un {@link LongRingBuffer} acotado con los ids de los posts recientes
+ * de los perfiles que sigue. Los autores con demasiados seguidores ("celebridades") no se
+ * distribuyen: se registran aquí para que la lectura los consulte en modo pull, y se quitan
+ * cuando vuelven a quedar bajo el umbral.
+ */
+@Component
+public class TimelineInboxStore {
+
+    private final int capacidadInbox;
+    private final Map<Long, LongRingBuffer> inboxes = new ConcurrentHashMap<>();
+    private final Set<Long> autoresPull = ConcurrentHashMap.newKeySet();
+    private final Set<Long> autoresPullVista = Collections.unmodifiableSet(autoresPull);
+
+    public TimelineInboxStore(MeterRegistry meterRegistry,
+                              @Value("${musiconnect.timeline.fanout.inbox-capacity:500}") int capacidadInbox) {
+        this.capacidadInbox = capacidadInbox;
+
+        Gauge.builder("musiconnect.timeline.inbox.bytes", this, TimelineInboxStore::memoriaEstimadaBytes)
+                .description("Memoria estimada de las bandejas de la timeline")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("musiconnect.timeline.pull-authors", autoresPull, Set::size)
+                .description("Autores que se leen en modo pull por superar el umbral de celebridad")
+                .register(meterRegistry);
+    }
+
+    public void distribuir(Collection<Long> seguidores, long postId) {
+        for (Long seguidorId : seguidores) {
+            inboxes.computeIfAbsent(seguidorId, id -> new LongRingBuffer(capacidadInbox)).push(postId);
+        }
+    }
+
+    public long[] leer(Long userId, long antesDePostId, int limite) {
+        LongRingBuffer inbox = inboxes.get(userId);
+        return inbox == null ? new long[0] : inbox.leerAntesDe(antesDePostId, limite);
+    }
+
+    // Descarta la bandeja: se vuelve a crear con el próximo post distribuido
+    public void descartar(Long userId) {
+        inboxes.remove(userId);
+    }
+
+    public boolean tieneInbox(Long userId) {
+        return inboxes.containsKey(userId);
+    }
+
+    public void marcarAutorPull(Long autorId) {
+        autoresPull.add(autorId);
+    }
+
+    // Devuelve true si el autor estaba en modo pull
+    public boolean quitarAutorPull(Long autorId) {
+        return autoresPull.remove(autorId);
+    }
+
+    // Vista de sólo lectura del conjunto vigente (no se copia en cada lectura)
+    public Set<Long> getAutoresPull() {
+        return autoresPullVista;
+    }
+
+    // Huella aproximada en bytes de los arreglos de las bandejas
+    public long memoriaEstimadaBytes() {
+        return (long) inboxes.size() * capacidadInbox * Long.BYTES;
+    }
+}
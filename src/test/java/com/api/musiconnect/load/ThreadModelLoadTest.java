@@ -0,0 +1,147 @@
+package com.api.musiconnect.load;
+
+import com.api.musiconnect.MusiconnectApplication;
+import com.api.musiconnect.model.entity.Role;
+import com.api.musiconnect.model.enums.RoleEnum;
+import com.api.musiconnect.repository.RoleRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Arnés comparativo de throughput sobre la aplicación real: levanta MusiConnect dos veces
+ * (spring.threads.virtual.enabled=false y =true) contra la base configurada y dispara GET
+ * /api/v1/bands concurrentes, que pasan por el filtro JWT, el servicio y el pool Hikari.
+ * Reporta req/s, latencias y cuántas requests no obtuvieron conexión (503) en cada modo.
+ *
+ * Sólo corre con -Dmusiconnect.loadtest=true y una base Postgres accesible:
+ *   mvn test -Dtest=ThreadModelLoadTest -Dmusiconnect.loadtest=true
+ */
+@EnabledIfSystemProperty(named = "musiconnect.loadtest", matches = "true")
+public class ThreadModelLoadTest {
+
+    private static final int REQUESTS = Integer.getInteger("musiconnect.loadtest.requests", 5_000);
+    private static final int CONCURRENCIA = Integer.getInteger("musiconnect.loadtest.concurrency", 400);
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final HttpClient cliente = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    private record Resultado(double reqPorSegundo, long p50Ms, long p99Ms, int noDisponibles, int errores) {}
+
+    @Test
+    @DisplayName("LT01: Throughput de la app con hilos de plataforma vs. hilos virtuales")
+    void compararModelosDeHilos() throws Exception {
+        Resultado plataforma = medir(false);
+        Resultado virtuales = medir(true);
+
+        System.out.printf("%n%-12s %10s %8s %8s %6s %8s%n", "Modelo", "req/s", "p50 ms", "p99 ms", "503", "errores");
+        imprimir("Plataforma", plataforma);
+        imprimir("Virtuales", virtuales);
+        System.out.printf("Requests: %d, concurrencia: %d%n%n", REQUESTS, CONCURRENCIA);
+
+        assertEquals(0, plataforma.errores());
+        assertEquals(0, virtuales.errores());
+    }
+
+    private static void imprimir(String modelo, Resultado r) {
+        System.out.printf("%-12s %10.0f %8d %8d %6d %8d%n",
+                modelo, r.reqPorSegundo(), r.p50Ms(), r.p99Ms(), r.noDisponibles(), r.errores());
+    }
+
+    private Resultado medir(boolean hilosVirtuales) throws Exception {
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(MusiconnectApplication.class)
+                .properties("server.port=0", "spring.threads.virtual.enabled=" + hilosVirtuales)
+                .run()) {
+            int puerto = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+            String base = "http://localhost:" + puerto + "/api/v1";
+            String token = registrarUsuario(base, rolMusico(contexto));
+
+            HttpRequest request = HttpRequest.newBuilder(URI.create(base + "/bands?page=0&size=20"))
+                    .header("Authorization", "Bearer " + token)
+                    .GET()
+                    .build();
+
+            // Calentamiento: JIT, pool de conexiones y caches de la app
+            for (int i = 0; i < 200; i++) {
+                cliente.send(request, HttpResponse.BodyHandlers.discarding());
+            }
+
+            long[] latencias = new long[REQUESTS];
+            int[] estados = new int[REQUESTS];
+            Semaphore enVuelo = new Semaphore(CONCURRENCIA);
+            long inicio = System.nanoTime();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> futuros = new ArrayList<>(REQUESTS);
+                for (int i = 0; i < REQUESTS; i++) {
+                    int indice = i;
+                    enVuelo.acquire();
+                    futuros.add(executor.submit(() -> {
+                        long t0 = System.nanoTime();
+                        try {
+                            estados[indice] = cliente.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } finally {
+                            latencias[indice] = (System.nanoTime() - t0) / 1_000_000;
+                            enVuelo.release();
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> futuro : futuros) {
+                    futuro.get();
+                }
+            }
+            double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+
+            Arrays.sort(latencias);
+            int noDisponibles = (int) Arrays.stream(estados).filter(e -> e == 503).count();
+            int errores = (int) Arrays.stream(estados).filter(e -> e != 200 && e != 503).count();
+            return new Resultado(REQUESTS / segundos, latencias[REQUESTS / 2],
+                    latencias[(int) (REQUESTS * 0.99)], noDisponibles, errores);
+        }
+    }
+
+    private static Long rolMusico(ConfigurableApplicationContext contexto) {
+        return contexto.getBean(RoleRepository.class).findAll().stream()
+                .filter(rol -> rol.getName() == RoleEnum.MUSICO)
+                .map(Role::getRoleId)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private String registrarUsuario(String base, Long roleId) throws Exception {
+        String sufijo = UUID.randomUUID().toString().substring(0, 8);
+        String cuerpo = """
+                {"email":"carga-%s@musiconnect.test","password":"carga123","nombreArtistico":"Carga %s",
+                 "ubicacion":"Lima","roleId":%d}""".formatted(sufijo, sufijo, roleId);
+        HttpResponse<String> respuesta = cliente.send(HttpRequest.newBuilder(URI.create(base + "/auth/signup"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(cuerpo))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(201, respuesta.statusCode(), respuesta.body());
+        Matcher token = TOKEN.matcher(respuesta.body());
+        assertTrue(token.find(), respuesta.body());
+        return token.group(1);
+    }
+}
@@ -3,23 +3,38 @@ package com.api.musiconnect.service.unit;
 import com.api.musiconnect.dto.request.AddMemberRequest;
 import com.api.musiconnect.dto.request.BandRequest;
 import com.api.musiconnect.dto.request.BandUpdateRequest;
+import com.api.musiconnect.dto.response.BandMemberResponse;
 import com.api.musiconnect.dto.response.BandResponse;
+import com.api.musiconnect.dto.response.PageResponse;
+import com.api.musiconnect.dto.response.PopularBandResponse;
+import com.api.musiconnect.exception.BadRequestException;
 import com.api.musiconnect.exception.BusinessRuleException;
 import com.api.musiconnect.exception.ResourceNotFoundException;
+import com.api.musiconnect.model.converter.GenerosMaskConverter;
 import com.api.musiconnect.model.entity.Band;
 import com.api.musiconnect.model.entity.MusicGenre;
+import com.api.musiconnect.model.entity.Role;
 import com.api.musiconnect.model.entity.User;
 import com.api.musiconnect.model.enums.MusicGenreEnum;
+import com.api.musiconnect.model.enums.RoleEnum;
 import com.api.musiconnect.repository.BandRepository;
-import com.api.musiconnect.repository.MusicGenreRepository;
 import com.api.musiconnect.repository.UserRepository;
+import com.api.musiconnect.repository.projection.BandaListado;
+import com.api.musiconnect.repository.projection.BandaPopular;
+import com.api.musiconnect.repository.projection.MiembroBanda;
 import com.api.musiconnect.service.BandService;
+import com.api.musiconnect.service.banda.RankingBandas;
+import com.api.musiconnect.service.referencia.ReferenceDataCache;
+import com.api.musiconnect.service.seguimiento.GrafoSeguimientos;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import static org.mockito.Mockito.lenient;
 import java.util.*;
 
@@ -31,7 +46,9 @@ public class BandServiceUnitTest {
 
     @Mock private BandRepository bandRepository;
     @Mock private UserRepository userRepository;
-    @Mock private MusicGenreRepository musicGenreRepository;
+    @Mock private ReferenceDataCache referenceDataCache;
+    @Mock private RankingBandas rankingBandas;
+    @Mock private GrafoSeguimientos grafoSeguimientos;
 
     @InjectMocks private BandService bandService;
 
@@ -57,7 +74,7 @@ public class BandServiceUnitTest {
 
         when(bandRepository.existsByNombreIgnoreCase("Mi Banda")).thenReturn(false);
         when(userRepository.findById(1L)).thenReturn(Optional.of(adminUser));
-        when(musicGenreRepository.findAllByNombreIn(List.of(MusicGenreEnum.ROCK, MusicGenreEnum.JAZZ))).thenReturn(generos);
+        when(referenceDataCache.getGeneros(List.of(MusicGenreEnum.ROCK, MusicGenreEnum.JAZZ))).thenReturn(generos);
 
         when(bandRepository.save(any(Band.class))).thenAnswer(invocation -> {
             Band banda = invocation.getArgument(0);
@@ -106,7 +123,7 @@ public class BandServiceUnitTest {
         BandRequest request = new BandRequest("Mi Banda", "desc", List.of("ROCK", "JAZZ"), 1L);
         when(bandRepository.existsByNombreIgnoreCase("Mi Banda")).thenReturn(false);
         when(userRepository.findById(1L)).thenReturn(Optional.of(adminUser));
-        when(musicGenreRepository.findAllByNombreIn(any())).thenReturn(List.of(new MusicGenre(1L, MusicGenreEnum.ROCK)));
+        when(referenceDataCache.getGeneros(any())).thenReturn(List.of(new MusicGenre(1L, MusicGenreEnum.ROCK)));
 
         assertThrows(BusinessRuleException.class, () -> bandService.crearBanda(request));
     }
@@ -130,6 +147,7 @@ public class BandServiceUnitTest {
         // Mocks
         when(bandRepository.findById(1L)).thenReturn(Optional.of(banda));
         when(userRepository.findById(2L)).thenReturn(Optional.of(nuevoIntegrante));
+        when(bandRepository.agregarMiembro(1L, 2L)).thenReturn(1);
 
         // Imprimir para debug
         System.out.println("Admin User ID en test: " + adminUser.getUserId());
@@ -139,10 +157,33 @@ public class BandServiceUnitTest {
         Map<String, String> response = bandService.addIntegrante(1L, request);
 
         // Verificar
-        assertTrue(banda.getMiembros().contains(nuevoIntegrante));
+        verify(bandRepository).agregarMiembro(1L, 2L);
+        verify(bandRepository).incrementarMiembros(1L);
         assertEquals("Integrante añadido correctamente", response.get("message"));
     }
 
+    @Test
+    void addIntegrante_yaEsMiembro_noDeberiaIncrementarContador() {
+        Role musico = new Role();
+        musico.setName(RoleEnum.MUSICO);
+        User integrante = new User();
+        integrante.setUserId(2L);
+        integrante.setDisponibilidad(true);
+        integrante.setRole(musico);
+
+        Band banda = new Band();
+        banda.setBandId(1L);
+        banda.setAdministrador(adminUser);
+
+        when(bandRepository.findById(1L)).thenReturn(Optional.of(banda));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(integrante));
+        when(bandRepository.agregarMiembro(1L, 2L)).thenReturn(0);
+
+        assertThrows(BusinessRuleException.class,
+                () -> bandService.addIntegrante(1L, new AddMemberRequest(2L, 1L)));
+        verify(bandRepository, never()).incrementarMiembros(any());
+    }
+
 
     @Test
     void addIntegrante_deberiaFallar_siNoEsAdmin() {
@@ -190,7 +231,7 @@ public class BandServiceUnitTest {
 
         when(bandRepository.findById(1L)).thenReturn(Optional.of(banda));
         when(bandRepository.existsByNombreIgnoreCase("NuevoNombre")).thenReturn(false);
-        when(musicGenreRepository.findAllByNombreIn(List.of(MusicGenreEnum.ROCK, MusicGenreEnum.JAZZ))).thenReturn(generos);
+        when(referenceDataCache.getGeneros(List.of(MusicGenreEnum.ROCK, MusicGenreEnum.JAZZ))).thenReturn(generos);
 
         bandService.updateBand(1L, request);
 
@@ -248,9 +289,128 @@ public class BandServiceUnitTest {
         BandUpdateRequest request = new BandUpdateRequest("Nombre", "desc", List.of("ROCK", "JAZZ"), 1L);
 
         when(bandRepository.findById(1L)).thenReturn(Optional.of(banda));
-        when(musicGenreRepository.findAllByNombreIn(any())).thenReturn(List.of(new MusicGenre(1L, MusicGenreEnum.ROCK)));
+        when(referenceDataCache.getGeneros(any())).thenReturn(List.of(new MusicGenre(1L, MusicGenreEnum.ROCK)));
 
         assertThrows(BusinessRuleException.class, () -> bandService.updateBand(1L, request));
     }
 
-}
\ No newline at end of file
+    @Test
+    void obtenerBandas_deberiaFiltrarPorGenerosYPrefijo() {
+        BandaListado fila = mock(BandaListado.class);
+        when(fila.getBandId()).thenReturn(1L);
+        when(fila.getNombre()).thenReturn("Los Rockeros");
+        when(fila.getAdministradorNombreArtistico()).thenReturn("Admin");
+        when(fila.getGenerosMask()).thenReturn(GenerosMaskConverter.bit(MusicGenreEnum.ROCK));
+
+        int mask = GenerosMaskConverter.bit(MusicGenreEnum.ROCK) | GenerosMaskConverter.bit(MusicGenreEnum.JAZZ);
+        when(bandRepository.findListado(mask, "los%", PageRequest.of(0, 20)))
+                .thenReturn(new PageImpl<>(List.of(fila), PageRequest.of(0, 20), 1));
+
+        PageResponse<BandResponse> pagina = bandService.obtenerBandas(List.of("rock", "JAZZ"), " Los", 0, 20);
+
+        assertEquals(1, pagina.totalElementos());
+        BandResponse banda = pagina.contenido().get(0);
+        assertEquals("Los Rockeros", banda.nombre());
+        assertEquals("Admin", banda.administradorNombreArtistico());
+        assertEquals(List.of("ROCK"), banda.generosMusicales());
+        verify(bandRepository, never()).findAll();
+    }
+
+    @Test
+    void obtenerBandas_sinFiltros_deberiaEscaparComodinesYNoFiltrarGenero() {
+        when(bandRepository.findListado(eq(0), anyString(), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 10), 0));
+
+        bandService.obtenerBandas(null, null, 0, 10);
+        bandService.obtenerBandas(null, "50%_", 0, 10);
+
+        verify(bandRepository).findListado(0, "%", PageRequest.of(0, 10));
+        verify(bandRepository).findListado(0, "50\\%\\_%", PageRequest.of(0, 10));
+    }
+
+    @Test
+    void obtenerBandas_deberiaFallar_siGeneroOPaginaInvalidos() {
+        assertThrows(BusinessRuleException.class, () -> bandService.obtenerBandas(List.of("INVALIDO"), null, 0, 20));
+        assertThrows(BadRequestException.class, () -> bandService.obtenerBandas(null, null, 0, 101));
+        verifyNoInteractions(bandRepository);
+    }
+
+    @Test
+    void obtenerMiembros_deberiaPaginarDesdeLaTablaDeUnion() {
+        MiembroBanda miembro = mock(MiembroBanda.class);
+        when(miembro.getUserId()).thenReturn(2L);
+        when(miembro.getNombreArtistico()).thenReturn("Bajista");
+        when(bandRepository.findMiembros(1L, PageRequest.of(1, 1)))
+                .thenReturn(new PageImpl<>(List.of(miembro), PageRequest.of(1, 1), 3));
+
+        PageResponse<BandMemberResponse> pagina = bandService.obtenerMiembrosDeBanda(1L, 1, 1);
+
+        assertEquals(List.of(new BandMemberResponse(2L, "Bajista")), pagina.contenido());
+        assertEquals(3, pagina.totalElementos());
+        verify(bandRepository, never()).findById(any());
+        verify(bandRepository, never()).existsById(any());
+    }
+
+    @Test
+    void obtenerMiembros_deberiaFallar_siBandaNoExiste() {
+        when(bandRepository.findMiembros(eq(9L), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 20), 0));
+        when(bandRepository.existsById(9L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> bandService.obtenerMiembrosDeBanda(9L, 0, 20));
+    }
+
+    @Test
+    void obtenerMiembroPorId_deberiaConsultarSoloEseIntegrante() {
+        when(bandRepository.findNombreMiembro(1L, 2L)).thenReturn(Optional.of("Bajista"));
+        when(bandRepository.findNombreMiembro(1L, 3L)).thenReturn(Optional.empty());
+        when(bandRepository.existsById(1L)).thenReturn(true);
+
+        assertEquals("Bajista", bandService.obtenerMiembroDeBandaPorId(1L, 2L));
+        ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class,
+                () -> bandService.obtenerMiembroDeBandaPorId(1L, 3L));
+        assertEquals("Miembro no pertenece a la banda.", ex.getMessage());
+        verify(bandRepository, never()).findById(any());
+    }
+
+    @Test
+    void obtenerBandasPopulares_deberiaUsarElRankingEnMemoria() {
+        List<PopularBandResponse> top = List.of(new PopularBandResponse(1L, "Los Rockeros", 10L, List.of("ROCK")));
+        when(rankingBandas.getTamanio()).thenReturn(50);
+        when(rankingBandas.isDisponible()).thenReturn(true);
+        when(rankingBandas.top(MusicGenreEnum.ROCK, 5)).thenReturn(top);
+
+        assertEquals(top, bandService.obtenerBandasPopulares("rock", 5));
+        verifyNoInteractions(bandRepository);
+    }
+
+    @Test
+    void obtenerBandasPopulares_sinRanking_deberiaConsultarLaBase() {
+        BandaPopular fila = mock(BandaPopular.class);
+        when(fila.getBandId()).thenReturn(1L);
+        when(fila.getSeguidoresCount()).thenReturn(7L);
+        when(rankingBandas.getTamanio()).thenReturn(50);
+        when(rankingBandas.isDisponible()).thenReturn(false);
+        when(bandRepository.findMasSeguidas(0, PageRequest.of(0, 10))).thenReturn(List.of(fila));
+
+        List<PopularBandResponse> populares = bandService.obtenerBandasPopulares(null, 10);
+
+        assertEquals(1, populares.size());
+        assertEquals(7L, populares.get(0).totalSeguidores());
+        assertThrows(BadRequestException.class, () -> bandService.obtenerBandasPopulares(null, 51));
+        assertThrows(BusinessRuleException.class, () -> bandService.obtenerBandasPopulares("INVALIDO", 10));
+    }
+
+    @Test
+    void eliminarBanda_deberiaQuitarSusSeguidoresDelGrafo() {
+        Band banda = Band.builder().bandId(1L).nombre("Los Rockeros").administrador(adminUser).build();
+        when(bandRepository.findById(1L)).thenReturn(Optional.of(banda));
+
+        assertEquals("Banda eliminada exitosamente.", bandService.eliminarBanda(1L, 1L).get("message"));
+        verify(bandRepository).delete(banda);
+        verify(grafoSeguimientos).quitarBandaCompleta(1L);
+
+        assertThrows(BusinessRuleException.class, () -> bandService.eliminarBanda(1L, 2L));
+        verifyNoMoreInteractions(grafoSeguimientos);
+    }
+}
@@ -0,0 +1,102 @@
+package com.api.musiconnect.service.unit;
+
+import com.api.musiconnect.repository.ConvocationArchivoRepository;
+import com.api.musiconnect.repository.ConvocationFavoriteRepository;
+import com.api.musiconnect.repository.ConvocationRepository;
+import com.api.musiconnect.service.convocatoria.BarridoConvocatoriasVencidas;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BarridoConvocatoriasVencidasUnitTest {
+
+    @Mock
+    private ConvocationRepository convocationRepository;
+    @Mock
+    private ConvocationFavoriteRepository convocationFavoriteRepository;
+    @Mock
+    private ConvocationArchivoRepository convocationArchivoRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private BarridoConvocatoriasVencidas barrido(boolean archivar, int tamanioLote, int maxLotes) {
+        return new BarridoConvocatoriasVencidas(convocationRepository, convocationFavoriteRepository,
+                convocationArchivoRepository, new TransactionTemplate(transactionManager), meterRegistry,
+                true, archivar, tamanioLote, maxLotes);
+    }
+
+    private double barridas(String accion) {
+        return meterRegistry.get("musiconnect.convocations.swept").tag("accion", accion).counter().count();
+    }
+
+    @Test
+    @DisplayName("BC01: Desactiva las vencidas por lotes, con una transacción por lote")
+    void barrer_DeberiaDesactivarPorLotes() {
+        when(convocationRepository.reclamarVencidas(eq(LocalDate.now()), eq(2)))
+                .thenReturn(List.of(1L, 2L), List.of(3L, 4L), List.of(5L));
+
+        int procesadas = barrido(false, 2, 10).barrer();
+
+        assertEquals(5, procesadas);
+        verify(convocationRepository).desactivar(List.of(1L, 2L));
+        verify(convocationRepository).desactivar(List.of(3L, 4L));
+        verify(convocationRepository).desactivar(List.of(5L));
+        verify(transactionManager, times(3)).commit(any());
+        verifyNoInteractions(convocationArchivoRepository);
+        assertEquals(5, barridas("desactivada"));
+        assertEquals(1, meterRegistry.get("musiconnect.convocations.sweep.duration").timer().count());
+    }
+
+    @Test
+    @DisplayName("BC02: Con archivo habilitado copia, borra favoritos y quita las vencidas de la tabla")
+    void barrer_ConArchivo_DeberiaMoverAlArchivo() {
+        when(convocationRepository.reclamarVencidas(any(LocalDate.class), anyInt()))
+                .thenReturn(List.of(7L, 8L));
+
+        int procesadas = barrido(true, 10, 10).barrer();
+
+        assertEquals(2, procesadas);
+        verify(convocationArchivoRepository).archivar(eq(List.of(7L, 8L)), any(LocalDateTime.class));
+        verify(convocationFavoriteRepository).eliminarPorConvocatorias(List.of(7L, 8L));
+        verify(convocationRepository).eliminarPorIds(List.of(7L, 8L));
+        verify(convocationRepository, never()).desactivar(any());
+        assertEquals(2, barridas("archivada"));
+    }
+
+    @Test
+    @DisplayName("BC03: Una corrida no supera el máximo de lotes; el resto queda para la siguiente")
+    void barrer_MaximoDeLotes_DeberiaCortar() {
+        when(convocationRepository.reclamarVencidas(any(LocalDate.class), anyInt()))
+                .thenReturn(List.of(1L, 2L));
+
+        int procesadas = barrido(false, 2, 3).barrer();
+
+        assertEquals(6, procesadas);
+        verify(convocationRepository, times(3)).desactivar(any());
+    }
+
+    @Test
+    @DisplayName("BC04: Sin convocatorias vencidas no modifica nada")
+    void barrer_SinVencidas_NoDeberiaModificar() {
+        when(convocationRepository.reclamarVencidas(any(LocalDate.class), anyInt())).thenReturn(List.of());
+
+        assertEquals(0, barrido(false, 100, 10).barrer());
+        verify(convocationRepository, never()).desactivar(any());
+    }
+}
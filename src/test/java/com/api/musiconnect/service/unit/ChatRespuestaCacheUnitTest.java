@@ -0,0 +1,145 @@
+package com.api.musiconnect.service.unit;
+
+import com.api.musiconnect.service.ai.ChatRespuestaCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChatRespuestaCacheUnitTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ChatRespuestaCache cache(boolean agrupar) {
+        return new ChatRespuestaCache(meterRegistry, true, 100, 3600, agrupar);
+    }
+
+    private double contador(String resultado) {
+        return meterRegistry.get("musiconnect.ai.cache").tag("resultado", resultado).counter().count();
+    }
+
+    @Test
+    @DisplayName("RA01: Prompts equivalentes tras normalizar se responden desde la caché")
+    void obtener_PromptEquivalente_DeberiaUsarCache() {
+        ChatRespuestaCache cache = cache(false);
+        AtomicInteger llamadas = new AtomicInteger();
+
+        String primera = cache.obtener("¿Cómo creo una banda?", "", () -> "respuesta " + llamadas.incrementAndGet());
+        String segunda = cache.obtener("  cómo   creo una BANDA ", "", () -> "respuesta " + llamadas.incrementAndGet());
+
+        assertEquals("respuesta 1", primera);
+        assertEquals("respuesta 1", segunda);
+        assertEquals(1, llamadas.get());
+        assertEquals(1, contador("hit"));
+        assertEquals(1, contador("miss"));
+        assertEquals(1, meterRegistry.get("musiconnect.ai.cache.saved-latency").timer().count());
+    }
+
+    @Test
+    @DisplayName("RA02: Un error del modelo no se guarda en la caché")
+    void obtener_ErrorDelModelo_NoDeberiaGuardarse() {
+        ChatRespuestaCache cache = cache(true);
+
+        assertThrows(IllegalStateException.class,
+                () -> cache.obtener("hola", "", () -> { throw new IllegalStateException("caído"); }));
+        assertEquals("ok", cache.obtener("hola", "", () -> "ok"));
+        assertEquals(0, contador("hit"));
+    }
+
+    @Test
+    @DisplayName("RA03: Llamadas concurrentes con el mismo prompt comparten una sola llamada al modelo")
+    void obtener_Concurrentes_DeberianAgruparse() throws Exception {
+        ChatRespuestaCache cache = cache(true);
+        AtomicInteger llamadas = new AtomicInteger();
+        CountDownLatch enModelo = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+
+        try {
+            Future<String> primera = pool.submit(() -> cache.obtener("géneros populares", "", () -> {
+                llamadas.incrementAndGet();
+                enModelo.countDown();
+                try {
+                    liberar.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "rock y pop";
+            }));
+            assertTrue(enModelo.await(5, TimeUnit.SECONDS));
+
+            List<Future<String>> resto = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                resto.add(pool.submit(() -> cache.obtener("Géneros populares", "", () -> {
+                    llamadas.incrementAndGet();
+                    return "otra";
+                })));
+            }
+            // Espera a que las tres queden agrupadas sobre la llamada en curso
+            long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (contador("agrupada") < 3 && System.nanoTime() < limite) {
+                Thread.sleep(5);
+            }
+            liberar.countDown();
+
+            assertEquals("rock y pop", primera.get(5, TimeUnit.SECONDS));
+            for (Future<String> f : resto) {
+                assertEquals("rock y pop", f.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, llamadas.get());
+            assertEquals(3, contador("agrupada"));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("RA04: Normalización de prompts")
+    void normalizar_DeberiaIgnorarMayusculasEspaciosYPuntuacion() {
+        assertEquals("cómo creo una banda", ChatRespuestaCache.normalizar("¿Cómo  creo\nuna banda?"));
+        assertEquals("hola", ChatRespuestaCache.normalizar("  HOLA!!  "));
+    }
+
+    @Test
+    @DisplayName("RA05: La misma pregunta con otro contexto no comparte la respuesta")
+    void obtener_OtroContexto_NoDeberiaUsarCache() {
+        ChatRespuestaCache cache = cache(false);
+        AtomicInteger llamadas = new AtomicInteger();
+
+        cache.obtener("bandas recomendadas", "Bandas de tus géneros:\n- Los Truenos", () -> "r" + llamadas.incrementAndGet());
+        cache.obtener("bandas recomendadas", "Bandas de tus géneros:\n- Salsa Brava", () -> "r" + llamadas.incrementAndGet());
+        String repetida = cache.obtener("¿Bandas recomendadas?", "Bandas de tus géneros:\n- Los Truenos", () -> "otra");
+
+        assertEquals("r1", repetida);
+        assertEquals(2, llamadas.get());
+    }
+
+    @Test
+    @DisplayName("RA06: El streaming guarda la respuesta completa y la entrega desde la caché en un solo fragmento")
+    void obtenerEnStream_DeberiaGuardarYServirDesdeCache() {
+        ChatRespuestaCache cache = cache(true);
+        List<String> primera = new ArrayList<>();
+        List<String> segunda = new ArrayList<>();
+
+        cache.obtenerEnStream("hola", "", destino -> {
+            destino.accept("Hola, ");
+            destino.accept("¿en qué te ayudo?");
+        }, primera::add);
+        cache.obtenerEnStream("Hola!", "", destino -> fail("No debería llamar al modelo"), segunda::add);
+
+        assertEquals(List.of("Hola, ", "¿en qué te ayudo?"), primera);
+        assertEquals(List.of("Hola, ¿en qué te ayudo?"), segunda);
+        assertEquals("Hola, ¿en qué te ayudo?", cache.obtener("hola", "", () -> "otra"));
+        assertEquals(2, contador("hit"));
+    }
+}
@@ -0,0 +1,76 @@
+package com.api.musiconnect.service.unit;
+
+import com.api.musiconnect.service.ai.limite.ChatUsoStoreEnMemoria;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChatUsoStoreEnMemoriaUnitTest {
+
+    @Test
+    @DisplayName("RL01: El bucket admite la ráfaga configurada y luego indica la espera")
+    void reservar_SuperaRafaga_DeberiaIndicarEspera() {
+        ChatUsoStoreEnMemoria store = new ChatUsoStoreEnMemoria(60, 3, 3600);
+
+        assertEquals(0, store.reservar(1L));
+        assertEquals(0, store.reservar(1L));
+        assertEquals(0, store.reservar(1L));
+        long espera = store.reservar(1L);
+
+        assertTrue(espera > 0 && espera <= 1_000, "Espera: " + espera);
+        // Otro usuario tiene su propio bucket
+        assertEquals(0, store.reservar(2L));
+    }
+
+    @Test
+    @DisplayName("RL02: Los tokens se reponen con el tiempo")
+    void reservar_TrasEsperar_DeberiaAdmitir() throws Exception {
+        ChatUsoStoreEnMemoria store = new ChatUsoStoreEnMemoria(600, 1, 3600);
+
+        assertEquals(0, store.reservar(1L));
+        assertTrue(store.reservar(1L) > 0);
+        Thread.sleep(120);
+
+        assertEquals(0, store.reservar(1L));
+    }
+
+    @Test
+    @DisplayName("RL03: Con solicitudes concurrentes se admiten exactamente los tokens disponibles")
+    void reservar_Concurrente_NoDeberiaExcederRafaga() throws Exception {
+        ChatUsoStoreEnMemoria store = new ChatUsoStoreEnMemoria(1, 10, 3600);
+        AtomicInteger admitidas = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+
+        for (int i = 0; i < 100; i++) {
+            pool.submit(() -> {
+                if (store.reservar(1L) == 0) {
+                    admitidas.incrementAndGet();
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(10, admitidas.get());
+    }
+
+    @Test
+    @DisplayName("RL04: Los bytes se acumulan por usuario y salen de la ventana al vencer")
+    void bytesEnVentana_DeberiaDescartarLoVencido() throws Exception {
+        ChatUsoStoreEnMemoria store = new ChatUsoStoreEnMemoria(60, 5, 1);
+
+        store.registrarBytes(1L, 100);
+        store.registrarBytes(1L, 50);
+        assertEquals(150, store.bytesEnVentana(1L));
+        assertEquals(0, store.bytesEnVentana(2L));
+
+        Thread.sleep(1_200);
+        assertEquals(0, store.bytesEnVentana(1L));
+    }
+}
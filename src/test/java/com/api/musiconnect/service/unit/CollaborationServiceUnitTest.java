@@ -481,11 +481,13 @@ class CollaborationServiceUnitTest {
         when(collaborationRepository.findById(1L)).thenReturn(Optional.of(colaboracion));
         when(userRepository.findByNombreArtisticoIgnoreCase("JoseArt"))
                 .thenReturn(Optional.of(user));
+        when(collaborationRepository.agregarColaborador(1L, 2L)).thenReturn(1);
 
         Map<String, String> result = collaborationService.addColaborador(1L, "JoseArt");
 
         assertEquals("Colaborador añadido correctamente", result.get("message"));
-        verify(collaborationRepository).save(colaboracion);
+        verify(collaborationRepository).agregarColaborador(1L, 2L);
+        verify(collaborationRepository, never()).save(any());
     }
 
     @Test
@@ -541,6 +543,7 @@ class CollaborationServiceUnitTest {
         when(collaborationRepository.findById(1L)).thenReturn(Optional.of(colaboracion));
         when(userRepository.findByNombreArtisticoIgnoreCase("JoseArt"))
                 .thenReturn(Optional.of(user));
+        when(collaborationRepository.agregarColaborador(1L, 2L)).thenReturn(0);
 
         assertThrows(BusinessRuleException.class,
                 () -> collaborationService.addColaborador(1L, "JoseArt"));
@@ -0,0 +1,59 @@
+package com.api.musiconnect.service.unit;
+
+import com.api.musiconnect.dto.response.ComentarioResponse;
+import com.api.musiconnect.dto.response.CursorPageResponse;
+import com.api.musiconnect.repository.ComentarioRepository;
+import com.api.musiconnect.repository.projection.ComentarioResumen;
+import com.api.musiconnect.service.ComentarioHydrationService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ComentarioHydrationServiceUnitTest {
+
+    @Mock
+    private ComentarioRepository comentarioRepository;
+
+    @InjectMocks
+    private ComentarioHydrationService hydrationService;
+
+    private ComentarioResumen resumen(long comentarioId, long postId, LocalDateTime fecha) {
+        return new ComentarioResumen() {
+            public Long getComentarioId() { return comentarioId; }
+            public Long getPostId() { return postId; }
+            public String getContenido() { return "Comentario " + comentarioId; }
+            public LocalDateTime getFechaComentario() { return fecha; }
+            public String getAutor() { return "Autor"; }
+        };
+    }
+
+    @Test
+    @DisplayName("CH02: Limitar comentarios por post y devolver cursor para cargar más")
+    void cargarPorPosts_ConLimite_DeberiaDevolverCursor() {
+        LocalDateTime ahora = LocalDateTime.now();
+        when(comentarioRepository.findPrimerosPorPost(List.of(1L, 2L), 3)).thenReturn(List.of(
+                resumen(10L, 1L, ahora),
+                resumen(11L, 1L, ahora.plusSeconds(1)),
+                resumen(12L, 1L, ahora.plusSeconds(2)),
+                resumen(20L, 2L, ahora)));
+
+        Map<Long, CursorPageResponse<ComentarioResponse>> resultado = hydrationService.cargarPorPosts(List.of(1L, 2L), 2);
+
+        assertEquals(2, resultado.get(1L).contenido().size());
+        assertTrue(resultado.get(1L).hayMas());
+        assertNotNull(resultado.get(1L).siguienteCursor());
+        assertEquals(1, resultado.get(2L).contenido().size());
+        assertFalse(resultado.get(2L).hayMas());
+    }
+}
@@ -0,0 +1,155 @@
+package com.api.musiconnect.service.unit;
+
+import com.api.musiconnect.model.converter.GenerosMaskConverter;
+import com.api.musiconnect.model.enums.CollaborationStatus;
+import com.api.musiconnect.model.enums.MusicGenreEnum;
+import com.api.musiconnect.repository.BandRepository;
+import com.api.musiconnect.repository.CollaborationRepository;
+import com.api.musiconnect.repository.ConvocationRepository;
+import com.api.musiconnect.repository.UserRepository;
+import com.api.musiconnect.repository.projection.BandaResumen;
+import com.api.musiconnect.repository.projection.ColaboracionResumen;
+import com.api.musiconnect.repository.projection.ConvocatoriaResumen;
+import com.api.musiconnect.service.ai.ContextoChatService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ContextoChatServiceUnitTest {
+
+    @Mock
+    private ConvocationRepository convocationRepository;
+    @Mock
+    private CollaborationRepository collaborationRepository;
+    @Mock
+    private BandRepository bandRepository;
+    @Mock
+    private UserRepository userRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ContextoChatService servicio(int maxTokens) {
+        return new ContextoChatService(convocationRepository, collaborationRepository, bandRepository,
+                userRepository, meterRegistry, true, maxTokens, 5, 60);
+    }
+
+    private static ConvocatoriaResumen convocatoria(String titulo) {
+        return new ConvocatoriaResumen() {
+            public String getTitulo() { return titulo; }
+            public LocalDate getFechaLimite() { return LocalDate.of(2030, 1, 15); }
+        };
+    }
+
+    private static ColaboracionResumen colaboracion(String titulo) {
+        return new ColaboracionResumen() {
+            public String getTitulo() { return titulo; }
+            public CollaborationStatus getEstado() { return CollaborationStatus.EN_PROGRESO; }
+            public LocalDate getFechaFin() { return LocalDate.of(2030, 3, 1); }
+        };
+    }
+
+    private static BandaResumen banda(String nombre, EnumSet<MusicGenreEnum> generos) {
+        return new BandaResumen() {
+            public String getNombre() { return nombre; }
+            public Integer getGenerosMask() { return GenerosMaskConverter.toMask(generos); }
+        };
+    }
+
+    @Test
+    @DisplayName("CX01: Arma el bloque con convocatorias, colaboraciones y bandas de los géneros del usuario")
+    void construir_DeberiaIncluirTodasLasSecciones() {
+        int maskRock = GenerosMaskConverter.bit(MusicGenreEnum.ROCK);
+        when(convocationRepository.findResumenActivas(any(), any())).thenReturn(List.of(convocatoria("Festival de verano")));
+        when(collaborationRepository.findResumenByEstadoIn(any(), any())).thenReturn(List.of(colaboracion("Disco acústico")));
+        when(userRepository.findGenerosMaskByUserId(7L)).thenReturn(Optional.of(maskRock));
+        when(bandRepository.findResumenByGenerosMask(eq(maskRock), any()))
+                .thenReturn(List.of(banda("Los Truenos", EnumSet.of(MusicGenreEnum.ROCK, MusicGenreEnum.BLUES))));
+
+        String contexto = servicio(400).construir(7L);
+
+        assertTrue(contexto.contains("- Festival de verano (cierra el 2030-01-15)"));
+        assertTrue(contexto.contains("- Disco acústico (EN_PROGRESO, termina el 2030-03-01)"));
+        assertTrue(contexto.contains("- Los Truenos (ROCK, BLUES)"));
+        assertEquals(1, meterRegistry.get("musiconnect.ai.context.stage").tag("etapa", "bandas").timer().count());
+    }
+
+    @Test
+    @DisplayName("CX02: El bloque respeta el presupuesto de tokens")
+    void construir_DeberiaRespetarPresupuesto() {
+        List<ConvocatoriaResumen> muchas = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            muchas.add(convocatoria("Convocatoria con un título bastante largo número " + i));
+        }
+        when(convocationRepository.findResumenActivas(any(), any())).thenReturn(muchas);
+        when(collaborationRepository.findResumenByEstadoIn(any(), any())).thenReturn(List.of(colaboracion("Disco")));
+
+        String contexto = servicio(60).construir(null);
+
+        assertTrue(contexto.length() <= 60 * 4, "Largo: " + contexto.length());
+        assertTrue(contexto.contains("Convocatoria con un título bastante largo número 0"));
+        assertFalse(contexto.contains("número 4"));
+        assertTrue(contexto.contains("- Disco"));
+        verifyNoInteractions(bandRepository, userRepository);
+    }
+
+    @Test
+    @DisplayName("CX03: El contexto del usuario se sirve desde la caché mientras está vigente")
+    void construir_SegundaVez_DeberiaUsarCache() {
+        when(convocationRepository.findResumenActivas(any(), any())).thenReturn(List.of(convocatoria("Festival")));
+        when(collaborationRepository.findResumenByEstadoIn(any(), any())).thenReturn(List.of());
+        when(userRepository.findGenerosMaskByUserId(7L)).thenReturn(Optional.empty());
+        ContextoChatService service = servicio(400);
+
+        String primero = service.construir(7L);
+        String segundo = service.construir(7L);
+
+        assertEquals(primero, segundo);
+        verify(convocationRepository, times(1)).findResumenActivas(any(), any());
+        verify(bandRepository, never()).findResumenByGenerosMask(anyInt(), any());
+        assertEquals(1, meterRegistry.get("musiconnect.ai.context.cache").tag("resultado", "hit").counter().count());
+    }
+
+    @Test
+    @DisplayName("CX04: Sin datos en la plataforma no se agrega contexto")
+    void construir_SinDatos_DeberiaRetornarVacio() {
+        when(convocationRepository.findResumenActivas(any(), any())).thenReturn(List.of());
+        when(collaborationRepository.findResumenByEstadoIn(any(), any())).thenReturn(List.of());
+
+        assertEquals("", servicio(400).construir(null));
+    }
+
+    @Test
+    @DisplayName("CX05: Usuarios con los mismos géneros comparten el bloque de contexto")
+    void construir_MismosGeneros_DeberiaCompartirBloque() {
+        int maskRock = GenerosMaskConverter.bit(MusicGenreEnum.ROCK);
+        when(convocationRepository.findResumenActivas(any(), any())).thenReturn(List.of(convocatoria("Festival")));
+        when(collaborationRepository.findResumenByEstadoIn(any(), any())).thenReturn(List.of());
+        when(userRepository.findGenerosMaskByUserId(7L)).thenReturn(Optional.of(maskRock));
+        when(userRepository.findGenerosMaskByUserId(8L)).thenReturn(Optional.of(maskRock));
+        when(bandRepository.findResumenByGenerosMask(eq(maskRock), any()))
+                .thenReturn(List.of(banda("Los Truenos", EnumSet.of(MusicGenreEnum.ROCK))));
+        ContextoChatService service = servicio(400);
+
+        String primero = service.construir(7L);
+        String segundo = service.construir(8L);
+
+        assertSame(primero, segundo);
+        verify(bandRepository, times(1)).findResumenByGenerosMask(anyInt(), any());
+        verify(convocationRepository, times(1)).findResumenActivas(any(), any());
+    }
+}
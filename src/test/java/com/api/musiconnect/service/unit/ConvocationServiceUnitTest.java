@@ -4,6 +4,8 @@ import com.api.musiconnect.dto.request.ConvocationRequest;
 import com.api.musiconnect.dto.request.ConvocationUpdateRequest;
 import com.api.musiconnect.dto.request.FavoriteConvocationRequest;
 import com.api.musiconnect.dto.response.ConvocationResponse;
+import com.api.musiconnect.dto.response.PageResponse;
+import com.api.musiconnect.exception.BadRequestException;
 import com.api.musiconnect.exception.BusinessRuleException;
 import com.api.musiconnect.exception.ResourceNotFoundException;
 import com.api.musiconnect.mapper.ConvocationMapper;
@@ -17,10 +19,15 @@ import com.api.musiconnect.service.ConvocationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import java.time.LocalDate;
 import java.util.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -66,6 +73,7 @@ public class ConvocationServiceUnitTest {
                 "Descripción",
                 LocalDate.now().plusDays(5),
                 "UsuarioPrueba",
+                0L,
                 "Convocatoria creada exitosamente."
         );
 
@@ -219,28 +227,29 @@ public class ConvocationServiceUnitTest {
         ConvocationResponse res1 = mock(ConvocationResponse.class);
         ConvocationResponse res2 = mock(ConvocationResponse.class);
 
-        when(convocationRepository.findAll()).thenReturn(activas);
+        when(convocationRepository.findActivas(eq(LocalDate.now()), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(activas, PageRequest.of(0, 20), 2));
 
         try (MockedStatic<ConvocationMapper> mocked = mockStatic(ConvocationMapper.class)) {
             mocked.when(() -> ConvocationMapper.toResponse(conv1)).thenReturn(res1);
             mocked.when(() -> ConvocationMapper.toResponse(conv2)).thenReturn(res2);
 
-            List<ConvocationResponse> result = convocationService.listarConvocatoriasActivas();
+            PageResponse<ConvocationResponse> result = convocationService.listarConvocatoriasActivas(0, 20, "fecha_limite");
 
-            assertEquals(2, result.size());
-            assertTrue(result.containsAll(List.of(res1, res2)));
+            assertEquals(2, result.contenido().size());
+            assertTrue(result.contenido().containsAll(List.of(res1, res2)));
+            assertEquals(2, result.totalElementos());
+            assertEquals(1, result.totalPaginas());
         }
     }
 
     @Test
     @DisplayName("CP10 - Listar convocatorias activas sin resultados lanza excepción")
     void listarConvocatoriasActivas_sinResultados_lanzaExcepcion() {
-        Convocation inactiva = new Convocation();
-        inactiva.setActiva(false);
+        when(convocationRepository.findActivas(any(LocalDate.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 20), 0));
 
-        when(convocationRepository.findAll()).thenReturn(List.of(inactiva));
-
-        assertThrows(BusinessRuleException.class, () -> convocationService.listarConvocatoriasActivas());
+        assertThrows(BusinessRuleException.class, () -> convocationService.listarConvocatoriasActivas(0, 20, "fecha_limite"));
     }
 
     @Test
@@ -248,60 +257,50 @@ public class ConvocationServiceUnitTest {
     void listarConvocatoriasFavoritas_usuarioConFavoritosActivos_retornaLista() {
         Long userId = 1L;
 
-        User user = new User();
-        user.setUserId(userId);
-
         Convocation conv1 = new Convocation();
         conv1.setActiva(true);
         Convocation conv2 = new Convocation();
         conv2.setActiva(true);
 
-        ConvocationFavorite fav1 = new ConvocationFavorite();
-        fav1.setConvocatoria(conv1);
-        ConvocationFavorite fav2 = new ConvocationFavorite();
-        fav2.setConvocatoria(conv2);
-
         ConvocationResponse res1 = mock(ConvocationResponse.class);
         ConvocationResponse res2 = mock(ConvocationResponse.class);
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(convocationFavoriteRepository.findByUsuarioUserId(userId)).thenReturn(List.of(fav1, fav2));
+        when(convocationFavoriteRepository.findFavoritasActivas(eq(userId), eq(LocalDate.now()), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(conv1, conv2), PageRequest.of(0, 20), 2));
 
         try (MockedStatic<ConvocationMapper> mocked = mockStatic(ConvocationMapper.class)) {
             mocked.when(() -> ConvocationMapper.toResponse(conv1)).thenReturn(res1);
             mocked.when(() -> ConvocationMapper.toResponse(conv2)).thenReturn(res2);
 
-            List<ConvocationResponse> result = convocationService.listarConvocatoriasFavoritasPorUsuario(userId);
+            PageResponse<ConvocationResponse> result = convocationService.listarConvocatoriasFavoritasPorUsuario(userId, 0, 20);
 
-            assertEquals(2, result.size());
-            assertTrue(result.containsAll(List.of(res1, res2)));
+            assertEquals(2, result.contenido().size());
+            assertTrue(result.contenido().containsAll(List.of(res1, res2)));
         }
+        // Con resultados no hace falta cargar el usuario
+        verifyNoInteractions(userRepository);
     }
 
     @Test
     @DisplayName("CP12 - Usuario no encontrado al listar favoritas")
     void listarConvocatoriasFavoritas_usuarioNoExiste_lanzaExcepcion() {
-        when(userRepository.findById(99L)).thenReturn(Optional.empty());
+        when(convocationFavoriteRepository.findFavoritasActivas(eq(99L), any(LocalDate.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 20), 0));
+        when(userRepository.existsById(99L)).thenReturn(false);
 
-        assertThrows(ResourceNotFoundException.class, () -> convocationService.listarConvocatoriasFavoritasPorUsuario(99L));
+        assertThrows(ResourceNotFoundException.class, () -> convocationService.listarConvocatoriasFavoritasPorUsuario(99L, 0, 20));
     }
 
     @Test
     @DisplayName("CP13 - Usuario sin convocatorias favoritas activas")
     void listarConvocatoriasFavoritas_sinActivas_lanzaExcepcion() {
         Long userId = 2L;
-        User user = new User();
-        user.setUserId(userId);
 
-        Convocation inactiva = new Convocation();
-        inactiva.setActiva(false);
-        ConvocationFavorite fav = new ConvocationFavorite();
-        fav.setConvocatoria(inactiva);
-
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(convocationFavoriteRepository.findByUsuarioUserId(userId)).thenReturn(List.of(fav));
+        when(convocationFavoriteRepository.findFavoritasActivas(eq(userId), any(LocalDate.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 20), 0));
+        when(userRepository.existsById(userId)).thenReturn(true);
 
-        assertThrows(BusinessRuleException.class, () -> convocationService.listarConvocatoriasFavoritasPorUsuario(userId));
+        assertThrows(BusinessRuleException.class, () -> convocationService.listarConvocatoriasFavoritasPorUsuario(userId, 0, 20));
     }
 
     @Test
@@ -325,6 +324,7 @@ public class ConvocationServiceUnitTest {
         Map<String, String> result = convocationService.marcarComoFavorita(request);
 
         verify(convocationFavoriteRepository).save(any(ConvocationFavorite.class));
+        verify(convocationRepository).incrementarFavoritos(conv.getConvocationId());
         assertEquals("Convocatoria marcada como favorita.", result.get("message"));
     }
 
@@ -409,6 +409,7 @@ public class ConvocationServiceUnitTest {
         Map<String, String> result = convocationService.eliminarDeFavoritas(request);
 
         verify(convocationFavoriteRepository).delete(fav);
+        verify(convocationRepository).decrementarFavoritos(conv.getConvocationId());
         assertEquals("Convocatoria removida de favoritas.", result.get("message"));
     }
 
@@ -453,7 +454,45 @@ public class ConvocationServiceUnitTest {
         assertThrows(BusinessRuleException.class, () -> convocationService.eliminarDeFavoritas(request));
     }
 
-}
 
+    @Test
+    @DisplayName("CP23 - Listar convocatorias activas aplica el orden pedido en la consulta")
+    void listarConvocatoriasActivas_ordenRecientes_ordenaPorIdDescendente() {
+        Convocation conv = new Convocation();
+        conv.setUsuario(User.builder().nombreArtistico("Autor").build());
+        when(convocationRepository.findActivas(any(LocalDate.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(conv), PageRequest.of(1, 5), 6));
+
+        PageResponse<ConvocationResponse> result = convocationService.listarConvocatoriasActivas(1, 5, "recientes");
+
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(convocationRepository).findActivas(eq(LocalDate.now()), pageable.capture());
+        assertEquals(1, pageable.getValue().getPageNumber());
+        assertEquals(5, pageable.getValue().getPageSize());
+        assertEquals(Sort.by(Sort.Order.desc("convocationId")), pageable.getValue().getSort());
+        assertEquals(2, result.totalPaginas());
+        verify(convocationRepository, never()).findAll();
+    }
 
+    @Test
+    @DisplayName("CP24 - Listar convocatorias activas con orden o paginación inválidos")
+    void listarConvocatoriasActivas_parametrosInvalidos_lanzaBadRequest() {
+        assertThrows(BadRequestException.class, () -> convocationService.listarConvocatoriasActivas(0, 20, "popularidad"));
+        assertThrows(BadRequestException.class, () -> convocationService.listarConvocatoriasActivas(-1, 20, "fecha_limite"));
+        assertThrows(BadRequestException.class, () -> convocationService.listarConvocatoriasActivas(0, 101, "fecha_limite"));
+        verifyNoInteractions(convocationRepository);
+    }
 
+    @Test
+    @DisplayName("CP25 - Ranking de más favoritas ordena por el contador de favoritos")
+    void listarConvocatoriasActivas_ordenFavoritos_ordenaPorContador() {
+        when(convocationRepository.findActivas(any(LocalDate.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 10), 0));
+
+        assertThrows(BusinessRuleException.class, () -> convocationService.listarConvocatoriasActivas(0, 10, "favoritos"));
+
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(convocationRepository).findActivas(any(LocalDate.class), pageable.capture());
+        assertEquals(Sort.by(Sort.Order.desc("favoritosCount"), Sort.Order.desc("convocationId")), pageable.getValue().getSort());
+    }
+}
@@ -0,0 +1,70 @@
+package com.api.musiconnect.service.unit;
+
+import com.api.musiconnect.service.ai.GeminiClient;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Cliente Gemini falso y local para tests: responde con fragmentos fijos, con una demora
+ * opcional antes de cada uno y un error opcional.
+ */
+public class FakeGeminiClient implements GeminiClient {
+
+    private final List<String> fragmentos;
+    private volatile long demoraMs;
+    private volatile RuntimeException error;
+    private final AtomicInteger llamadas = new AtomicInteger();
+
+    public FakeGeminiClient(String... fragmentos) {
+        this.fragmentos = List.of(fragmentos);
+    }
+
+    public FakeGeminiClient conDemora(long demoraMs) {
+        this.demoraMs = demoraMs;
+        return this;
+    }
+
+    public FakeGeminiClient conError(RuntimeException error) {
+        this.error = error;
+        return this;
+    }
+
+    public int getLlamadas() {
+        return llamadas.get();
+    }
+
+    @Override
+    public String generar(String prompt) {
+        StringBuilder respuesta = new StringBuilder();
+        generarEnStream(prompt, respuesta::append);
+        return respuesta.toString();
+    }
+
+    @Override
+    public void generarEnStream(String prompt, Consumer<String> alRecibir) {
+        llamadas.incrementAndGet();
+        for (String fragmento : fragmentos) {
+            esperar();
+            if (error != null) {
+                throw error;
+            }
+            alRecibir.accept(fragmento);
+        }
+        if (fragmentos.isEmpty() && error != null) {
+            throw error;
+        }
+    }
+
+    private void esperar() {
+        if (demoraMs > 0) {
+            try {
+                Thread.sleep(demoraMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
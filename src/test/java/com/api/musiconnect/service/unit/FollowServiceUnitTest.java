@@ -4,6 +4,8 @@ import com.api.musiconnect.dto.request.FollowRequest;
 import com.api.musiconnect.dto.request.UnfollowRequest;
 import com.api.musiconnect.dto.response.FollowResponse;
 import com.api.musiconnect.dto.response.FollowedProfileResponse;
+import com.api.musiconnect.dto.response.PageResponse;
+import com.api.musiconnect.exception.BadRequestException;
 import com.api.musiconnect.exception.BusinessRuleException;
 import com.api.musiconnect.exception.ResourceNotFoundException;
 import com.api.musiconnect.model.entity.Band;
@@ -13,12 +15,18 @@ import com.api.musiconnect.repository.BandRepository;
 import com.api.musiconnect.repository.FollowRepository;
 import com.api.musiconnect.repository.UserRepository;
 import com.api.musiconnect.service.FollowService;
+import com.api.musiconnect.service.seguimiento.GrafoSeguimientos;
+import com.api.musiconnect.service.timeline.TimelineFanOutService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.util.Optional;
 import java.util.Map;
@@ -39,6 +47,12 @@ public class FollowServiceUnitTest {
     @Mock
     private BandRepository bandRepository;
 
+    @Mock
+    private GrafoSeguimientos grafoSeguimientos;
+
+    @Mock
+    private TimelineFanOutService timelineFanOutService;
+
     @InjectMocks
     private FollowService followService;
 
@@ -129,10 +143,14 @@ public class FollowServiceUnitTest {
         when(userRepository.findById(1L)).thenReturn(Optional.of(follower));
         when(followRepository.existsByFollowerUserIdAndFollowedUserUserId(1L, 2L)).thenReturn(false);
         when(userRepository.findById(2L)).thenReturn(Optional.of(seguido));
-        when(followRepository.save(any(Follow.class))).thenReturn(follow);
+        when(followRepository.saveAndFlush(any(Follow.class))).thenReturn(follow);
 
         FollowResponse response = followService.crearFollow(request);
         assertNotNull(response);
+        verify(userRepository).incrementarSeguidores(2L);
+        verify(grafoSeguimientos).agregarUsuario(1L, 2L);
+        verify(timelineFanOutService).invalidarBandeja(1L);
+        verify(bandRepository, never()).incrementarSeguidores(any());
     }
 
     @Test
@@ -167,10 +185,11 @@ public class FollowServiceUnitTest {
         when(userRepository.findById(1L)).thenReturn(Optional.of(follower));
         when(followRepository.existsByFollowerUserIdAndFollowedBandBandId(1L, 3L)).thenReturn(false);
         when(bandRepository.findById(3L)).thenReturn(Optional.of(banda));
-        when(followRepository.save(any(Follow.class))).thenReturn(follow);
+        when(followRepository.saveAndFlush(any(Follow.class))).thenReturn(follow);
 
         FollowResponse response = followService.crearFollow(request);
         assertNotNull(response);
+        verify(bandRepository).incrementarSeguidores(3L);
     }
 
     @Test
@@ -297,6 +316,9 @@ public class FollowServiceUnitTest {
         Map<String, String> result = followService.eliminarFollow(request);
 
         verify(followRepository, times(1)).delete(follow);
+        verify(userRepository).decrementarSeguidores(2L);
+        verify(grafoSeguimientos).quitarUsuario(1L, 2L);
+        verify(timelineFanOutService).invalidarBandeja(1L);
         assertEquals("Has dejado de seguir a Artista 1.", result.get("message"));
     }
 
@@ -323,6 +345,81 @@ public class FollowServiceUnitTest {
         Map<String, String> result = followService.eliminarFollow(request);
 
         verify(followRepository, times(1)).delete(follow);
+        verify(bandRepository).decrementarSeguidores(3L);
+        verify(grafoSeguimientos).quitarBanda(1L, 3L);
         assertEquals("Has dejado de seguir a Banda X.", result.get("message"));
     }
+
+    @Test
+    @DisplayName("CP23 - Seguimiento repetido se valida en la base aunque el índice en memoria esté cargado")
+    void crearFollow_indiceDisponible_consultaLaBase() {
+        FollowRequest request = new FollowRequest(1L, 2L, null);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(new User()));
+        when(grafoSeguimientos.isDisponible()).thenReturn(true);
+        when(followRepository.existsByFollowerUserIdAndFollowedUserUserId(1L, 2L)).thenReturn(true);
+
+        assertThrows(BusinessRuleException.class, () -> followService.crearFollow(request));
+        verify(grafoSeguimientos, never()).agregarUsuario(any(), any());
+    }
+
+    @Test
+    @DisplayName("CP24 - Seguidores paginados desde el índice en memoria")
+    void listarSeguidores_indiceDisponible_paginaEnMemoria() {
+        User seguidor = new User();
+        seguidor.setUserId(7L);
+        seguidor.setNombreArtistico("Seguidor");
+        when(grafoSeguimientos.isDisponible()).thenReturn(true);
+        when(grafoSeguimientos.seguidoresDeUsuario(1L)).thenReturn(new long[]{3L, 5L, 7L});
+        when(userRepository.findAllWithRoleByUserIdIn(List.of(7L))).thenReturn(List.of(seguidor));
+
+        PageResponse<FollowedProfileResponse> pagina = followService.listarSeguidores(1L, 1, 2);
+
+        assertEquals(3, pagina.totalElementos());
+        assertEquals(List.of("Seguidor"), pagina.contenido().stream().map(FollowedProfileResponse::nombre).toList());
+        verify(followRepository, never()).findFollowerIdsByFollowedUserId(any(), any());
+    }
+
+    @Test
+    @DisplayName("CP25 - Sin índice, mutuos y sugerencias se consultan en la base")
+    void relaciones_sinIndice_consultanLaBase() {
+        User mutuo = new User();
+        mutuo.setUserId(2L);
+        when(grafoSeguimientos.isDisponible()).thenReturn(false);
+        when(followRepository.findMutuosIds(eq(1L), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(2L), PageRequest.of(0, 20), 1));
+        when(followRepository.findSugerenciasIds(eq(1L), any(Pageable.class))).thenReturn(List.of(2L));
+        when(userRepository.findAllWithRoleByUserIdIn(List.of(2L))).thenReturn(List.of(mutuo));
+
+        assertEquals(1, followService.listarMutuos(1L, 0, 20).contenido().size());
+        assertEquals(2L, followService.sugerirPerfiles(1L, 10).get(0).id());
+        verify(grafoSeguimientos, never()).mutuos(any());
+    }
+
+    @Test
+    @DisplayName("CP26 - Seguidores de un usuario inexistente")
+    void listarSeguidores_usuarioNoExiste_exception() {
+        when(followRepository.findFollowerIdsByFollowedUserId(eq(9L), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 20), 0));
+        when(userRepository.existsById(9L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> followService.listarSeguidores(9L, 0, 20));
+        assertThrows(BadRequestException.class, () -> followService.listarSeguidores(9L, -1, 20));
+    }
+
+    @Test
+    @DisplayName("CP27 - Seguimiento concurrente rechazado por la restricción única sin tocar el contador")
+    void crearFollow_carreraConRestriccionUnica_exception() {
+        User seguido = new User();
+        seguido.setDisponibilidad(true);
+        FollowRequest request = new FollowRequest(1L, 2L, null);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(new User()));
+        when(followRepository.existsByFollowerUserIdAndFollowedUserUserId(1L, 2L)).thenReturn(false);
+        when(userRepository.findById(2L)).thenReturn(Optional.of(seguido));
+        when(followRepository.saveAndFlush(any(Follow.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_follows_follower_user"));
+
+        assertThrows(BusinessRuleException.class, () -> followService.crearFollow(request));
+        verify(userRepository, never()).incrementarSeguidores(any());
+        verify(timelineFanOutService, never()).invalidarBandeja(any());
+    }
 }
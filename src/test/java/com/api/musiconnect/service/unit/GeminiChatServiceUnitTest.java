@@ -0,0 +1,94 @@
+package com.api.musiconnect.service.unit;
+
+import com.api.musiconnect.service.ai.ChatRespuestaCache;
+import com.api.musiconnect.service.ai.ContextoChatService;
+import com.api.musiconnect.service.ai.GeminiChatService;
+import com.api.musiconnect.service.ai.InterruptorCircuito;
+import com.api.musiconnect.service.ai.ProteccionModelo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class GeminiChatServiceUnitTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private GeminiChatService servicio(FakeGeminiClient client) {
+        return servicio(client, false);
+    }
+
+    private GeminiChatService servicio(FakeGeminiClient client, boolean conCache) {
+        ChatRespuestaCache cache = new ChatRespuestaCache(meterRegistry, conCache, 100, 60, true);
+        ProteccionModelo proteccion = new ProteccionModelo(
+                new InterruptorCircuito(20, 10, 50, 10_000, 80, 30_000, 3), meterRegistry, 4, 4, 5_000);
+        ContextoChatService contexto = mock(ContextoChatService.class);
+        when(contexto.construir(any())).thenReturn("");
+        return new GeminiChatService(client, cache, contexto, proteccion, new SimpleAsyncTaskExecutor(), meterRegistry, 5_000);
+    }
+
+    @Test
+    @DisplayName("AI01: Chat devuelve la respuesta completa del modelo")
+    void chat_DeberiaRetornarRespuestaCompleta() {
+        GeminiChatService service = servicio(new FakeGeminiClient("Hola, ", "¿en qué te ayudo?"));
+
+        assertEquals("Hola, ¿en qué te ayudo?", service.chat("hola", 1L));
+    }
+
+    @Test
+    @DisplayName("AI02: El streaming entrega los fragmentos en orden sin bloquear al que llama")
+    void chatEnStream_DeberiaEntregarFragmentosEnOrden() throws Exception {
+        GeminiChatService service = servicio(new FakeGeminiClient("uno ", "dos ", "tres").conDemora(30));
+        List<String> recibidos = new CopyOnWriteArrayList<>();
+
+        long inicio = System.nanoTime();
+        CompletableFuture<Void> futuro = service.chatEnStream("contar", 1L, recibidos::add);
+        long retornoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+        futuro.get(5, TimeUnit.SECONDS);
+        assertTrue(retornoMs < 30, "El hilo que llama no debe esperar al modelo");
+        assertEquals(List.of("uno ", "dos ", "tres"), recibidos);
+        assertEquals(1, meterRegistry.get("musiconnect.ai.time-to-first-token").timer().count());
+        assertEquals(1, meterRegistry.get("musiconnect.ai.stream.duration").timer().count());
+        assertTrue(meterRegistry.get("musiconnect.ai.time-to-first-token").timer().totalTime(TimeUnit.MILLISECONDS)
+                < meterRegistry.get("musiconnect.ai.stream.duration").timer().totalTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("AI03: Un error del modelo completa el futuro con excepción")
+    void chatEnStream_ErrorDelModelo_DeberiaFallarElFuturo() {
+        GeminiChatService service = servicio(new FakeGeminiClient("parcial").conError(new IllegalStateException("caído")));
+
+        CompletableFuture<Void> futuro = service.chatEnStream("hola", 1L, f -> { });
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> futuro.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, ex.getCause());
+    }
+
+    @Test
+    @DisplayName("AI04: El streaming usa la caché de respuestas compartida con el chat")
+    void chatEnStream_RespuestaEnCache_NoDeberiaLlamarAlModelo() throws Exception {
+        FakeGeminiClient client = new FakeGeminiClient("Hola, ", "¿en qué te ayudo?");
+        GeminiChatService service = servicio(client, true);
+        List<String> recibidos = new CopyOnWriteArrayList<>();
+
+        service.chatEnStream("hola", 1L, f -> { }).get(5, TimeUnit.SECONDS);
+        assertEquals("Hola, ¿en qué te ayudo?", service.chat("¡Hola!", 2L));
+        service.chatEnStream("Hola", 3L, recibidos::add).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, client.getLlamadas());
+        assertEquals(List.of("Hola, ¿en qué te ayudo?"), recibidos);
+        assertEquals(2, meterRegistry.get("musiconnect.ai.time-to-first-token").timer().count());
+    }
+}
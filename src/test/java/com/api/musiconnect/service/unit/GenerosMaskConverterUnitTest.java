@@ -0,0 +1,72 @@
+package com.api.musiconnect.service.unit;
+
+import com.api.musiconnect.dto.response.UserResponse;
+import com.api.musiconnect.mapper.UserMapper;
+import com.api.musiconnect.model.converter.GenerosMaskConverter;
+import com.api.musiconnect.model.entity.MusicGenre;
+import com.api.musiconnect.model.entity.Role;
+import com.api.musiconnect.model.entity.User;
+import com.api.musiconnect.model.enums.MusicGenreEnum;
+import com.api.musiconnect.model.enums.RoleEnum;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GenerosMaskConverterUnitTest {
+
+    private final GenerosMaskConverter converter = new GenerosMaskConverter();
+
+    @Test
+    @DisplayName("GM01: La máscara conserva todos los géneros (ida y vuelta)")
+    void convertir_IdaYVuelta_DeberiaConservarGeneros() {
+        EnumSet<MusicGenreEnum> generos = EnumSet.of(MusicGenreEnum.ROCK, MusicGenreEnum.JAZZ, MusicGenreEnum.OTHER);
+
+        Integer mask = converter.convertToDatabaseColumn(generos);
+
+        assertEquals((1 << MusicGenreEnum.ROCK.ordinal()) | (1 << MusicGenreEnum.JAZZ.ordinal())
+                | (1 << MusicGenreEnum.OTHER.ordinal()), mask);
+        assertEquals(generos, converter.convertToEntityAttribute(mask));
+        assertEquals(EnumSet.allOf(MusicGenreEnum.class),
+                GenerosMaskConverter.fromMask(GenerosMaskConverter.toMask(EnumSet.allOf(MusicGenreEnum.class))));
+    }
+
+    @Test
+    @DisplayName("GM02: Una fila sin migrar (null) se mantiene como null")
+    void convertir_Null_DeberiaRetornarNull() {
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+        assertEquals(EnumSet.noneOf(MusicGenreEnum.class), converter.convertToEntityAttribute(0));
+    }
+
+    @Test
+    @DisplayName("GM03: El mapper usa la máscara sin recorrer la colección de géneros")
+    void toResponse_ConMascara_NoDeberiaLeerColeccion() {
+        User user = User.builder()
+                .userId(1L)
+                .nombreArtistico("Usuario")
+                .role(new Role(1L, RoleEnum.MUSICO))
+                .generosMask(EnumSet.of(MusicGenreEnum.SALSA, MusicGenreEnum.POP))
+                .build();
+
+        UserResponse response = UserMapper.toResponse(user);
+
+        assertEquals(List.of("POP", "SALSA"), response.generosMusicales());
+    }
+
+    @Test
+    @DisplayName("GM04: Sin máscara el mapper recurre a la tabla de unión")
+    void toResponse_SinMascara_DeberiaUsarColeccion() {
+        User user = User.builder()
+                .userId(1L)
+                .nombreArtistico("Usuario")
+                .role(new Role(1L, RoleEnum.MUSICO))
+                .generosMusicales(List.of(MusicGenre.builder().nombre(MusicGenreEnum.BLUES).build()))
+                .build();
+
+        assertEquals(List.of("BLUES"), UserMapper.toResponse(user).generosMusicales());
+    }
+}
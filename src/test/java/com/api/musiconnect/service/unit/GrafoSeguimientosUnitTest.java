@@ -0,0 +1,173 @@
+package com.api.musiconnect.service.unit;
+
+import com.api.musiconnect.repository.FollowRepository;
+import com.api.musiconnect.repository.projection.AristaSeguimiento;
+import com.api.musiconnect.service.seguimiento.GrafoSeguimientos;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class GrafoSeguimientosUnitTest {
+
+    @Mock
+    private FollowRepository followRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private GrafoSeguimientos grafo(boolean habilitado, int umbralCompactacion) {
+        return new GrafoSeguimientos(followRepository, new TransactionTemplate(transactionManager), meterRegistry,
+                habilitado, umbralCompactacion, 200);
+    }
+
+    private record Arista(Long getFollowerId, Long getUsuarioId, Long getBandaId) implements AristaSeguimiento {
+    }
+
+    private static AristaSeguimiento arista(Long followerId, Long usuarioId, Long bandaId) {
+        return new Arista(followerId, usuarioId, bandaId);
+    }
+
+    // 1 sigue a 2, 3 y 4; 2 sigue a 1 y 5; 3 sigue a 5 y 6; 4 sigue a 1 (fila repetida); 5 sigue a la banda 10.
+    // Sin repetidos son 8 aristas entre usuarios y 1 a banda, en dos sentidos cada una: 18 en total
+    private GrafoSeguimientos cargado(int umbralCompactacion) {
+        when(followRepository.streamAristas()).thenReturn(Stream.of(
+                arista(1L, 4L, null), arista(1L, 2L, null), arista(1L, 3L, null),
+                arista(2L, 1L, null), arista(2L, 5L, null),
+                arista(3L, 5L, null), arista(3L, 6L, null),
+                arista(4L, 1L, null), arista(4L, 1L, null),
+                arista(5L, null, 10L)));
+        GrafoSeguimientos grafo = grafo(true, umbralCompactacion);
+        grafo.cargarAlIniciar();
+        return grafo;
+    }
+
+    @Test
+    @DisplayName("GS01: Carga ambos sentidos para usuarios y bandas, sin aristas repetidas")
+    void cargar_DeberiaArmarAmbosSentidos() {
+        GrafoSeguimientos grafo = cargado(100);
+
+        assertTrue(grafo.isDisponible());
+        assertArrayEquals(new long[]{1L}, grafo.seguidoresDeUsuario(3L));
+        assertArrayEquals(new long[]{2L, 4L}, grafo.seguidoresDeUsuario(1L));
+        assertArrayEquals(new long[]{2L, 3L}, grafo.seguidoresDeUsuario(5L));
+        assertArrayEquals(new long[]{5L}, grafo.seguidoresDeBanda(10L));
+        assertArrayEquals(new long[0], grafo.seguidoresDeUsuario(99L));
+        assertEquals(18, grafo.reporte().aristas());
+    }
+
+    @Test
+    @DisplayName("GS02: Mutuos y sugerencias de amigos de amigos ordenadas por coincidencias")
+    void consultas_DeberianResolverseEnMemoria() {
+        GrafoSeguimientos grafo = cargado(100);
+
+        assertArrayEquals(new long[]{2L, 4L}, grafo.mutuos(1L));
+        // 5 lo siguen 2 y 3 (dos coincidencias), 6 sólo 3; 1 mismo y los ya seguidos se excluyen
+        assertArrayEquals(new long[]{5L, 6L}, grafo.sugerencias(1L, 10));
+        assertArrayEquals(new long[]{5L}, grafo.sugerencias(1L, 1));
+    }
+
+    @Test
+    @DisplayName("GS03: Altas y bajas se aplican como delta y se ven en ambos sentidos")
+    void delta_DeberiaAplicarAltasYBajas() {
+        GrafoSeguimientos grafo = cargado(100);
+
+        grafo.agregarUsuario(6L, 1L);
+        grafo.quitarUsuario(2L, 1L);
+        grafo.quitarBanda(5L, 10L);
+        grafo.agregarUsuario(6L, 1L);
+
+        assertArrayEquals(new long[]{4L, 6L}, grafo.seguidoresDeUsuario(1L));
+        assertArrayEquals(new long[0], grafo.seguidoresDeBanda(10L));
+        assertEquals(5, grafo.reporte().filasDelta());
+        assertTrue(grafo.reporte().bytesDelta() > 0);
+    }
+
+    @Test
+    @DisplayName("GS04: La compactación en segundo plano fusiona el delta sólo al superar el umbral")
+    void delta_DeberiaCompactarseAlSuperarElUmbral() {
+        GrafoSeguimientos grafo = cargado(2);
+
+        grafo.agregarUsuario(6L, 1L);
+        assertEquals(2, grafo.reporte().filasDelta());
+        grafo.compactarSiSuperaUmbral();
+        assertEquals(2, grafo.reporte().filasDelta());
+
+        grafo.quitarUsuario(2L, 1L);
+        assertEquals(3, grafo.reporte().filasDelta());
+        grafo.compactarSiSuperaUmbral();
+
+        GrafoSeguimientos.Reporte reporte = grafo.reporte();
+        assertEquals(0, reporte.filasDelta());
+        assertEquals(18, reporte.aristas());
+        assertArrayEquals(new long[]{4L, 6L}, grafo.seguidoresDeUsuario(1L));
+        assertArrayEquals(new long[]{1L}, grafo.seguidoresDeUsuario(2L));
+        assertArrayEquals(new long[]{2L, 3L}, grafo.seguidoresDeUsuario(5L));
+        assertEquals(reporte.bytesBase(),
+                meterRegistry.get("musiconnect.follows.graph.bytes").tag("parte", "base").gauge().value());
+    }
+
+    @Test
+    @DisplayName("GS06: Las altas durante una compactación no se pierden")
+    void compactar_ConEscriturasConcurrentes_NoPierdeAltas() throws Exception {
+        GrafoSeguimientos grafo = cargado(0);
+        int altas = 2_000;
+
+        Thread escritor = new Thread(() -> {
+            for (long i = 0; i < altas; i++) {
+                grafo.agregarUsuario(100L + i, 1L);
+            }
+        });
+        escritor.start();
+        while (escritor.isAlive()) {
+            grafo.compactarSiSuperaUmbral();
+        }
+        escritor.join();
+
+        assertEquals(altas + 2, grafo.seguidoresDeUsuario(1L).length);
+        grafo.compactar();
+        assertEquals(0, grafo.reporte().filasDelta());
+        assertEquals(altas + 2, grafo.seguidoresDeUsuario(1L).length);
+        assertEquals(100L + altas - 1, grafo.seguidoresDeUsuario(1L)[altas + 1]);
+    }
+
+    @Test
+    @DisplayName("GS05: Deshabilitado no carga ni acepta deltas")
+    void deshabilitado_NoCargaNiActualiza() {
+        GrafoSeguimientos grafo = grafo(false, 100);
+
+        grafo.cargarAlIniciar();
+        grafo.agregarUsuario(1L, 2L);
+
+        assertFalse(grafo.isDisponible());
+        assertArrayEquals(new long[0], grafo.seguidoresDeUsuario(2L));
+        verifyNoInteractions(followRepository);
+    }
+
+    @Test
+    @DisplayName("GS07: Eliminar una banda quita sus aristas en ambos sentidos")
+    void quitarBandaCompleta_DeberiaQuitarAristasEnAmbosSentidos() {
+        GrafoSeguimientos grafo = cargado(100);
+        grafo.agregarBanda(1L, 10L);
+        grafo.agregarBanda(1L, 11L);
+
+        grafo.quitarBandaCompleta(10L);
+
+        assertArrayEquals(new long[0], grafo.seguidoresDeBanda(10L));
+        assertArrayEquals(new long[]{1L}, grafo.seguidoresDeBanda(11L));
+        grafo.compactar();
+        // 18 iniciales - 2 de la banda 10 (seguidor 5) + 2 de la banda 11: la fila de 1 ya no tiene a la 10
+        assertEquals(18, grafo.reporte().aristas());
+    }
+}
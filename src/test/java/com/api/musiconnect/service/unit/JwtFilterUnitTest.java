@@ -0,0 +1,106 @@
+package com.api.musiconnect.service.unit;
+
+import com.api.musiconnect.model.entity.Role;
+import com.api.musiconnect.model.entity.User;
+import com.api.musiconnect.model.enums.RoleEnum;
+import com.api.musiconnect.repository.UserRepository;
+import com.api.musiconnect.security.EstadoCuentaCache;
+import com.api.musiconnect.security.JwtFilter;
+import com.api.musiconnect.security.JwtPrincipal;
+import com.api.musiconnect.security.JwtUtil;
+import com.api.musiconnect.security.UserDetailsImpl;
+import com.api.musiconnect.security.UserDetailsServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class JwtFilterUnitTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final JwtUtil jwtUtil = new JwtUtil(100, 60_000);
+    private EstadoCuentaCache estadoCuentaCache;
+    private JwtFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        estadoCuentaCache = new EstadoCuentaCache(userRepository, 60, 100);
+        filter = new JwtFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "userDetailsService", new UserDetailsServiceImpl(userRepository));
+        ReflectionTestUtils.setField(filter, "estadoCuentaCache", estadoCuentaCache);
+        ReflectionTestUtils.setField(filter, "authMode", "stateless");
+    }
+
+    @AfterEach
+    void limpiarContexto() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private Authentication filtrar(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Test
+    @DisplayName("JF01: Modo stateless arma el principal desde los claims sin cargar el usuario")
+    void stateless_DeberiaAutenticarDesdeClaims() throws Exception {
+        when(userRepository.existsById(7L)).thenReturn(true);
+        String token = jwtUtil.generateToken("user@mail.com", "MUSICO", 7L);
+
+        Authentication primera = filtrar(token);
+        Authentication segunda = filtrar(token);
+
+        JwtPrincipal principal = assertInstanceOf(JwtPrincipal.class, primera.getPrincipal());
+        assertEquals(7L, principal.userId());
+        assertEquals("user@mail.com", principal.getUsername());
+        assertEquals("ROLE_MUSICO", primera.getAuthorities().iterator().next().getAuthority());
+        assertNotNull(segunda);
+        // Una sola consulta de estado (luego sale de la caché) y nunca se carga la entidad
+        verify(userRepository, times(1)).existsById(7L);
+        verify(userRepository, never()).findByEmail(any());
+    }
+
+    @Test
+    @DisplayName("JF02: Una cuenta revocada deja de autenticarse aunque el token siga vigente")
+    void stateless_CuentaRevocada_NoDeberiaAutenticar() throws Exception {
+        String token = jwtUtil.generateToken("user@mail.com", "MUSICO", 7L);
+
+        estadoCuentaCache.revocar(7L);
+
+        assertNull(filtrar(token));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("JF03: Tokens sin claim uid se autentican contra la BD")
+    void tokenSinUid_DeberiaCargarUsuario() throws Exception {
+        User user = User.builder().userId(7L).email("user@mail.com").password("hash")
+                .role(new Role(1L, RoleEnum.MUSICO)).build();
+        when(userRepository.findByEmail("user@mail.com")).thenReturn(Optional.of(user));
+
+        Authentication auth = filtrar(jwtUtil.generateToken("user@mail.com", "MUSICO"));
+
+        assertInstanceOf(UserDetailsImpl.class, auth.getPrincipal());
+    }
+}
@@ -0,0 +1,53 @@
+package com.api.musiconnect.service.unit;
+
+import com.api.musiconnect.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtUtilUnitTest {
+
+    private final JwtUtil jwtUtil = new JwtUtil(100, 60_000);
+
+    @Test
+    @DisplayName("JW01: Verificar un token válido devuelve sus claims")
+    void verificar_TokenValido_DeberiaRetornarClaims() {
+        String token = jwtUtil.generateToken("user@mail.com", "MUSICO");
+
+        Optional<Claims> claims = jwtUtil.verificar(token);
+
+        assertTrue(claims.isPresent());
+        assertEquals("user@mail.com", claims.get().getSubject());
+        assertEquals("MUSICO", claims.get().get("role", String.class));
+        assertEquals("user@mail.com", jwtUtil.getEmailFromToken(token));
+        assertTrue(jwtUtil.validateToken(token));
+    }
+
+    @Test
+    @DisplayName("JW02: La segunda verificación del mismo token sale de la caché")
+    void verificar_MismoToken_DeberiaUsarCache() {
+        String token = jwtUtil.generateToken("user@mail.com", "MUSICO");
+
+        Claims primera = jwtUtil.verificar(token).orElseThrow();
+        Claims segunda = jwtUtil.verificar(token).orElseThrow();
+
+        assertSame(primera, segunda);
+    }
+
+    @Test
+    @DisplayName("JW03: Un token alterado o vencido no es válido")
+    void verificar_TokenInvalido_DeberiaRetornarVacio() {
+        String token = jwtUtil.generateToken("user@mail.com", "MUSICO");
+        String alterado = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        String vencido = new JwtUtil(100, -1_000).generateToken("user@mail.com", "MUSICO");
+
+        assertTrue(jwtUtil.verificar(alterado).isEmpty());
+        assertTrue(jwtUtil.verificar(vencido).isEmpty());
+        assertTrue(jwtUtil.verificar("no-es-un-jwt").isEmpty());
+        assertNull(jwtUtil.getEmailFromToken("no-es-un-jwt"));
+    }
+}
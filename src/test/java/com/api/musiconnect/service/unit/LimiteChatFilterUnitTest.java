@@ -0,0 +1,119 @@
+package com.api.musiconnect.service.unit;
+
+import com.api.musiconnect.security.JwtPrincipal;
+import com.api.musiconnect.security.LimiteChatFilter;
+import com.api.musiconnect.service.ai.limite.ChatUsoStoreEnMemoria;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LimiteChatFilterUnitTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ChatUsoStoreEnMemoria store;
+
+    @BeforeEach
+    void autenticar() {
+        JwtPrincipal principal = new JwtPrincipal(7L, "ana@mail.com", "MUSICO");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void limpiar() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletResponse enviar(LimiteChatFilter filter, String uri, String cuerpo) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setContent(cuerpo.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain(new jakarta.servlet.http.HttpServlet() {
+            @Override
+            protected void service(jakarta.servlet.http.HttpServletRequest req, HttpServletResponse res)
+                    throws java.io.IOException {
+                req.getInputStream().readAllBytes();
+                res.getOutputStream().write("respuesta del modelo".getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    @Test
+    @DisplayName("LF01: Supera la ráfaga de solicitudes y responde 429 con Retry-After")
+    void doFilter_SuperaRafaga_DeberiaResponder429() throws Exception {
+        store = new ChatUsoStoreEnMemoria(60, 2, 3600);
+        LimiteChatFilter filter = new LimiteChatFilter(store, meterRegistry, true, 100_000, 3600);
+
+        assertEquals(200, enviar(filter, "/ai-chat/chat", "hola").getStatus());
+        assertEquals(200, enviar(filter, "/ai-chat/chat", "hola").getStatus());
+        MockHttpServletResponse rechazada = enviar(filter, "/ai-chat/chat", "hola");
+
+        assertEquals(429, rechazada.getStatus());
+        assertEquals("1", rechazada.getHeader("Retry-After"));
+        assertTrue(rechazada.getContentAsString(StandardCharsets.UTF_8).contains("\"error\""));
+        assertEquals(1, meterRegistry.get("musiconnect.ai.rate-limit.rejected").tag("motivo", "solicitudes").counter().count());
+    }
+
+    @Test
+    @DisplayName("LF02: Contabiliza prompt y respuesta y corta al superar el tope de bytes")
+    void doFilter_SuperaTopeDeBytes_DeberiaResponder429() throws Exception {
+        store = new ChatUsoStoreEnMemoria(600, 10, 3600);
+        LimiteChatFilter filter = new LimiteChatFilter(store, meterRegistry, true, 30, 3600);
+
+        MockHttpServletResponse primera = enviar(filter, "/ai-chat/chat", "hola mundo");
+
+        assertEquals("respuesta del modelo", primera.getContentAsString());
+        assertEquals(10 + 20, store.bytesEnVentana(7L));
+        assertEquals(429, enviar(filter, "/ai-chat/chat", "otra").getStatus());
+        assertEquals(1, meterRegistry.get("musiconnect.ai.rate-limit.rejected").tag("motivo", "bytes").counter().count());
+    }
+
+    @Test
+    @DisplayName("LF03: Las rutas fuera de /ai-chat no se limitan")
+    void doFilter_OtraRuta_NoDeberiaLimitar() throws Exception {
+        store = new ChatUsoStoreEnMemoria(60, 1, 3600);
+        LimiteChatFilter filter = new LimiteChatFilter(store, meterRegistry, true, 100_000, 3600);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, enviar(filter, "/posts", "x").getStatus());
+        }
+        assertEquals(0, store.bytesEnVentana(7L));
+    }
+
+    @Test
+    @DisplayName("LF04: El prompt se cobra por los bytes leídos del cuerpo, no por Content-Length")
+    void doFilter_CuerpoLeidoConReader_DeberiaContarBytesLeidos() throws Exception {
+        store = new ChatUsoStoreEnMemoria(600, 10, 3600);
+        LimiteChatFilter filter = new LimiteChatFilter(store, meterRegistry, true, 100_000, 3600);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/ai-chat/chat");
+        request.setContent("canción".getBytes(StandardCharsets.UTF_8));
+        request.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        request.addHeader("Transfer-Encoding", "chunked");
+        MockFilterChain chain = new MockFilterChain(new jakarta.servlet.http.HttpServlet() {
+            @Override
+            protected void service(jakarta.servlet.http.HttpServletRequest req, HttpServletResponse res)
+                    throws java.io.IOException {
+                req.getReader().lines().count();
+            }
+        });
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertEquals(8, store.bytesEnVentana(7L));
+        assertEquals(8, meterRegistry.get("musiconnect.ai.chat.size").tag("tipo", "prompt").summary().totalAmount());
+    }
+}
@@ -0,0 +1,90 @@
+package com.api.musiconnect.service.unit;
+
+import com.api.musiconnect.exception.ServiceUnavailableException;
+import com.api.musiconnect.service.auth.PasswordHashingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordHashingServiceUnitTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHashingService service;
+
+    @AfterEach
+    void cerrar() {
+        if (service != null) {
+            service.cerrar();
+        }
+    }
+
+    @Test
+    @DisplayName("PH01: Hash y verificación con el costo configurado")
+    void hash_DeberiaUsarCostoConfigurado() {
+        service = new PasswordHashingService(meterRegistry, 1, 4, 5_000, 4, false, 250);
+
+        String hash = service.hash("secreto123");
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(service.matches("secreto123", hash));
+        assertFalse(service.matches("otra", hash));
+        assertEquals(1, meterRegistry.get("musiconnect.password.hash").tag("operacion", "hash").timer().count());
+        assertEquals(3, meterRegistry.get("musiconnect.password.queue.wait").timer().count());
+    }
+
+    @Test
+    @DisplayName("PH02: Sólo recalcula en el login los hashes con un costo menor al configurado")
+    void necesitaRehash_CostoMenor_DeberiaRetornarTrue() {
+        service = new PasswordHashingService(meterRegistry, 1, 4, 5_000, 5, false, 250);
+
+        assertTrue(service.necesitaRehash(new BCryptPasswordEncoder(4).encode("x")));
+        assertFalse(service.necesitaRehash(service.hash("x")));
+        assertTrue(service.necesitaRehash("texto-plano"));
+        assertFalse(service.necesitaRehash(new BCryptPasswordEncoder(6).encode("x")));
+    }
+
+    @Test
+    @DisplayName("PH03: Con el pool y la cola llenos se rechaza de inmediato con 503")
+    void ejecutar_ColaLlena_DeberiaLanzarServiceUnavailable() throws Exception {
+        service = new PasswordHashingService(meterRegistry, 1, 1, 5_000, 4, false, 250);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CountDownLatch ocupado = new CountDownLatch(1);
+
+        // Una tarea ocupa el único hilo y otra ocupa el único lugar de la cola
+        CompletableFuture<Object> enHilo = CompletableFuture.supplyAsync(() -> service.ejecutar(() -> {
+            ocupado.countDown();
+            return liberar.await(5, TimeUnit.SECONDS);
+        }));
+        assertTrue(ocupado.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> enCola = CompletableFuture.supplyAsync(() -> service.hash("x"));
+        while (meterRegistry.get("musiconnect.password.queue.size").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(ServiceUnavailableException.class, () -> service.hash("y"));
+        assertEquals(1.0, meterRegistry.get("musiconnect.password.rejected").counter().count());
+
+        liberar.countDown();
+        enHilo.get(5, TimeUnit.SECONDS);
+        assertTrue(enCola.get(5, TimeUnit.SECONDS).startsWith("$2a$04$"));
+    }
+
+    @Test
+    @DisplayName("PH04: Si la espera supera el timeout se responde 503")
+    void ejecutar_Timeout_DeberiaLanzarServiceUnavailable() {
+        service = new PasswordHashingService(meterRegistry, 1, 1, 50, 4, false, 250);
+
+        assertThrows(ServiceUnavailableException.class, () -> service.ejecutar(() -> {
+            Thread.sleep(1_000);
+            return true;
+        }));
+    }
+}
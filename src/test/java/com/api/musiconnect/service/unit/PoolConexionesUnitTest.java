@@ -0,0 +1,79 @@
+package com.api.musiconnect.service.unit;
+
+import com.api.musiconnect.exception.GlobalExceptionHandler;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * El límite de conexiones con hilos virtuales es el propio pool Hikari: con todas las conexiones
+ * en uso, la siguiente request espera a lo sumo connection-timeout y falla con 503.
+ */
+public class PoolConexionesUnitTest {
+
+    private static HikariDataSource poolConfigurado() throws Exception {
+        Properties propiedades = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+        DataSource destino = mock(DataSource.class);
+        when(destino.getConnection()).thenAnswer(invocacion -> {
+            Connection conexion = mock(Connection.class);
+            when(conexion.isValid(anyInt())).thenReturn(true);
+            return conexion;
+        });
+
+        HikariConfig config = new HikariConfig();
+        config.setDataSource(destino);
+        config.setMaximumPoolSize(Integer.parseInt(propiedades.getProperty("spring.datasource.hikari.maximum-pool-size")));
+        config.setConnectionTimeout(Long.parseLong(propiedades.getProperty("spring.datasource.hikari.connection-timeout")));
+        return new HikariDataSource(config);
+    }
+
+    @Test
+    @DisplayName("PC01: Con el pool agotado, pedir otra conexión falla tras connection-timeout")
+    void getConnection_PoolAgotado_DeberiaFallarRapido() throws Exception {
+        try (HikariDataSource pool = poolConfigurado()) {
+            List<Connection> enUso = new ArrayList<>();
+            for (int i = 0; i < pool.getMaximumPoolSize(); i++) {
+                enUso.add(pool.getConnection());
+            }
+
+            long inicio = System.nanoTime();
+            assertThrows(SQLTransientConnectionException.class, pool::getConnection);
+            long esperaMs = (System.nanoTime() - inicio) / 1_000_000;
+
+            assertTrue(esperaMs >= pool.getConnectionTimeout() - 100, "esperó " + esperaMs + " ms");
+            assertTrue(esperaMs < pool.getConnectionTimeout() + 2_000, "esperó " + esperaMs + " ms");
+
+            // Al devolver una conexión, la siguiente request la obtiene
+            enUso.get(0).close();
+            assertNotNull(pool.getConnection());
+        }
+    }
+
+    @Test
+    @DisplayName("PC02: Si la transacción no obtiene conexión, la API responde 503")
+    void handler_SinConexion_DeberiaResponder503() {
+        var excepcion = new CannotCreateTransactionException("Could not open JPA EntityManager for transaction",
+                new SQLException("Connection is not available, request timed out after 5000ms"));
+
+        var respuesta = new GlobalExceptionHandler().handleSinConexion(excepcion);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, respuesta.getStatusCode());
+        assertNotNull(respuesta.getBody().get("error"));
+    }
+}
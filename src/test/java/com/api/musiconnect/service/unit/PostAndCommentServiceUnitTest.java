@@ -4,18 +4,23 @@ import com.api.musiconnect.dto.request.ComentarioRequest;
 import com.api.musiconnect.dto.request.PostRequest;
 import com.api.musiconnect.dto.request.PostUpdateRequest;
 import com.api.musiconnect.dto.response.ComentarioResponse;
+import com.api.musiconnect.dto.response.CursorPageResponse;
 import com.api.musiconnect.dto.response.PostResponse;
 import com.api.musiconnect.exception.BusinessRuleException;
 import com.api.musiconnect.exception.ResourceNotFoundException;
 import com.api.musiconnect.exception.BadRequestException;
+import com.api.musiconnect.mapper.CursorMapper;
 import com.api.musiconnect.model.entity.Comentario;
 import com.api.musiconnect.model.entity.Post;
 import com.api.musiconnect.model.entity.User;
 import com.api.musiconnect.model.enums.PostTipo;
 import com.api.musiconnect.repository.ComentarioRepository;
+import com.api.musiconnect.repository.FollowRepository;
 import com.api.musiconnect.repository.PostRepository;
 import com.api.musiconnect.repository.UserRepository;
+import com.api.musiconnect.service.ComentarioHydrationService;
 import com.api.musiconnect.service.PostService;
+import com.api.musiconnect.service.timeline.TimelineFanOutService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -27,10 +32,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,7 +48,13 @@ public class PostAndCommentServiceUnitTest {
     @Mock
     private UserRepository userRepository;
     @Mock
+    private FollowRepository followRepository;
+    @Mock
     private ComentarioRepository comentarioRepository;
+    @Mock
+    private TimelineFanOutService timelineFanOutService;
+    @Mock
+    private ComentarioHydrationService comentarioHydrationService;
 
     @InjectMocks
     private PostService postService;
@@ -260,29 +273,31 @@ public class PostAndCommentServiceUnitTest {
     @Test
     @DisplayName("CP14: Listar comentarios de un post")
     void listarComentarios_PostExistente_DeberiaRetornarLista() {
-        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(postRepository.existsById(1L)).thenReturn(true);
         List<Comentario> comentarios = new ArrayList<>();
         comentarios.add(Comentario.builder()
+                .comentarioId(5L)
                 .contenido("Comentario 1")
                 .usuario(usuarioAutenticado)
                 .post(post)
                 .fechaComentario(LocalDateTime.now())
                 .build());
-        when(comentarioRepository.findByPost(post)).thenReturn(comentarios);
+        when(comentarioRepository.findPageByPostId(eq(1L), any())).thenReturn(comentarios);
 
-        List<ComentarioResponse> response = postService.listarComentarios(1L);
+        CursorPageResponse<ComentarioResponse> response = postService.listarComentarios(1L, null, null);
 
         assertNotNull(response);
-        assertFalse(response.isEmpty());
-        assertEquals(1, response.size());
+        assertFalse(response.contenido().isEmpty());
+        assertEquals(1, response.contenido().size());
+        assertFalse(response.hayMas());
     }
 
     @Test
     @DisplayName("CP15: Listar comentarios de post inexistente")
     void listarComentarios_PostInexistente_DeberiaLanzarExcepcion() {
-        when(postRepository.findById(1L)).thenReturn(Optional.empty());
+        when(postRepository.existsById(1L)).thenReturn(false);
 
-        assertThrows(ResourceNotFoundException.class, () -> postService.listarComentarios(1L));
+        assertThrows(ResourceNotFoundException.class, () -> postService.listarComentarios(1L, null, null));
     }
 
     @Test
@@ -310,4 +325,114 @@ public class PostAndCommentServiceUnitTest {
         assertEquals("TEXTO", response.tipo());
         verify(postRepository).save(any(Post.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("CP18: Listar feed paginado devuelve cursor cuando hay más posts")
+    void listarFeed_ConMasResultados_DeberiaRetornarCursor() {
+        Post post2 = Post.builder()
+                .postId(2L)
+                .usuario(otroUsuario)
+                .contenido("Otro contenido")
+                .tipo(PostTipo.TEXTO)
+                .fechaPublicacion(post.getFechaPublicacion().minusMinutes(5))
+                .build();
+        when(postRepository.findFeed(any())).thenReturn(List.of(post, post2));
+        when(comentarioHydrationService.cargarPorPosts(List.of(1L), 3)).thenReturn(Map.of(1L, new CursorPageResponse<>(
+                List.of(new ComentarioResponse(10L, "Comentario 1", LocalDateTime.now(), "Otro Usuario")), null, false)));
+
+        CursorPageResponse<PostResponse> response = postService.listarFeed(null, 1);
+
+        assertEquals(1, response.contenido().size());
+        assertEquals(1, response.contenido().get(0).comentarios().size());
+        assertTrue(response.hayMas());
+        assertNotNull(response.siguienteCursor());
+        verify(comentarioRepository, never()).findByPost(any());
+        verify(comentarioHydrationService).cargarPorPosts(List.of(1L), 3);
+    }
+
+    @Test
+    @DisplayName("CP19: Listar feed con cursor consulta la página siguiente")
+    void listarFeed_ConCursor_DeberiaUsarKeyset() {
+        String cursor = CursorMapper.encode(post.getFechaPublicacion(), post.getPostId());
+        when(postRepository.findFeedBefore(eq(post.getFechaPublicacion()), eq(1L), any()))
+                .thenReturn(List.of());
+
+        CursorPageResponse<PostResponse> response = postService.listarFeed(cursor, 10);
+
+        assertTrue(response.contenido().isEmpty());
+        assertFalse(response.hayMas());
+        assertNull(response.siguienteCursor());
+    }
+
+    @Test
+    @DisplayName("CP20: Listar feed con cursor inválido")
+    void listarFeed_CursorInvalido_DeberiaLanzarExcepcion() {
+        assertThrows(BadRequestException.class, () -> postService.listarFeed("no-es-un-cursor", 10));
+    }
+
+    @Test
+    @DisplayName("CP21: Timeline de usuario inexistente")
+    void listarTimeline_UsuarioInexistente_DeberiaLanzarExcepcion() {
+        when(userRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> postService.listarTimeline(99L, null, 10));
+    }
+
+    @Test
+    @DisplayName("CP22: Timeline devuelve los posts de los perfiles seguidos")
+    void listarTimeline_ConSeguidos_DeberiaRetornarPosts() {
+        when(userRepository.existsById(2L)).thenReturn(true);
+        when(followRepository.findAutoresSeguidosIds(2L)).thenReturn(List.of(1L));
+        when(postRepository.findTimeline(eq(List.of(1L)), any())).thenReturn(List.of(post));
+
+        CursorPageResponse<PostResponse> response = postService.listarTimeline(2L, null, 10);
+
+        assertEquals(1, response.contenido().size());
+        assertEquals("Usuario Test", response.contenido().get(0).autor());
+        assertFalse(response.hayMas());
+    }
+
+    @Test
+    @DisplayName("CP23: Comentar un post incrementa su contador")
+    void comentarPost_DatosValidos_DeberiaIncrementarContador() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(usuarioAutenticado));
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(comentarioRepository.save(any(Comentario.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        postService.comentarPost(1L, new ComentarioRequest(1L, "Comentario válido"));
+
+        verify(postRepository).incrementarComentarios(1L);
+    }
+
+    @Test
+    @DisplayName("CP24: Eliminar un comentario decrementa el contador del post")
+    void eliminarComentario_Autor_DeberiaDecrementarContador() {
+        Comentario comentario = Comentario.builder()
+                .comentarioId(5L)
+                .usuario(usuarioAutenticado)
+                .post(post)
+                .contenido("Comentario")
+                .fechaComentario(LocalDateTime.now())
+                .build();
+        when(comentarioRepository.findById(5L)).thenReturn(Optional.of(comentario));
+
+        postService.eliminarComentario(5L, 1L);
+
+        verify(comentarioRepository).delete(comentario);
+        verify(postRepository).decrementarComentarios(1L);
+    }
+
+    @Test
+    @DisplayName("CP25: La respuesta del post incluye el total de comentarios y el cursor")
+    void obtenerPost_ConMuchosComentarios_DeberiaIncluirTotalYCursor() {
+        post.setComentariosCount(12L);
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(comentarioHydrationService.cargarPorPosts(List.of(1L), 3)).thenReturn(Map.of(1L,
+                new CursorPageResponse<>(List.of(), "cursor-siguiente", true)));
+
+        PostResponse response = postService.obtenerPostPorId(1L);
+
+        assertEquals(12L, response.totalComentarios());
+        assertEquals("cursor-siguiente", response.siguienteCursorComentarios());
+    }
+}
@@ -0,0 +1,129 @@
+package com.api.musiconnect.service.unit;
+
+import com.api.musiconnect.exception.ServiceUnavailableException;
+import com.api.musiconnect.service.ai.InterruptorCircuito;
+import com.api.musiconnect.service.ai.ProteccionModelo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProteccionModeloUnitTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ProteccionModelo proteccion;
+
+    @AfterEach
+    void cerrar() {
+        if (proteccion != null) {
+            proteccion.cerrar();
+        }
+    }
+
+    private double llamadas(String resultado) {
+        return meterRegistry.get("musiconnect.ai.calls").tag("resultado", resultado).counter().count();
+    }
+
+    private double estadoCircuito() {
+        return meterRegistry.get("musiconnect.ai.circuit.state").gauge().value();
+    }
+
+    @Test
+    @DisplayName("PM01: Una llamada que supera el deadline se corta con 503")
+    void ejecutar_ModeloLento_DeberiaLanzarTimeout() {
+        InterruptorCircuito interruptor = new InterruptorCircuito(10, 5, 50, 10_000, 80, 30_000, 1);
+        proteccion = new ProteccionModelo(interruptor, meterRegistry, 2, 2, 50);
+        FakeGeminiClient client = new FakeGeminiClient("tarde").conDemora(1_000);
+
+        long inicio = System.nanoTime();
+        assertThrows(ServiceUnavailableException.class, () -> proteccion.ejecutar(() -> client.generar("hola")));
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio) < 1_000);
+        assertEquals(1, llamadas("timeout"));
+    }
+
+    @Test
+    @DisplayName("PM02: Con la tasa de errores sobre el umbral el circuito se abre y falla rápido")
+    void ejecutar_ErroresRepetidos_DeberiaAbrirCircuito() {
+        InterruptorCircuito interruptor = new InterruptorCircuito(4, 4, 50, 10_000, 80, 60_000, 1);
+        proteccion = new ProteccionModelo(interruptor, meterRegistry, 2, 2, 1_000);
+        FakeGeminiClient client = new FakeGeminiClient("x").conError(new IllegalStateException("caído"));
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(IllegalStateException.class, () -> proteccion.ejecutar(() -> client.generar("hola")));
+        }
+
+        assertEquals(InterruptorCircuito.Estado.ABIERTO, interruptor.getEstado());
+        assertEquals(1, estadoCircuito());
+        assertThrows(ServiceUnavailableException.class, () -> proteccion.ejecutar(() -> client.generar("hola")));
+        assertEquals(4, client.getLlamadas());
+        assertEquals(1, llamadas("cortocircuito"));
+    }
+
+    @Test
+    @DisplayName("PM03: Tras el tiempo abierto, las llamadas de prueba exitosas cierran el circuito")
+    void ejecutar_SemiAbiertoConExito_DeberiaCerrarCircuito() throws Exception {
+        InterruptorCircuito interruptor = new InterruptorCircuito(2, 2, 50, 10_000, 80, 50, 2);
+        proteccion = new ProteccionModelo(interruptor, meterRegistry, 2, 2, 1_000);
+        FakeGeminiClient falla = new FakeGeminiClient("x").conError(new IllegalStateException("caído"));
+        FakeGeminiClient sano = new FakeGeminiClient("ok");
+
+        assertThrows(IllegalStateException.class, () -> proteccion.ejecutar(() -> falla.generar("a")));
+        assertThrows(IllegalStateException.class, () -> proteccion.ejecutar(() -> falla.generar("a")));
+        assertEquals(InterruptorCircuito.Estado.ABIERTO, interruptor.getEstado());
+
+        Thread.sleep(80);
+        assertEquals("ok", proteccion.ejecutar(() -> sano.generar("a")));
+        assertEquals(InterruptorCircuito.Estado.SEMI_ABIERTO, interruptor.getEstado());
+        assertEquals("ok", proteccion.ejecutar(() -> sano.generar("a")));
+        assertEquals(InterruptorCircuito.Estado.CERRADO, interruptor.getEstado());
+    }
+
+    @Test
+    @DisplayName("PM04: Llamadas lentas sobre el umbral también abren el circuito")
+    void ejecutar_LlamadasLentas_DeberiaAbrirCircuito() {
+        InterruptorCircuito interruptor = new InterruptorCircuito(2, 2, 50, 20, 100, 60_000, 1);
+        proteccion = new ProteccionModelo(interruptor, meterRegistry, 2, 2, 1_000);
+        FakeGeminiClient lento = new FakeGeminiClient("ok").conDemora(40);
+
+        assertEquals("ok", proteccion.ejecutar(() -> lento.generar("a")));
+        assertEquals("ok", proteccion.ejecutar(() -> lento.generar("a")));
+
+        assertEquals(InterruptorCircuito.Estado.ABIERTO, interruptor.getEstado());
+    }
+
+    @Test
+    @DisplayName("PM05: Con el bulkhead y su cola llenos se rechaza de inmediato con 503")
+    void ejecutar_BulkheadLleno_DeberiaRechazar() throws Exception {
+        InterruptorCircuito interruptor = new InterruptorCircuito(10, 5, 50, 10_000, 80, 30_000, 1);
+        proteccion = new ProteccionModelo(interruptor, meterRegistry, 1, 1, 5_000);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CountDownLatch ocupado = new CountDownLatch(1);
+
+        // Una llamada ocupa el único lugar en curso y otra el único lugar de la cola
+        CompletableFuture<String> enCurso = CompletableFuture.supplyAsync(() -> proteccion.ejecutar(() -> {
+            ocupado.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            return "a";
+        }));
+        assertTrue(ocupado.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> enCola = CompletableFuture.supplyAsync(() -> proteccion.ejecutar(() -> "b"));
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("musiconnect.ai.bulkhead.queue.size").gauge().value() < 1 && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+
+        assertThrows(ServiceUnavailableException.class, () -> proteccion.ejecutar(() -> "c"));
+        assertEquals(1, llamadas("rechazada"));
+
+        liberar.countDown();
+        assertEquals("a", enCurso.get(5, TimeUnit.SECONDS));
+        assertEquals("b", enCola.get(5, TimeUnit.SECONDS));
+    }
+}
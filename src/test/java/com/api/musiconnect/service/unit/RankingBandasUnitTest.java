@@ -0,0 +1,157 @@
+package com.api.musiconnect.service.unit;
+
+import com.api.musiconnect.dto.response.PopularBandResponse;
+import com.api.musiconnect.model.converter.GenerosMaskConverter;
+import com.api.musiconnect.model.enums.MusicGenreEnum;
+import com.api.musiconnect.repository.BandRepository;
+import com.api.musiconnect.repository.projection.BandaPopular;
+import com.api.musiconnect.service.banda.RankingBandas;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RankingBandasUnitTest {
+
+    @Mock
+    private BandRepository bandRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RankingBandas ranking(boolean habilitado, int tamanio) {
+        return new RankingBandas(bandRepository, meterRegistry, habilitado, tamanio);
+    }
+
+    private static final int LOTE = 500;
+
+    private static List<BandaPopular> bandas(long desdeId, int cantidad, MusicGenreEnum... generos) {
+        return LongStream.range(0, cantidad)
+                .mapToObj(i -> banda(desdeId + i, 10_000L - desdeId - i, generos))
+                .toList();
+    }
+
+    private static BandaPopular banda(long id, long seguidores, MusicGenreEnum... generos) {
+        // Leniente: el recorrido no lee las bandas que ya no entran en ninguna lista
+        BandaPopular banda = mock(BandaPopular.class, withSettings().strictness(Strictness.LENIENT));
+        when(banda.getBandId()).thenReturn(id);
+        when(banda.getNombre()).thenReturn("Banda " + id);
+        when(banda.getSeguidoresCount()).thenReturn(seguidores);
+        when(banda.getGenerosMask()).thenReturn(GenerosMaskConverter.toMask(List.of(generos)));
+        return banda;
+    }
+
+    @Test
+    @DisplayName("RK01: Arma el ranking general y por género en un solo recorrido")
+    void reconstruir_DeberiaArmarRankingGeneralYPorGenero() {
+        BandaPopular rock = banda(1L, 30L, MusicGenreEnum.ROCK);
+        BandaPopular jazz = banda(2L, 20L, MusicGenreEnum.JAZZ);
+        when(bandRepository.findMasSeguidas(eq(0), any())).thenReturn(List.of(rock, jazz));
+
+        RankingBandas ranking = ranking(true, 5);
+        assertFalse(ranking.isDisponible());
+        ranking.reconstruir();
+
+        assertTrue(ranking.isDisponible());
+        assertEquals(List.of(new PopularBandResponse(1L, "Banda 1", 30L, List.of("ROCK")),
+                        new PopularBandResponse(2L, "Banda 2", 20L, List.of("JAZZ"))),
+                ranking.top(null, 10));
+        assertEquals(List.of(1L), ranking.top(MusicGenreEnum.ROCK, 10).stream().map(PopularBandResponse::bandId).toList());
+        assertTrue(ranking.top(MusicGenreEnum.POP, 10).isEmpty());
+        assertEquals(List.of(2L), ranking.top(MusicGenreEnum.JAZZ, 10).stream().map(PopularBandResponse::bandId).toList());
+        verify(bandRepository).findMasSeguidas(0, PageRequest.of(0, LOTE));
+        verifyNoMoreInteractions(bandRepository);
+        assertEquals(1, meterRegistry.get("musiconnect.bands.ranking.rebuild").timer().count());
+    }
+
+    @Test
+    @DisplayName("RK02: Las lecturas recortan la instantánea sin volver a consultar")
+    void top_DeberiaRecortarSinConsultar() {
+        List<BandaPopular> bandas = List.of(banda(1L, 3L), banda(2L, 2L), banda(3L, 1L));
+        when(bandRepository.findMasSeguidas(eq(0), any())).thenReturn(bandas);
+
+        RankingBandas ranking = ranking(true, 3);
+        ranking.reconstruir();
+        clearInvocations(bandRepository);
+
+        assertEquals(List.of(1L, 2L), ranking.top(null, 2).stream().map(PopularBandResponse::bandId).toList());
+        assertEquals(3, ranking.top(null, 100).size());
+        assertTrue(ranking.top(null, 0).isEmpty());
+        verifyNoInteractions(bandRepository);
+    }
+
+    @Test
+    @DisplayName("RK03: Una reconstrucción publica la nueva instantánea completa")
+    void reconstruir_DeberiaReemplazarInstantanea() {
+        BandaPopular primera = banda(1L, 5L);
+        BandaPopular segunda = banda(2L, 9L);
+        when(bandRepository.findMasSeguidas(eq(0), any()))
+                .thenReturn(List.of(primera))
+                .thenReturn(List.of(segunda, primera));
+
+        RankingBandas ranking = ranking(true, 5);
+        ranking.reconstruir();
+        List<PopularBandResponse> anterior = ranking.top(null, 5);
+        ranking.reconstruir();
+
+        assertEquals(List.of(1L), anterior.stream().map(PopularBandResponse::bandId).toList());
+        assertEquals(List.of(2L, 1L), ranking.top(null, 5).stream().map(PopularBandResponse::bandId).toList());
+    }
+
+    @Test
+    @DisplayName("RK04: Deshabilitado no consulta ni queda disponible")
+    void programado_Deshabilitado_NoConsulta() {
+        RankingBandas ranking = ranking(false, 5);
+
+        ranking.cargarAlIniciar();
+        ranking.programado();
+
+        assertFalse(ranking.isDisponible());
+        verifyNoInteractions(bandRepository);
+    }
+
+    @Test
+    @DisplayName("RK05: El recorrido termina cuando el general y todos los géneros tienen K bandas")
+    void reconstruir_ListasCompletas_NoDeberiaLeerOtroTramo() {
+        List<BandaPopular> tramo = new ArrayList<>(bandas(2L, LOTE - 1, MusicGenreEnum.ROCK));
+        tramo.add(0, banda(1L, 20_000L, MusicGenreEnum.values()));
+        when(bandRepository.findMasSeguidas(eq(0), any())).thenReturn(tramo);
+
+        RankingBandas ranking = ranking(true, 1);
+        ranking.reconstruir();
+
+        assertEquals(List.of(1L), ranking.top(MusicGenreEnum.JAZZ, 5).stream().map(PopularBandResponse::bandId).toList());
+        verify(bandRepository, never()).findMasSeguidasDespuesDe(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("RK06: Si falta completar un género, sigue desde la última banda del tramo")
+    void reconstruir_GeneroIncompleto_DeberiaSeguirDesdeUltimaBanda() {
+        List<BandaPopular> tramo = bandas(1L, LOTE, MusicGenreEnum.ROCK);
+        long ultimaSeguidores = tramo.get(LOTE - 1).getSeguidoresCount();
+        long ultimaId = tramo.get(LOTE - 1).getBandId();
+        BandaPopular jazz = banda(9_000L, 1L, MusicGenreEnum.JAZZ);
+        when(bandRepository.findMasSeguidas(eq(0), any())).thenReturn(tramo);
+        when(bandRepository.findMasSeguidasDespuesDe(eq(ultimaSeguidores), eq(ultimaId), any()))
+                .thenReturn(List.of(jazz));
+
+        RankingBandas ranking = ranking(true, 2);
+        ranking.reconstruir();
+
+        assertEquals(List.of(1L, 2L), ranking.top(null, 5).stream().map(PopularBandResponse::bandId).toList());
+        assertEquals(List.of(1L, 2L), ranking.top(MusicGenreEnum.ROCK, 5).stream().map(PopularBandResponse::bandId).toList());
+        assertEquals(List.of(9_000L), ranking.top(MusicGenreEnum.JAZZ, 5).stream().map(PopularBandResponse::bandId).toList());
+        verify(bandRepository).findMasSeguidasDespuesDe(anyLong(), anyLong(), any());
+    }
+}
@@ -0,0 +1,59 @@
+package com.api.musiconnect.service.unit;
+
+import com.api.musiconnect.repository.BandRepository;
+import com.api.musiconnect.repository.UserRepository;
+import com.api.musiconnect.service.banda.RankingBandas;
+import com.api.musiconnect.service.seguimiento.ReconciliacionSeguidores;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReconciliacionSeguidoresUnitTest {
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private BandRepository bandRepository;
+    @Mock
+    private RankingBandas rankingBandas;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ReconciliacionSeguidores reconciliacion() {
+        return new ReconciliacionSeguidores(userRepository, bandRepository, rankingBandas, meterRegistry, true);
+    }
+
+    private double corregidos(String tipo) {
+        return meterRegistry.get("musiconnect.follows.counters.reconciled").tag("tipo", tipo).counter().count();
+    }
+
+    @Test
+    @DisplayName("RS01: Corrige los contadores desviados y reconstruye el ranking si cambiaron bandas")
+    void reconciliar_BandasCorregidas_DeberiaReconstruirRanking() {
+        when(userRepository.reconciliarContadorSeguidores()).thenReturn(3);
+        when(bandRepository.reconciliarContadorSeguidores()).thenReturn(1);
+        when(rankingBandas.isDisponible()).thenReturn(true);
+
+        assertEquals(4, reconciliacion().reconciliar());
+        verify(rankingBandas).reconstruir();
+        assertEquals(3, corregidos("usuario"));
+        assertEquals(1, corregidos("banda"));
+    }
+
+    @Test
+    @DisplayName("RS02: Sin bandas desviadas el ranking no se reconstruye")
+    void reconciliar_SinBandasCorregidas_NoDeberiaReconstruirRanking() {
+        when(userRepository.reconciliarContadorSeguidores()).thenReturn(2);
+        when(bandRepository.reconciliarContadorSeguidores()).thenReturn(0);
+
+        assertEquals(2, reconciliacion().reconciliar());
+        verify(rankingBandas, never()).reconstruir();
+    }
+}
@@ -0,0 +1,98 @@
+package com.api.musiconnect.service.unit;
+
+import com.api.musiconnect.model.entity.MusicGenre;
+import com.api.musiconnect.model.entity.Role;
+import com.api.musiconnect.model.enums.MusicGenreEnum;
+import com.api.musiconnect.model.enums.RoleEnum;
+import com.api.musiconnect.repository.MusicGenreRepository;
+import com.api.musiconnect.repository.RoleRepository;
+import com.api.musiconnect.service.referencia.ReferenceDataCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReferenceDataCacheUnitTest {
+
+    @Mock
+    private MusicGenreRepository musicGenreRepository;
+    @Mock
+    private RoleRepository roleRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReferenceDataCache cache;
+
+    private final MusicGenre rock = new MusicGenre(1L, MusicGenreEnum.ROCK);
+    private final MusicGenre jazz = new MusicGenre(2L, MusicGenreEnum.JAZZ);
+    private final Role musico = new Role(2L, RoleEnum.MUSICO);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ReferenceDataCache(musicGenreRepository, roleRepository, meterRegistry);
+    }
+
+    private double contador(String tabla, String resultado) {
+        return meterRegistry.get("musiconnect.referencia.cache")
+                .tag("tabla", tabla).tag("resultado", resultado).counter().count();
+    }
+
+    @Test
+    @DisplayName("RC01: Con la caché precargada los géneros y roles se resuelven sin consultar la BD")
+    void precargada_DeberiaResolverSinConsultas() {
+        when(musicGenreRepository.findAll()).thenReturn(List.of(rock, jazz));
+        when(roleRepository.findAll()).thenReturn(List.of(musico));
+        cache.precargar();
+
+        List<MusicGenre> generos = cache.getGeneros(List.of(MusicGenreEnum.JAZZ, MusicGenreEnum.ROCK));
+        Optional<Role> rol = cache.findRol(2L);
+
+        assertEquals(List.of(rock, jazz), generos);
+        assertEquals(Optional.of(musico), rol);
+        verify(musicGenreRepository, never()).findAllByNombreIn(any());
+        verify(roleRepository, never()).findById(any());
+        assertEquals(1.0, contador("genero", "hit"));
+        assertEquals(1.0, contador("rol", "hit"));
+    }
+
+    @Test
+    @DisplayName("RC02: Un fallo consulta la BD una sola vez y deja el valor en caché")
+    void fallo_DeberiaConsultarUnaVezYCachear() {
+        when(musicGenreRepository.findAllByNombreIn(List.of(MusicGenreEnum.ROCK))).thenReturn(List.of(rock));
+        when(roleRepository.findById(2L)).thenReturn(Optional.of(musico));
+
+        cache.getGeneros(List.of(MusicGenreEnum.ROCK));
+        cache.getGeneros(List.of(MusicGenreEnum.ROCK));
+        cache.findRol(2L);
+        cache.findRol(2L);
+
+        verify(musicGenreRepository, times(1)).findAllByNombreIn(any());
+        verify(roleRepository, times(1)).findById(2L);
+        assertEquals(1.0, contador("genero", "miss"));
+        assertEquals(1.0, contador("genero", "hit"));
+    }
+
+    @Test
+    @DisplayName("RC03: Géneros duplicados o inexistentes devuelven menos elementos que los pedidos")
+    void duplicadosOInexistentes_DeberiaRetornarListaMasCorta() {
+        when(musicGenreRepository.findAll()).thenReturn(List.of(rock));
+        when(roleRepository.findAll()).thenReturn(List.of());
+        when(musicGenreRepository.findAllByNombreIn(List.of(MusicGenreEnum.ROCK, MusicGenreEnum.SAYA))).thenReturn(List.of(rock));
+        cache.precargar();
+
+        assertEquals(1, cache.getGeneros(List.of(MusicGenreEnum.ROCK, MusicGenreEnum.ROCK)).size());
+        assertEquals(1, cache.getGeneros(List.of(MusicGenreEnum.ROCK, MusicGenreEnum.SAYA)).size());
+        assertTrue(cache.getGeneros(List.of()).isEmpty());
+    }
+}
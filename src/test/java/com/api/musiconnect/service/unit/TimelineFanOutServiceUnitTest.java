@@ -0,0 +1,168 @@
+package com.api.musiconnect.service.unit;
+
+import com.api.musiconnect.model.entity.Post;
+import com.api.musiconnect.model.entity.User;
+import com.api.musiconnect.model.enums.PostTipo;
+import com.api.musiconnect.repository.FollowRepository;
+import com.api.musiconnect.repository.PostRepository;
+import com.api.musiconnect.service.timeline.TimelineFanOutService;
+import com.api.musiconnect.service.timeline.TimelineInboxStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TimelineFanOutServiceUnitTest {
+
+    @Mock
+    private FollowRepository followRepository;
+    @Mock
+    private PostRepository postRepository;
+
+    private TimelineInboxStore inboxStore;
+    private TimelineFanOutService fanOutService;
+    private User autor;
+
+    @BeforeEach
+    void setUp() {
+        inboxStore = new TimelineInboxStore(new SimpleMeterRegistry(), 3);
+        fanOutService = new TimelineFanOutService(inboxStore, followRepository, postRepository, true, 2);
+        autor = User.builder().userId(1L).nombreArtistico("Autor").build();
+    }
+
+    private Post post(long id, LocalDateTime fecha) {
+        return Post.builder()
+                .postId(id)
+                .usuario(autor)
+                .contenido("Post " + id)
+                .tipo(PostTipo.TEXTO)
+                .fechaPublicacion(fecha)
+                .build();
+    }
+
+    @Test
+    @DisplayName("TL01: Distribuir post a las bandejas de los seguidores")
+    void distribuir_AudienciaPequena_DeberiaLlenarBandejas() {
+        when(followRepository.findAudienciaIds(eq(1L), any())).thenReturn(List.of(10L, 11L));
+
+        fanOutService.distribuir(post(5L, LocalDateTime.now()));
+
+        assertArrayEquals(new long[]{5L}, inboxStore.leer(10L, Long.MAX_VALUE, 10));
+        assertArrayEquals(new long[]{5L}, inboxStore.leer(11L, Long.MAX_VALUE, 10));
+        assertTrue(inboxStore.getAutoresPull().isEmpty());
+    }
+
+    @Test
+    @DisplayName("TL02: Autor sobre el umbral pasa a modo pull")
+    void distribuir_AutorCelebridad_NoDeberiaDistribuir() {
+        when(followRepository.findAudienciaIds(eq(1L), any())).thenReturn(List.of(10L, 11L, 12L));
+
+        fanOutService.distribuir(post(5L, LocalDateTime.now()));
+
+        assertFalse(inboxStore.tieneInbox(10L));
+        assertTrue(inboxStore.getAutoresPull().contains(1L));
+    }
+
+    @Test
+    @DisplayName("TL03: Usuario sin bandeja usa la consulta pull")
+    void leer_SinBandeja_DeberiaRetornarVacio() {
+        assertTrue(fanOutService.leer(10L, null, 5).isEmpty());
+        verifyNoInteractions(postRepository);
+    }
+
+    @Test
+    @DisplayName("TL04: Bandeja llena se lee sin consultar la timeline pull")
+    void leer_BandejaSuficiente_DeberiaHidratarPosts() {
+        LocalDateTime ahora = LocalDateTime.now();
+        inboxStore.distribuir(List.of(10L), 1L);
+        inboxStore.distribuir(List.of(10L), 2L);
+        inboxStore.distribuir(List.of(10L), 3L);
+        when(postRepository.findAllWithUsuarioByPostIdIn(List.of(3L, 2L)))
+                .thenReturn(List.of(post(2L, ahora.minusMinutes(1)), post(3L, ahora)));
+
+        Optional<List<Post>> posts = fanOutService.leer(10L, null, 2);
+
+        assertTrue(posts.isPresent());
+        assertEquals(List.of(3L, 2L), posts.get().stream().map(Post::getPostId).toList());
+        verify(postRepository, never()).findTimelineBefore(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("TL05: Bandeja agotada se completa con la consulta pull")
+    void leer_BandejaAgotada_DeberiaCompletarConPull() {
+        LocalDateTime ahora = LocalDateTime.now();
+        inboxStore.distribuir(List.of(10L), 7L);
+        Post reciente = post(7L, ahora);
+        when(postRepository.findAllWithUsuarioByPostIdIn(List.of(7L))).thenReturn(List.of(reciente));
+        when(followRepository.findAutoresSeguidosIds(10L)).thenReturn(List.of(1L));
+        when(postRepository.findTimelineBefore(eq(List.of(1L)), any(), eq(Long.MAX_VALUE), any()))
+                .thenReturn(List.of(reciente, post(4L, ahora.minusDays(1))));
+
+        List<Post> posts = fanOutService.leer(10L, null, 3).orElseThrow();
+
+        assertEquals(List.of(7L, 4L), posts.stream().map(Post::getPostId).toList());
+    }
+
+    @Test
+    @DisplayName("TL06: El relleno parte del cursor y no saltea posts entre la bandeja y los autores pull")
+    void leer_BandejaAgotadaConAutorPull_DeberiaCompletarDesdeElCursor() {
+        LocalDateTime ahora = LocalDateTime.now();
+        User celebridad = User.builder().userId(2L).nombreArtistico("Celebridad").build();
+        Post antiguoPull = post(3L, ahora.minusDays(3));
+        antiguoPull.setUsuario(celebridad);
+        Post previoABandeja = post(5L, ahora.minusDays(1));
+        inboxStore.marcarAutorPull(2L);
+        inboxStore.distribuir(List.of(10L), 7L);
+        Post reciente = post(7L, ahora);
+        when(postRepository.findAllWithUsuarioByPostIdIn(List.of(7L))).thenReturn(List.of(reciente));
+        when(followRepository.findAutoresSeguidosIds(10L)).thenReturn(List.of(1L, 2L));
+        when(postRepository.findTimelineBefore(eq(List.of(2L)), any(), eq(Long.MAX_VALUE), any()))
+                .thenReturn(List.of(antiguoPull));
+        when(postRepository.findTimelineBefore(eq(List.of(1L, 2L)), any(), eq(Long.MAX_VALUE), any()))
+                .thenReturn(List.of(reciente, previoABandeja, antiguoPull));
+
+        List<Post> posts = fanOutService.leer(10L, null, 3).orElseThrow();
+
+        assertEquals(List.of(7L, 5L, 3L), posts.stream().map(Post::getPostId).toList());
+    }
+
+    @Test
+    @DisplayName("TL07: Un cambio de seguimientos descarta la bandeja y la lectura vuelve a modo pull")
+    void invalidarBandeja_DeberiaDescartarLaBandeja() {
+        inboxStore.distribuir(List.of(10L), 7L);
+
+        fanOutService.invalidarBandeja(10L);
+
+        assertFalse(inboxStore.tieneInbox(10L));
+        assertTrue(fanOutService.leer(10L, null, 3).isEmpty());
+    }
+
+    @Test
+    @DisplayName("TL08: Autor que vuelve bajo el umbral sale del modo pull y se descartan las bandejas viejas")
+    void distribuir_AutorBajoElUmbral_DeberiaSalirDelModoPull() {
+        inboxStore.distribuir(List.of(10L), 3L);
+        when(followRepository.findAudienciaIds(eq(1L), any()))
+                .thenReturn(List.of(10L, 11L, 12L), List.of(10L, 11L));
+
+        fanOutService.distribuir(post(5L, LocalDateTime.now()));
+        assertTrue(inboxStore.getAutoresPull().contains(1L));
+        fanOutService.distribuir(post(6L, LocalDateTime.now()));
+
+        assertTrue(inboxStore.getAutoresPull().isEmpty());
+        assertArrayEquals(new long[]{6L}, inboxStore.leer(10L, Long.MAX_VALUE, 10));
+        assertArrayEquals(new long[]{6L}, inboxStore.leer(11L, Long.MAX_VALUE, 10));
+    }
+}
@@ -4,6 +4,9 @@ import com.api.musiconnect.dto.request.LoginRequest;
 import com.api.musiconnect.dto.request.UserAvailabilityRequest;
 import com.api.musiconnect.dto.request.UserRequest;
 import com.api.musiconnect.dto.request.UserUpdateRequest;
+import com.api.musiconnect.dto.response.PageResponse;
+import com.api.musiconnect.dto.response.UserResponse;
+import com.api.musiconnect.exception.BadRequestException;
 import com.api.musiconnect.exception.BusinessRuleException;
 import com.api.musiconnect.exception.ResourceNotFoundException;
 import com.api.musiconnect.model.entity.MusicGenre;
@@ -11,16 +14,21 @@ import com.api.musiconnect.model.entity.Role;
 import com.api.musiconnect.model.entity.User;
 import com.api.musiconnect.model.enums.MusicGenreEnum;
 import com.api.musiconnect.model.enums.RoleEnum;
-import com.api.musiconnect.repository.MusicGenreRepository;
 import com.api.musiconnect.repository.UserRepository;
+import com.api.musiconnect.security.EstadoCuentaCache;
 import com.api.musiconnect.service.UserService;
+import com.api.musiconnect.service.genero.UsuariosPorGeneroIndex;
+import com.api.musiconnect.service.referencia.ReferenceDataCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -34,19 +42,22 @@ class UserServiceUnitTest {
     private UserRepository userRepository;
 
     @Mock
-    private MusicGenreRepository musicGenreRepository;
+    private ReferenceDataCache referenceDataCache;
 
-    @InjectMocks
-    private UserService userService;
+    @Mock
+    private EstadoCuentaCache estadoCuentaCache;
 
     @Mock
-    private com.api.musiconnect.repository.RoleRepository roleRepository;
+    private UsuariosPorGeneroIndex usuariosPorGeneroIndex;
+
+    @InjectMocks
+    private UserService userService;
 
     @Mock
     private com.api.musiconnect.security.JwtUtil jwtUtil;
 
     @Mock
-    private org.springframework.security.crypto.password.PasswordEncoder passwordEncoder;
+    private com.api.musiconnect.service.auth.PasswordHashingService passwordHashingService;
 
     @InjectMocks
     private com.api.musiconnect.service.auth.AuthService authService;
@@ -72,7 +83,7 @@ class UserServiceUnitTest {
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
         when(userRepository.existsByEmailAndUserIdNot("new@mail.com", userId)).thenReturn(false);
-        when(musicGenreRepository.findAllByNombreIn(List.of(MusicGenreEnum.ROCK)))
+        when(referenceDataCache.getGeneros(List.of(MusicGenreEnum.ROCK)))
                 .thenReturn(List.of(
                         MusicGenre.builder()
                                 .generoId(1L)
@@ -198,13 +209,13 @@ class UserServiceUnitTest {
         role.setName(RoleEnum.MUSICO);
 
         when(userRepository.existsByEmail(request.email())).thenReturn(false);
-        when(roleRepository.findById(1L)).thenReturn(Optional.of(role));
-        when(musicGenreRepository.findAllByNombreIn(List.of(MusicGenreEnum.ROCK)))
+        when(referenceDataCache.findRol(1L)).thenReturn(Optional.of(role));
+        when(referenceDataCache.getGeneros(List.of(MusicGenreEnum.ROCK)))
                 .thenReturn(List.of(MusicGenre.builder()
                         .generoId(1L)
                         .nombre(MusicGenreEnum.ROCK)
                         .build()));
-        when(passwordEncoder.encode("123")).thenReturn("hashed123");
+        when(passwordHashingService.hash("123")).thenReturn("hashed123");
         when(jwtUtil.generateToken("correo@musico.com")).thenReturn("jwt-token");
 
         var response = authService.register(request);
@@ -236,7 +247,7 @@ class UserServiceUnitTest {
         );
 
         when(userRepository.existsByEmail(request.email())).thenReturn(false);
-        when(roleRepository.findById(99L)).thenReturn(Optional.empty());
+        when(referenceDataCache.findRol(99L)).thenReturn(Optional.empty());
 
         assertThrows(BusinessRuleException.class, () -> authService.register(request));
     }
@@ -254,7 +265,7 @@ class UserServiceUnitTest {
         );
 
         when(userRepository.existsByEmail(request.email())).thenReturn(false);
-        when(roleRepository.findById(1L)).thenReturn(Optional.of(role));
+        when(referenceDataCache.findRol(1L)).thenReturn(Optional.of(role));
 
         assertThrows(BusinessRuleException.class, () -> authService.register(request));
     }
@@ -272,8 +283,8 @@ class UserServiceUnitTest {
         role.setName(RoleEnum.PRODUCTOR);
 
         when(userRepository.existsByEmail(request.email())).thenReturn(false);
-        when(roleRepository.findById(1L)).thenReturn(Optional.of(role));
-        when(passwordEncoder.encode("123")).thenReturn("hash");
+        when(referenceDataCache.findRol(1L)).thenReturn(Optional.of(role));
+        when(passwordHashingService.hash("123")).thenReturn("hash");
         when(jwtUtil.generateToken("prod@correo.com")).thenReturn("jwt");
 
         var response = authService.register(request);
@@ -295,9 +306,9 @@ class UserServiceUnitTest {
         role.setName(RoleEnum.MUSICO);
 
         when(userRepository.existsByEmail(request.email())).thenReturn(false);
-        when(roleRepository.findById(1L)).thenReturn(Optional.of(role));
+        when(referenceDataCache.findRol(1L)).thenReturn(Optional.of(role));
         // no se encuentra ningún género válido
-        when(musicGenreRepository.findAllByNombreIn(List.of())).thenReturn(List.of());
+        when(referenceDataCache.getGeneros(List.of())).thenReturn(List.of());
 
         assertThrows(BusinessRuleException.class, () -> authService.register(request));
     }
@@ -314,7 +325,7 @@ class UserServiceUnitTest {
         user.setNombreArtistico("TestUser");
 
         when(userRepository.findByEmail("email@valido.com")).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches("123", "encodedPass")).thenReturn(true);
+        when(passwordHashingService.matches("123", "encodedPass")).thenReturn(true);
         when(jwtUtil.generateToken("email@valido.com")).thenReturn("token-valido");
 
         var response = authService.login(request);
@@ -343,8 +354,72 @@ class UserServiceUnitTest {
         user.setPassword("encodedPass");
 
         when(userRepository.findByEmail("user@mail.com")).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches("wrong", "encodedPass")).thenReturn(false);
+        when(passwordHashingService.matches("wrong", "encodedPass")).thenReturn(false);
 
         assertThrows(BusinessRuleException.class, () -> authService.login(request));
     }
+
+    private User usuarioConGenero(Long id, MusicGenreEnum genero) {
+        return User.builder()
+                .userId(id)
+                .email("user" + id + "@mail.com")
+                .nombreArtistico("Usuario " + id)
+                .role(new Role(1L, RoleEnum.MUSICO))
+                .generosMask(EnumSet.of(genero))
+                .build();
+    }
+
+    @Test
+    @DisplayName("CP17 - Busca usuarios por género con el join indexado cuando no hay índice en memoria")
+    void CP17_obtenerPorGenero_consultaPaginada() {
+        when(usuariosPorGeneroIndex.isDisponible()).thenReturn(false);
+        when(userRepository.findIdsByGenero(MusicGenreEnum.ROCK, PageRequest.of(0, 2)))
+                .thenReturn(new PageImpl<>(List.of(3L, 7L), PageRequest.of(0, 2), 5));
+        when(userRepository.findAllWithRoleByUserIdIn(List.of(3L, 7L)))
+                .thenReturn(List.of(usuarioConGenero(7L, MusicGenreEnum.ROCK), usuarioConGenero(3L, MusicGenreEnum.ROCK)));
+
+        PageResponse<UserResponse> response = userService.obtenerPorGeneroMusical("rock", 0, 2);
+
+        assertEquals(List.of(3L, 7L), response.contenido().stream().map(UserResponse::userId).toList());
+        assertEquals(5, response.totalElementos());
+        assertEquals(3, response.totalPaginas());
+        verify(userRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("CP18 - Busca usuarios por género desde el índice en memoria sin consultar la tabla de unión")
+    void CP18_obtenerPorGenero_desdeIndice() {
+        when(usuariosPorGeneroIndex.isDisponible()).thenReturn(true);
+        when(usuariosPorGeneroIndex.pagina(MusicGenreEnum.JAZZ, 1, 1)).thenReturn(new long[]{9L});
+        when(usuariosPorGeneroIndex.contar(MusicGenreEnum.JAZZ)).thenReturn(2L);
+        when(userRepository.findAllWithRoleByUserIdIn(List.of(9L)))
+                .thenReturn(List.of(usuarioConGenero(9L, MusicGenreEnum.JAZZ)));
+
+        PageResponse<UserResponse> response = userService.obtenerPorGeneroMusical("JAZZ", 1, 1);
+
+        assertEquals(1, response.contenido().size());
+        assertEquals(2, response.totalElementos());
+        verify(userRepository, never()).findIdsByGenero(any(), any());
+    }
+
+    @Test
+    @DisplayName("CP19 - Lanza excepción si el género o el tamaño de página son inválidos")
+    void CP19_obtenerPorGenero_parametrosInvalidos() {
+        assertThrows(BusinessRuleException.class, () -> userService.obtenerPorGeneroMusical("NOEXISTE", 0, 20));
+        assertThrows(BadRequestException.class, () -> userService.obtenerPorGeneroMusical("ROCK", 0, 500));
+    }
+
+    @Test
+    @DisplayName("CP20 - Eliminar un usuario revoca su sesión y lo quita del índice de géneros")
+    void CP20_eliminarUsuario_revocaSesion() {
+        User user = usuarioConGenero(4L, MusicGenreEnum.ROCK);
+        when(userRepository.findById(4L)).thenReturn(Optional.of(user));
+
+        Map<String, String> response = userService.eliminarUsuario(4L);
+
+        assertEquals("Usuario eliminado exitosamente.", response.get("message"));
+        verify(userRepository).delete(user);
+        verify(estadoCuentaCache).revocar(4L);
+        verify(usuariosPorGeneroIndex).eliminar(4L);
+    }
 }
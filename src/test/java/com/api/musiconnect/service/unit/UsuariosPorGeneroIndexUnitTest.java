@@ -0,0 +1,135 @@
+package com.api.musiconnect.service.unit;
+
+import com.api.musiconnect.model.enums.MusicGenreEnum;
+import com.api.musiconnect.repository.UserRepository;
+import com.api.musiconnect.repository.projection.UsuarioGenero;
+import com.api.musiconnect.service.genero.UsuariosPorGeneroIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UsuariosPorGeneroIndexUnitTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UsuariosPorGeneroIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UsuariosPorGeneroIndex(userRepository, true);
+    }
+
+    private UsuarioGenero fila(long userId, MusicGenreEnum genero) {
+        return new UsuarioGenero() {
+            public Long getUserId() { return userId; }
+            public MusicGenreEnum getGenero() { return genero; }
+        };
+    }
+
+    @Test
+    @DisplayName("GI01: Cargar el índice agrupa y ordena los ids por género")
+    void cargar_DeberiaAgruparYOrdenarPorGenero() {
+        when(userRepository.findAllUsuarioGenero()).thenReturn(List.of(
+                fila(8L, MusicGenreEnum.ROCK), fila(2L, MusicGenreEnum.ROCK),
+                fila(5L, MusicGenreEnum.JAZZ), fila(2L, MusicGenreEnum.JAZZ)));
+
+        index.cargar();
+
+        assertTrue(index.isDisponible());
+        assertArrayEquals(new long[]{2L, 8L}, index.pagina(MusicGenreEnum.ROCK, 0, 10));
+        assertArrayEquals(new long[]{5L}, index.pagina(MusicGenreEnum.JAZZ, 1, 1));
+        assertEquals(0, index.contar(MusicGenreEnum.POP));
+    }
+
+    @Test
+    @DisplayName("GI02: Actualizar reemplaza los géneros del usuario manteniendo el orden")
+    void actualizar_DeberiaMoverUsuarioEntreGeneros() {
+        when(userRepository.findAllUsuarioGenero()).thenReturn(List.of(
+                fila(1L, MusicGenreEnum.ROCK), fila(9L, MusicGenreEnum.ROCK)));
+        index.cargar();
+
+        index.actualizar(5L, List.of(MusicGenreEnum.ROCK, MusicGenreEnum.POP));
+        index.actualizar(9L, List.of(MusicGenreEnum.POP));
+
+        assertArrayEquals(new long[]{1L, 5L}, index.pagina(MusicGenreEnum.ROCK, 0, 10));
+        assertArrayEquals(new long[]{5L, 9L}, index.pagina(MusicGenreEnum.POP, 0, 10));
+    }
+
+    @Test
+    @DisplayName("GI03: Eliminar un usuario lo quita de todos los géneros")
+    void eliminar_DeberiaQuitarUsuario() {
+        index.actualizar(3L, List.of(MusicGenreEnum.SALSA, MusicGenreEnum.CUMBIA));
+
+        index.eliminar(3L);
+
+        assertEquals(0, index.contar(MusicGenreEnum.SALSA));
+        assertEquals(0, index.contar(MusicGenreEnum.CUMBIA));
+    }
+
+    @Test
+    @DisplayName("GI04: Con el índice desactivado no se carga ni se usa")
+    void indiceDesactivado_NoDeberiaEstarDisponible() {
+        UsuariosPorGeneroIndex desactivado = new UsuariosPorGeneroIndex(userRepository, false);
+
+        desactivado.cargarAlIniciar();
+        desactivado.actualizar(1L, List.of(MusicGenreEnum.ROCK));
+
+        assertFalse(desactivado.isDisponible());
+        assertEquals(0, desactivado.contar(MusicGenreEnum.ROCK));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("GI05: Las páginas combinan base y delta, antes y después de compactar")
+    void pagina_ConDelta_DeberiaCoincidirConLaSecuenciaOrdenada() {
+        Random random = new Random(7);
+        TreeSet<Long> esperado = new TreeSet<>();
+        List<UsuarioGenero> filas = new ArrayList<>();
+        for (long id = 10; id < 400; id += 3) {
+            filas.add(fila(id, MusicGenreEnum.ROCK));
+            esperado.add(id);
+        }
+        when(userRepository.findAllUsuarioGenero()).thenReturn(filas);
+        index.cargar();
+
+        for (int k = 0; k < 120; k++) {
+            long id = random.nextInt(420);
+            if (random.nextBoolean()) {
+                index.actualizar(id, List.of(MusicGenreEnum.ROCK));
+                esperado.add(id);
+            } else {
+                index.eliminar(id);
+                esperado.remove(id);
+            }
+        }
+
+        long[] todos = esperado.stream().mapToLong(Long::longValue).toArray();
+        assertEquals(todos.length, index.contar(MusicGenreEnum.ROCK));
+        for (int tamanio : new int[]{1, 7, 50}) {
+            for (int pagina = 0; (long) pagina * tamanio <= todos.length; pagina++) {
+                int desde = pagina * tamanio;
+                long[] pagEsperada = Arrays.copyOfRange(todos, desde, Math.min(todos.length, desde + tamanio));
+                assertArrayEquals(pagEsperada, index.pagina(MusicGenreEnum.ROCK, pagina, tamanio));
+            }
+        }
+
+        index.compactar();
+
+        assertArrayEquals(todos, index.pagina(MusicGenreEnum.ROCK, 0, 1000));
+        assertEquals(todos.length, index.contar(MusicGenreEnum.ROCK));
+    }
+}